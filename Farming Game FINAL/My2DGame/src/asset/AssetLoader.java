@@ -0,0 +1,286 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Decodes the game's images and font on a small thread pool so startup does not load them one by one
+ */
+
+package asset;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import trace.Trace;
+
+/**
+ * Loads resources concurrently. Every asset is submitted to a bounded pool as
+ * soon as it is known, and whoever needs it waits on its future. Each load is
+ * timed so a startup report can be printed.
+ * <p>
+ * If a pack built by {@link AssetPacker} is found, assets are copied out of the
+ * memory-mapped pack instead of being decoded. The pack is read from
+ * assets.pack in the working folder, or the file named by the game.assetPack
+ * property; without one (as in development) the loose files in res are used.
+ */
+public final class AssetLoader {
+    /**
+     * Path of the custom font.
+     */
+    public static final String FONT = "/res/font/MaruMonica.ttf";
+
+    /**
+     * Pack file looked for when game.assetPack is not set.
+     */
+    public static final String DEFAULT_PACK = "assets.pack";
+
+    /**
+     * Path of the background image.
+     */
+    public static final String BACKGROUND = "/res/bg/Grass_Sample.png";
+
+    /**
+     * Every image the game needs before its first frame: the background and
+     * every sprite in {@link Sprites}.
+     */
+    public static final String[] STARTUP_IMAGES = startupImages();
+
+    private final long createdAt = System.nanoTime(); // Used for the time-to-first-frame report
+    private final ExecutorService pool; // Bounded decode pool
+    private final Map<String, Future<?>> loads = new ConcurrentHashMap<>(); // Loads by path
+    private final Map<String, long[]> timings = new ConcurrentHashMap<>(); // {start, end} nanos by path
+    private final AssetPack pack; // Pre-decoded assets, or null to use the loose files
+
+    /**
+     * Creates a loader with one decode thread per core, capped at 8.
+     */
+    public AssetLoader() {
+        pack = openPack(Paths.get(System.getProperty("game.assetPack", DEFAULT_PACK)));
+
+        int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts loading every startup image and the font without waiting for them.
+     */
+    public void preloadStartupAssets() {
+        for (String path : STARTUP_IMAGES) {
+            imageFuture(path);
+        }
+        fontFuture(FONT);
+    }
+
+    /**
+     * Returns the future for an image, starting the load if it is not running yet.
+     *
+     * @param path Resource path of the image
+     * @return Future holding the decoded image
+     */
+    @SuppressWarnings("unchecked")
+    public Future<BufferedImage> imageFuture(String path) {
+        return (Future<BufferedImage>) loads.computeIfAbsent(path, p -> pool.submit(timed(p, () -> {
+            if (pack != null && pack.contains(p)) {
+                return pack.image(p);
+            }
+            try (InputStream is = open(p)) {
+                BufferedImage img = ImageIO.read(is);
+                if (img == null) {
+                    throw new IOException("Image not found: " + p);
+                }
+                return img;
+            }
+        })));
+    }
+
+    /**
+     * Returns the future for a font, starting the load if it is not running yet.
+     *
+     * @param path Resource path of the TrueType font
+     * @return Future holding the font at 1pt
+     */
+    @SuppressWarnings("unchecked")
+    public Future<Font> fontFuture(String path) {
+        return (Future<Font>) loads.computeIfAbsent(path, p -> pool.submit(timed(p, () -> {
+            if (pack != null && pack.contains(p)) {
+                return Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(pack.bytes(p)));
+            }
+            try (InputStream is = open(p)) {
+                return Font.createFont(Font.TRUETYPE_FONT, is);
+            }
+        })));
+    }
+
+    /**
+     * Waits for an image to finish decoding.
+     *
+     * @param path Resource path of the image
+     * @return The decoded image
+     * @throws IOException If the image could not be loaded
+     */
+    public BufferedImage image(String path) throws IOException {
+        return await(imageFuture(path), path);
+    }
+
+    /**
+     * Waits for a font to finish loading.
+     *
+     * @param path Resource path of the font
+     * @return The font at 1pt
+     * @throws IOException         If the font file could not be read
+     * @throws FontFormatException If the file is not a valid font
+     */
+    public Font font(String path) throws IOException, FontFormatException {
+        try {
+            return fontFuture(path).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FontFormatException) {
+                throw (FontFormatException) e.getCause();
+            }
+            throw asIOException(e, path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + path);
+        }
+    }
+
+    /**
+     * Prints how long each asset took, slowest first, and the total wall time.
+     */
+    public void printReport() {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(timings.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[1] - b.getValue()[0], a.getValue()[1] - a.getValue()[0]));
+
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        long busy = 0;
+        System.out.println("Asset load report (" + (pack != null ? "asset pack" : "loose files") + "):");
+        for (Map.Entry<String, long[]> entry : entries) {
+            long[] t = entry.getValue();
+            first = Math.min(first, t[0]);
+            last = Math.max(last, t[1]);
+            busy += t[1] - t[0];
+            System.out.printf("  %7.2f ms  %s%n", (t[1] - t[0]) / 1e6, entry.getKey());
+        }
+        if (!entries.isEmpty()) {
+            System.out.printf("  %d assets, %.2f ms of decoding done in %.2f ms%n", entries.size(), busy / 1e6,
+                    (last - first) / 1e6);
+        }
+    }
+
+    /**
+     * Prints the time from creating the loader to the first frame being drawn.
+     */
+    public void reportFirstFrame() {
+        System.out.printf("Time to first frame: %.2f ms%n", (System.nanoTime() - createdAt) / 1e6);
+    }
+
+    /**
+     * Lists the background followed by every sprite path.
+     */
+    private static String[] startupImages() {
+        String[] paths = new String[Sprites.COUNT + 1];
+        paths[0] = BACKGROUND;
+        System.arraycopy(Sprites.PATHS, 0, paths, 1, Sprites.COUNT);
+        return paths;
+    }
+
+    /**
+     * Maps the asset pack if there is one.
+     *
+     * @param file Pack file
+     * @return The pack, or null to fall back to the loose files
+     */
+    private static AssetPack openPack(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return new AssetPack(file);
+        } catch (IOException e) {
+            System.err.println("Error opening asset pack, using loose files: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Wraps a load so its start and end times are recorded.
+     *
+     * @param path Asset path, used as the report key
+     * @param load The actual load
+     * @return The timed load
+     */
+    private <T> Callable<T> timed(String path, Callable<T> load) {
+        return () -> {
+            Trace.AssetLoad trace = Trace.assetLoad();
+            long start = System.nanoTime();
+            try {
+                return load.call();
+            } finally {
+                timings.put(path, new long[] { start, System.nanoTime() });
+                if (trace != null) {
+                    trace.end(path, pack != null && pack.contains(path));
+                }
+            }
+        };
+    }
+
+    /**
+     * Opens a resource from the classpath.
+     *
+     * @param path Resource path
+     * @return Stream of the resource
+     * @throws IOException If the resource does not exist
+     */
+    private InputStream open(String path) throws IOException {
+        InputStream is = AssetLoader.class.getResourceAsStream(path);
+        if (is == null) {
+            throw new IOException("Resource not found: " + path);
+        }
+        return is;
+    }
+
+    /**
+     * Waits on an image future and unwraps its failure.
+     */
+    private static BufferedImage await(Future<BufferedImage> future, String path) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw asIOException(e, path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + path);
+        }
+    }
+
+    /**
+     * Turns a failed load into an IOException for the caller.
+     */
+    private static IOException asIOException(ExecutionException e, String path) {
+        if (e.getCause() instanceof IOException) {
+            return (IOException) e.getCause();
+        }
+        return new IOException("Error loading " + path + ": " + e.getCause(), e.getCause());
+    }
+}
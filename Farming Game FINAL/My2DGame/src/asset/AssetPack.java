@@ -0,0 +1,127 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Reads the pre-decoded asset pack by memory-mapping it, so images skip PNG decoding entirely
+ */
+
+package asset;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A memory-mapped asset pack written by {@link AssetPacker}.
+ *
+ * <pre>
+ * header:  int magic, int version, int entryCount
+ * entry:   byte kind, short nameLength, name (UTF-8), int width, int height, long offset, int length
+ * data:    images are width * height ARGB ints, blobs are raw bytes
+ * </pre>
+ *
+ * Image data starts on a 4 byte boundary so it can be read as ints straight out
+ * of the mapping.
+ */
+public final class AssetPack {
+    static final int MAGIC = 0x4646504B; // "FFPK"
+    static final int VERSION = 1;
+    static final byte KIND_IMAGE = 1;
+    static final byte KIND_BLOB = 2;
+
+    private final MappedByteBuffer data; // The whole file, mapped read-only
+    private final Map<String, int[]> index = new HashMap<>(); // {kind, width, height, offset, length} by path
+
+    /**
+     * Maps a pack file and reads its index.
+     *
+     * @param file Pack file
+     * @throws IOException If the file cannot be mapped or is not a pack
+     */
+    public AssetPack(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.getInt() != MAGIC || data.getInt() != VERSION) {
+            throw new IOException("Not an asset pack (or an older version): " + file);
+        }
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            byte kind = data.get();
+            byte[] name = new byte[data.getShort()];
+            data.get(name);
+            int width = data.getInt();
+            int height = data.getInt();
+            int offset = (int) data.getLong();
+            int length = data.getInt();
+            index.put(new String(name, StandardCharsets.UTF_8), new int[] { kind, width, height, offset, length });
+        }
+    }
+
+    /**
+     * @param path Resource path of an asset
+     * @return true if the pack holds this asset
+     */
+    public boolean contains(String path) {
+        return index.containsKey(path);
+    }
+
+    /**
+     * @return number of assets in the pack
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Creates an image from the pixels stored in the pack. The pixels are copied
+     * straight from the mapping into the image's int array, nothing is decoded.
+     *
+     * @param path Resource path of the image
+     * @return The image, or null if the pack does not hold it
+     */
+    public BufferedImage image(String path) {
+        int[] entry = index.get(path);
+        if (entry == null || entry[0] != KIND_IMAGE) {
+            return null;
+        }
+        BufferedImage img = new BufferedImage(entry[1], entry[2], BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+        slice(entry).asIntBuffer().get(pixels);
+        return img;
+    }
+
+    /**
+     * Copies a raw file (such as the font) out of the pack.
+     *
+     * @param path Resource path of the file
+     * @return The file's bytes, or null if the pack does not hold it
+     */
+    public byte[] bytes(String path) {
+        int[] entry = index.get(path);
+        if (entry == null || entry[0] != KIND_BLOB) {
+            return null;
+        }
+        byte[] bytes = new byte[entry[4]];
+        slice(entry).get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns a view of one entry's data. Each call gets its own view so loader
+     * threads can read the mapping at the same time.
+     */
+    private ByteBuffer slice(int[] entry) {
+        ByteBuffer view = data.duplicate();
+        view.position(entry[3]);
+        view.limit(entry[3] + entry[4]);
+        return view.slice();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Build step that decodes every sprite, the background and the font once and writes them into one pack file
+ */
+
+package asset;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+/**
+ * Writes the asset pack read by {@link AssetPack}. Run it after changing any
+ * file in res:
+ *
+ * <pre>
+ * java asset.AssetPacker [source folder] [pack file]
+ * </pre>
+ *
+ * The source folder is the one holding res (default My2DGame/src) and the pack
+ * defaults to assets.pack. Without a pack the game loads the loose files.
+ */
+public final class AssetPacker {
+
+    /**
+     * Entry point of the packer
+     *
+     * @param args optional source folder and output file
+     * @throws IOException if a resource cannot be read or the pack cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File source = new File(args.length > 0 ? args[0] : "My2DGame/src");
+        File output = new File(args.length > 1 ? args[1] : AssetLoader.DEFAULT_PACK);
+
+        List<String> names = new ArrayList<>();
+        List<BufferedImage> images = new ArrayList<>();
+        for (String path : AssetLoader.STARTUP_IMAGES) {
+            BufferedImage img = ImageIO.read(resource(source, path));
+            if (img == null) {
+                throw new IOException("Image not found: " + path);
+            }
+            names.add(path);
+            images.add(img);
+        }
+        byte[] font = Files.readAllBytes(resource(source, AssetLoader.FONT).toPath());
+
+        // Work out where each entry's data goes, after the header and index
+        long indexSize = 12;
+        for (String name : names) {
+            indexSize += entrySize(name);
+        }
+        indexSize += entrySize(AssetLoader.FONT);
+        long offset = align(indexSize);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(AssetPack.MAGIC);
+            out.writeInt(AssetPack.VERSION);
+            out.writeInt(names.size() + 1);
+
+            for (int i = 0; i < names.size(); i++) {
+                BufferedImage img = images.get(i);
+                int length = img.getWidth() * img.getHeight() * 4;
+                writeEntry(out, AssetPack.KIND_IMAGE, names.get(i), img.getWidth(), img.getHeight(), offset, length);
+                offset += length;
+            }
+            writeEntry(out, AssetPack.KIND_BLOB, AssetLoader.FONT, 0, 0, offset, font.length);
+
+            // Pad up to the first data offset so the pixels are int aligned
+            for (long pad = align(indexSize) - indexSize; pad > 0; pad--) {
+                out.writeByte(0);
+            }
+            for (BufferedImage img : images) {
+                int[] argb = img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
+                for (int pixel : argb) {
+                    out.writeInt(pixel);
+                }
+            }
+            out.write(font);
+        }
+        System.out.println("Packed " + (names.size() + 1) + " assets into " + output + " (" + output.length()
+                + " bytes)");
+    }
+
+    /**
+     * Finds a resource path inside the source folder
+     */
+    private static File resource(File source, String path) {
+        return new File(source, path.substring(1));
+    }
+
+    /**
+     * Size of one index entry in bytes
+     */
+    private static int entrySize(String name) {
+        return 1 + 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 + 4 + 8 + 4;
+    }
+
+    /**
+     * Rounds an offset up to the next multiple of 4
+     */
+    private static long align(long offset) {
+        return (offset + 3) & ~3L;
+    }
+
+    /**
+     * Writes one index entry
+     */
+    private static void writeEntry(DataOutputStream out, byte kind, String name, int width, int height, long offset,
+            int length) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(kind);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeLong(offset);
+        out.writeInt(length);
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Development mode that watches the resource folder and re-decodes sprites, the background and the font when they change
+ */
+
+package asset;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+/**
+ * Hot reload for artists. Watches the {@code res} source folder with a
+ * {@link WatchService} on its own thread. When a sprite, the background or the
+ * font changes, only that file is decoded and scaled, still on the watcher
+ * thread, and the result is queued. The game thread picks finished reloads up
+ * with {@link #poll()} at a tick boundary and swaps them in, so it never waits
+ * on the disk and a sprite never changes halfway through a frame.
+ * <p>
+ * Turned on with {@code -Dgame.devAssets=<res folder>}; the value
+ * {@code true} uses {@value #DEFAULT_FOLDER} under the working folder.
+ */
+public final class AssetWatcher implements Runnable {
+    public static final String DEFAULT_FOLDER = "My2DGame/src/res";
+    static final long SETTLE_MILLIS = 100; // Editors write a file in bursts, wait for them to finish
+
+    // Kinds of reload
+    public static final int SPRITE = 0;
+    public static final int BACKGROUND = 1;
+    public static final int FONT = 2;
+
+    /**
+     * A re-decoded asset, ready to be swapped in.
+     */
+    public static final class Reload {
+        public final int kind; // SPRITE, BACKGROUND or FONT
+        public final int id; // Sprite ID, for sprites
+        public final BufferedImage image; // Scaled image, for sprites and the background
+        public final BufferedImage nativeImage; // The same at the art's own size
+        public final Font font; // 24pt font, for the font
+
+        Reload(int kind, int id, BufferedImage image, BufferedImage nativeImage, Font font) {
+            this.kind = kind;
+            this.id = id;
+            this.image = image;
+            this.nativeImage = nativeImage;
+            this.font = font;
+        }
+    }
+
+    private final Path root; // The res folder, resource paths are /res/ plus the path under it
+    private final WatchService watcher;
+    private final int tileSize, width, height, scale;
+    private final ConcurrentLinkedQueue<Reload> ready = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a watcher and registers every folder under the resource folder.
+     *
+     * @param root     The res folder
+     * @param tileSize On-screen tile size in pixels
+     * @param width    Screen width in pixels
+     * @param height   Screen height in pixels
+     * @param scale    Screen pixels per art pixel
+     * @throws IOException if the folder cannot be watched
+     */
+    public AssetWatcher(Path root, int tileSize, int width, int height, int scale) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tileSize = tileSize;
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+        watcher = FileSystems.getDefault().newWatchService();
+        register(this.root);
+    }
+
+    /**
+     * Starts watching if development mode is on.
+     *
+     * @param tileSize On-screen tile size in pixels
+     * @param width    Screen width in pixels
+     * @param height   Screen height in pixels
+     * @param scale    Screen pixels per art pixel
+     * @return The running watcher, or null if development mode is off or the
+     *         folder cannot be watched
+     */
+    public static AssetWatcher startIfEnabled(int tileSize, int width, int height, int scale) {
+        String folder = System.getProperty("game.devAssets");
+        if (folder == null) {
+            return null;
+        }
+        Path root = Path.of(folder.isEmpty() || folder.equals("true") ? DEFAULT_FOLDER : folder);
+        try {
+            AssetWatcher assetWatcher = new AssetWatcher(root, tileSize, width, height, scale);
+            Thread thread = new Thread(assetWatcher, "asset-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            System.out.println("Watching " + assetWatcher.root + " for art changes");
+            return assetWatcher;
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + root + " for art changes: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Takes the next finished reload. Call from the game thread between ticks.
+     *
+     * @return A reload to swap in, or null if there are none
+     */
+    public Reload poll() {
+        return ready.poll();
+    }
+
+    /**
+     * Stops watching.
+     */
+    public void close() {
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            System.err.println("Error closing the asset watcher: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watcher.take(), changed);
+                // Gather the rest of the burst before decoding anything
+                WatchKey key;
+                while ((key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                for (Path file : changed) {
+                    reload(file);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Adds the files named by a watch key's events, registering new folders.
+     *
+     * @param key     Signalled key
+     * @param changed Set of changed files
+     */
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path folder = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            Path file = folder.resolve((Path) event.context());
+            if (Files.isDirectory(file)) {
+                try {
+                    register(file);
+                } catch (IOException e) {
+                    System.err.println("Cannot watch " + file + ": " + e.getMessage());
+                }
+            } else {
+                changed.add(file);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Decodes one changed file and queues it if it is an asset the game uses.
+     *
+     * @param file Changed file
+     */
+    private void reload(Path file) {
+        String path = "/res/" + root.relativize(file).toString().replace('\\', '/');
+        try {
+            if (path.equals(AssetLoader.FONT)) {
+                Font font = Font.createFont(Font.TRUETYPE_FONT, file.toFile()).deriveFont(Font.PLAIN, 24);
+                ready.add(new Reload(FONT, -1, null, null, font));
+            } else if (path.equals(AssetLoader.BACKGROUND)) {
+                BufferedImage img = decode(file);
+                ready.add(new Reload(BACKGROUND, -1, GameArt.background(img, width, height),
+                        GameArt.background(img, width / scale, height / scale), null));
+            } else {
+                int id = spriteId(path);
+                if (id < 0) {
+                    return; // Not something the game draws
+                }
+                BufferedImage img = decode(file);
+                int size = tileSize * Sprites.TILES[id];
+                int nativeSize = size / scale;
+                ready.add(new Reload(SPRITE, id, SpriteRegistry.scale(img, size, size),
+                        SpriteRegistry.scale(img, nativeSize, nativeSize), null));
+            }
+            System.out.println("Reloaded " + path);
+        } catch (IOException | FontFormatException e) {
+            // Usually a file caught halfway through saving, the next write retries
+            System.err.println("Could not reload " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param path Resource path
+     * @return The ID of the sprite loaded from it, or -1 if none is
+     */
+    private static int spriteId(String path) {
+        for (int id = 0; id < Sprites.COUNT; id++) {
+            if (Sprites.PATHS[id].equals(path)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param file Image file
+     * @return The decoded image
+     * @throws IOException if the file is not a readable image
+     */
+    private static BufferedImage decode(Path file) throws IOException {
+        BufferedImage img = ImageIO.read(file.toFile());
+        if (img == null) {
+            throw new IOException("Not an image");
+        }
+        return img;
+    }
+
+    /**
+     * Watches a folder and every folder under it.
+     *
+     * @param folder Folder to watch
+     * @throws IOException if a folder cannot be watched
+     */
+    private void register(Path folder) throws IOException {
+        try (Stream<Path> folders = Files.walk(folder)) {
+            for (Path dir : (Iterable<Path>) folders.filter(Files::isDirectory)::iterator) {
+                dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Sprites, background and font loaded once and shared by every game in the process
+ */
+
+package asset;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Everything a game draws with, already scaled to screen size. None of it
+ * changes after loading, so many games in one process (bot soak runs, hosted
+ * sessions) can share one copy instead of each holding a few megabytes of
+ * images.
+ */
+public final class GameArt {
+    public final SpriteRegistry sprites; // Every sprite by ID, scaled to its on-screen size
+    public final BufferedImage background; // Background scaled to the screen
+    public final SpriteRegistry nativeSprites; // Every sprite at the art's own size, for the low resolution renderer
+    public final BufferedImage nativeBackground; // Background at the art's own resolution
+    public final Font font; // 24pt game font
+
+    private GameArt(SpriteRegistry sprites, BufferedImage background, SpriteRegistry nativeSprites,
+            BufferedImage nativeBackground, Font font) {
+        this.sprites = sprites;
+        this.background = background;
+        this.nativeSprites = nativeSprites;
+        this.nativeBackground = nativeBackground;
+        this.font = font;
+    }
+
+    /**
+     * Waits for the loader to decode the art and scales it to screen size. A
+     * copy at the art's own size (the screen divided by the scale) is kept too.
+     *
+     * @param assets   Loader decoding the images and font
+     * @param tileSize On-screen tile size in pixels
+     * @param width    Screen width in pixels
+     * @param height   Screen height in pixels
+     * @param scale    Screen pixels per art pixel
+     * @return The loaded art
+     * @throws IOException if the background cannot be loaded
+     */
+    public static GameArt load(AssetLoader assets, int tileSize, int width, int height, int scale)
+            throws IOException {
+        SpriteRegistry sprites = new SpriteRegistry(tileSize);
+        sprites.loadAll(assets);
+        SpriteRegistry nativeSprites = new SpriteRegistry(tileSize / scale);
+        nativeSprites.loadAll(assets);
+
+        // Scale once to the screen size so each frame is a straight copy
+        BufferedImage img = assets.image(AssetLoader.BACKGROUND);
+        BufferedImage background = background(img, width, height);
+        BufferedImage nativeBackground = background(img, width / scale, height / scale);
+
+        Font font;
+        try {
+            font = assets.font(AssetLoader.FONT).deriveFont(Font.PLAIN, 24);
+        } catch (FontFormatException | IOException e) {
+            System.err.println("Error loading font: " + e.getMessage());
+            font = new Font("Arial", Font.PLAIN, 24); // Fallback font
+        }
+        return new GameArt(sprites, background, nativeSprites, nativeBackground, font);
+    }
+
+    /**
+     * Copies the background into an opaque image of the size it is drawn at.
+     *
+     * @param img    Decoded background
+     * @param width  Width it is drawn at
+     * @param height Height it is drawn at
+     * @return The scaled background
+     */
+    public static BufferedImage background(BufferedImage img, int width, int height) {
+        BufferedImage background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = background.createGraphics();
+        g2.drawImage(img, 0, 0, width, height, null);
+        g2.dispose();
+        return background;
+    }
+}
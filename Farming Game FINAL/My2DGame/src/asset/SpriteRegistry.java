@@ -0,0 +1,114 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Holds the loaded image for every sprite ID, already scaled to its on-screen size
+ */
+
+package asset;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import render.RasterSprite;
+
+/**
+ * Maps sprite IDs from {@link Sprites} to images. Images are stored at the size
+ * they are drawn at, so drawing one each frame is a plain copy instead of a
+ * scaled blit (Java2D allocates on every scaled draw).
+ */
+public final class SpriteRegistry {
+    private final BufferedImage[] sprites = new BufferedImage[Sprites.COUNT];
+    private final RasterSprite[] rasters = new RasterSprite[Sprites.COUNT]; // Cut on first use by the software renderer
+    private final int tileSize; // On-screen tile size in pixels
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param tileSize On-screen tile size in pixels
+     */
+    public SpriteRegistry(int tileSize) {
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Waits for the loader to finish every sprite and stores them scaled.
+     * Sprites that fail to load are reported and left empty.
+     *
+     * @param assets Loader decoding the sprites
+     */
+    public void loadAll(AssetLoader assets) {
+        for (int id = 0; id < Sprites.COUNT; id++) {
+            try {
+                set(id, assets.image(Sprites.PATHS[id]));
+            } catch (IOException e) {
+                System.err.println("Error loading sprite " + Sprites.PATHS[id] + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Looks up a sprite.
+     *
+     * @param id Sprite ID
+     * @return The scaled image, or null if it failed to load
+     */
+    public BufferedImage get(int id) {
+        return sprites[id];
+    }
+
+    /**
+     * Looks up a sprite for the software renderer, cutting it into spans the
+     * first time. Registries are shared between games, but a sprite cut twice
+     * by two painting threads is harmless as the result never changes.
+     *
+     * @param id Sprite ID
+     * @return The sprite, or null if it failed to load
+     */
+    public RasterSprite raster(int id) {
+        RasterSprite raster = rasters[id];
+        if (raster == null && sprites[id] != null) {
+            raster = RasterSprite.of(sprites[id]);
+            rasters[id] = raster;
+        }
+        return raster;
+    }
+
+    /**
+     * Scales a decoded image to the sprite's on-screen size and stores it.
+     *
+     * @param id  Sprite ID
+     * @param img Decoded image
+     */
+    public void set(int id, BufferedImage img) {
+        int size = tileSize * Sprites.TILES[id];
+        sprites[id] = scale(img, size, size);
+        rasters[id] = null;
+    }
+
+    /**
+     * Swaps in a sprite that is already scaled, used by hot reload.
+     *
+     * @param id     Sprite ID
+     * @param scaled Image at the sprite's on-screen size
+     */
+    public void replace(int id, BufferedImage scaled) {
+        sprites[id] = scaled;
+        rasters[id] = null;
+    }
+
+    /**
+     * Copies an image into an ARGB image of the given size.
+     *
+     * @param img    The decoded image
+     * @param width  Width it is drawn at on screen
+     * @param height Height it is drawn at on screen
+     * @return The scaled image
+     */
+    public static BufferedImage scale(BufferedImage img, int width, int height) {
+        BufferedImage sprite = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = sprite.createGraphics();
+        g2.drawImage(img, 0, 0, width, height, null);
+        g2.dispose();
+        return sprite;
+    }
+}
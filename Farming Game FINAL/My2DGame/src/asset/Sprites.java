@@ -0,0 +1,74 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Numbered list of every sprite in the game along with its file and on-screen size
+ */
+
+package asset;
+
+/**
+ * Sprite IDs. Entities and animation tables refer to sprites by these numbers
+ * and look the image up in a {@link SpriteRegistry} when drawing.
+ */
+public final class Sprites {
+    // Player
+    public static final int PLAYER_UP_1 = 0, PLAYER_UP_2 = 1,
+            PLAYER_DOWN_1 = 2, PLAYER_DOWN_2 = 3,
+            PLAYER_LEFT_1 = 4, PLAYER_LEFT_2 = 5,
+            PLAYER_RIGHT_1 = 6, PLAYER_RIGHT_2 = 7,
+            PLAYER_MINING_UP_1 = 8, PLAYER_MINING_UP_2 = 9,
+            PLAYER_MINING_DOWN_1 = 10, PLAYER_MINING_DOWN_2 = 11,
+            PLAYER_MINING_LEFT_1 = 12, PLAYER_MINING_LEFT_2 = 13,
+            PLAYER_MINING_RIGHT_1 = 14, PLAYER_MINING_RIGHT_2 = 15;
+
+    // Merchant
+    public static final int MERCHANT_DOWN_1 = 16, MERCHANT_DOWN_2 = 17,
+            MERCHANT_NEAR_1 = 18, MERCHANT_NEAR_2 = 19;
+
+    // Farmer
+    public static final int FARMER_1 = 20, FARMER_2 = 21;
+
+    // Crop plot
+    public static final int CROP_EMPTY = 22, PLANT_BABY = 23,
+            WHEAT_PLANT = 24, WHEAT_GROWN = 25,
+            CARROT_PLANT = 26, CARROT_GROWN = 27,
+            POTATO_PLANT = 28, POTATO_GROWN = 29;
+
+    /**
+     * Number of sprites.
+     */
+    public static final int COUNT = 30;
+
+    /**
+     * Resource path of each sprite, by ID.
+     */
+    public static final String[] PATHS = {
+            "/res/player/boy_up_1.png", "/res/player/boy_up_2.png",
+            "/res/player/boy_down_1.png", "/res/player/boy_down_2.png",
+            "/res/player/boy_left_1.png", "/res/player/boy_left_2.png",
+            "/res/player/boy_right_1.png", "/res/player/boy_right_2.png",
+            "/res/player/boy_pick_up_1.png", "/res/player/boy_pick_up_2.png",
+            "/res/player/boy_pick_down_1.png", "/res/player/boy_pick_down_2.png",
+            "/res/player/boy_pick_left_1.png", "/res/player/boy_pick_left_2.png",
+            "/res/player/boy_pick_right_1.png", "/res/player/boy_pick_right_2.png",
+            "/res/merchant/merchant_down_1.png", "/res/merchant/merchant_down_2.png",
+            "/res/merchant/merchant_near_1.png", "/res/merchant/merchant_near_2.png",
+            "/res/farmer/farmer_left_1.png", "/res/farmer/farmer_left_2.png",
+            "/res/object/Crop_EMPTY.png", "/res/object/Wheat_BABY.png",
+            "/res/object/Wheat_FRESH.png", "/res/object/Wheat_GROWN.png",
+            "/res/object/Carrot_FRESH.png", "/res/object/Carrot_GROWN.png",
+            "/res/object/Potato_FRESH.png", "/res/object/Potato_GROWN.png" };
+
+    /**
+     * On-screen size of each sprite in tiles, by ID. Crop plot sprites cover a
+     * 6x6 tile field, everything else is one tile.
+     */
+    public static final int[] TILES = {
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1,
+            1, 1,
+            6, 6, 6, 6, 6, 6, 6, 6 };
+
+    private Sprites() {
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: A looping animation described as a table of sprite IDs and how long each one shows
+ */
+
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * A frame table: sprite IDs and the time each frame is shown for. The frame
+ * to show is worked out from the game clock, so an animation needs no timer of
+ * its own.
+ */
+public final class Animation {
+    private final int[] sprites; // Sprite ID of each frame
+    private final long[] frameEnds; // Time each frame ends, measured from the start of the loop
+    private final long length; // Length of one loop in milliseconds
+
+    /**
+     * Creates an animation.
+     *
+     * @param sprites   Sprite ID of each frame
+     * @param durations Milliseconds each frame is shown for
+     */
+    public Animation(int[] sprites, int[] durations) {
+        if (sprites.length == 0 || sprites.length != durations.length) {
+            throw new IllegalArgumentException("Every frame needs one sprite and one duration");
+        }
+        this.sprites = sprites.clone();
+        frameEnds = new long[durations.length];
+        long end = 0;
+        for (int i = 0; i < durations.length; i++) {
+            end += durations[i];
+            frameEnds[i] = end;
+        }
+        length = end;
+    }
+
+    /**
+     * Creates a looping animation where every frame shows for the same time.
+     *
+     * @param millisPerFrame Milliseconds each frame is shown for
+     * @param sprites        Sprite ID of each frame
+     * @return The animation
+     */
+    public static Animation loop(int millisPerFrame, int... sprites) {
+        int[] durations = new int[sprites.length];
+        Arrays.fill(durations, millisPerFrame);
+        return new Animation(sprites, durations);
+    }
+
+    /**
+     * Creates an animation that always shows one sprite.
+     *
+     * @param sprite Sprite ID
+     * @return The animation
+     */
+    public static Animation still(int sprite) {
+        return loop(1, sprite);
+    }
+
+    /**
+     * Finds the sprite to show at a point in time.
+     *
+     * @param millis Milliseconds since the animation started
+     * @return Sprite ID of the frame showing at that time
+     */
+    public int spriteAt(long millis) {
+        long t = millis % length;
+        int frame = 0;
+        while (t >= frameEnds[frame]) {
+            frame++;
+        }
+        return sprites[frame];
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Updates the current sprite of every animated entity from the game clock once per tick
+ */
+
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates every registered entity's {@link Animation} in one pass per tick.
+ * Entities only choose which animation they are playing; this system turns
+ * that and the game time into the sprite they draw.
+ */
+public final class AnimationSystem {
+    private Entity[] entities = new Entity[8]; // Animated entities
+    private int count = 0; // Number of registered entities
+
+    /**
+     * Adds an entity to be animated.
+     *
+     * @param entity The entity
+     */
+    public void add(Entity entity) {
+        if (count == entities.length) {
+            entities = Arrays.copyOf(entities, count * 2);
+        }
+        entities[count++] = entity;
+    }
+
+    /**
+     * Stops animating an entity.
+     *
+     * @param entity The entity
+     */
+    public void remove(Entity entity) {
+        for (int i = 0; i < count; i++) {
+            if (entities[i] == entity) {
+                entities[i] = entities[--count];
+                entities[count] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Number of animated entities
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Sets each entity's sprite to the frame its animation shows at this time.
+     *
+     * @param millis Current game time in milliseconds
+     */
+    public void update(long millis) {
+        for (int i = 0; i < count; i++) {
+            Entity entity = entities[i];
+            if (entity.animation != null) {
+                entity.sprite = entity.animation.spriteAt(millis - entity.animationStart);
+            }
+        }
+    }
+}
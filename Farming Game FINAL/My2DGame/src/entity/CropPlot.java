@@ -7,10 +7,9 @@
 package entity;
 
 // Imports
+import asset.Sprites;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.nio.ByteBuffer;
 import main.GamePanel;
 
 /**
@@ -21,15 +20,24 @@ public final class CropPlot extends Entity {
     private final GamePanel gp; // Reference to the game panel
     public boolean isPlanted; // Indicates whether a crop is planted
     public boolean fullyGrown = false; // Indicates whether the crop is fully grown
-    private long currentTime; // Tracks the current time
-    private long lastUpdateTime; // Tracks the last update time
+    private long lastUpdateTime; // Game time (ms) of the last growth stage
 
-    private long growthTime = 10000;
+    public static final long GROWTH_MILLIS = 10000; // Game time each growth stage takes
+    public static final int GROWTH_STAGES = 2; // Stages from planted to fully grown
+    public static final int HARVEST_YIELD = 20; // Crops gained from a harvest
+
+    private long growthTime = GROWTH_MILLIS;
+
+    // The field the plot is drawn on, in tiles
+    public static final int FIELD_COL = 1;
+    public static final int FIELD_ROW = 5;
+    public static final int FIELD_TILES = 6;
 
     // Crop growth states
     private final String[] WHEAT_STATES = { "wheat_baby", "wheat_plant", "wheat_grown" };
     private final String[] CARROT_STATES = { "carrot_baby", "carrot_plant", "carrot_grown" };
     private final String[] POTATO_STATES = { "potato_baby", "potato_plant", "potato_grown" };
+    private final String[][] CROP_STATES = { WHEAT_STATES, CARROT_STATES, POTATO_STATES }; // In save order
 
     /**
      * Constructor to initialize the crop plot.
@@ -39,44 +47,10 @@ public final class CropPlot extends Entity {
     public CropPlot(GamePanel gp) {
         this.gp = gp;
         setDefaultValues();
-        getCropPlotImage();
         state = "empty";
         this.isPlanted = false;
     }
 
-    /**
-     * Loads the images for different crop plot states.
-     */
-    public void getCropPlotImage() {
-        try {
-            crop_empty = loadImage("/res/object/Crop_EMPTY.png");
-            plant_baby = loadImage("/res/object/Wheat_BABY.png");
-            wheat_plant = loadImage("/res/object/Wheat_FRESH.png");
-            wheat_grown = loadImage("/res/object/Wheat_GROWN.png");
-            carrot_plant = loadImage("/res/object/Carrot_FRESH.png");
-            carrot_grown = loadImage("/res/object/Carrot_GROWN.png");
-            potato_plant = loadImage("/res/object/Potato_FRESH.png");
-            potato_grown = loadImage("/res/object/Potato_GROWN.png");
-        } catch (IOException e) {
-            System.err.println("Error loading crop plot image: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Helper method to load an image from the specified path.
-     * 
-     * @param path The path to the image.
-     * @return The loaded image.
-     * @throws IOException If the image cannot be loaded.
-     */
-    private BufferedImage loadImage(String path) throws IOException {
-        BufferedImage img = ImageIO.read(getClass().getResourceAsStream(path));
-        if (img == null) {
-            throw new IOException("Image not found: " + path);
-        }
-        return img;
-    }
-
     /**
      * Sets the default values for the crop plot.
      */
@@ -87,13 +61,13 @@ public final class CropPlot extends Entity {
     }
 
     /**
-     * Updates the crop plot's state based on time.
+     * Updates the crop plot's state based on the game clock.
      */
     public void update() {
         if (isPlanted) {
-            currentTime = System.nanoTime();
+            long currentTime = gp.clock.millis();
 
-            long elapsedTime = (currentTime - lastUpdateTime) / 1000000; // Convert to milliseconds
+            long elapsedTime = currentTime - lastUpdateTime;
             if (elapsedTime > growthTime) { // Check if enough time has passed for growth
                 grow();
                 lastUpdateTime = currentTime;
@@ -106,18 +80,22 @@ public final class CropPlot extends Entity {
      */
     public void harvest() {
         if (fullyGrown) {
+            fullyGrown = false; // The next crop has to grow again before it can be harvested
             if (state.equals(WHEAT_STATES[2])) { // Wheat is fully grown
-                gp.itemCount[1] += 20; // Add wheat to inventory
+                gp.addItems(1, HARVEST_YIELD); // Add wheat to inventory
+                gp.events.harvested(0, HARVEST_YIELD);
                 state = "empty";
                 isPlanted = false;
             }
             if (state.equals(CARROT_STATES[2])) { // Carrot is fully grown
-                gp.itemCount[2] += 20; // Add carrots to inventory
+                gp.addItems(2, HARVEST_YIELD); // Add carrots to inventory
+                gp.events.harvested(1, HARVEST_YIELD);
                 state = "empty";
                 isPlanted = false;
             }
             if (state.equals(POTATO_STATES[2])) { // Potato is fully grown
-                gp.itemCount[3] += 20; // Add potatoes to inventory
+                gp.addItems(3, HARVEST_YIELD); // Add potatoes to inventory
+                gp.events.harvested(2, HARVEST_YIELD);
                 state = "empty";
                 isPlanted = false;
             }
@@ -159,16 +137,22 @@ public final class CropPlot extends Entity {
         if (crop.equals("Wheat")) {
             state = WHEAT_STATES[0];
             isPlanted = true;
+            lastUpdateTime = gp.clock.millis(); // Each stage takes the full growth time
+            gp.events.planted(0);
         }
 
         if (crop.equals("Carrot")) {
             state = CARROT_STATES[0];
             isPlanted = true;
+            lastUpdateTime = gp.clock.millis(); // Each stage takes the full growth time
+            gp.events.planted(1);
         }
 
         if (crop.equals("Potato")) {
             state = POTATO_STATES[0];
             isPlanted = true;
+            lastUpdateTime = gp.clock.millis(); // Each stage takes the full growth time
+            gp.events.planted(2);
         }
     }
 
@@ -176,49 +160,95 @@ public final class CropPlot extends Entity {
         growthTime -= 500;
     }
 
+    /**
+     * Writes what is growing, how far along it is and any growth boosts, for
+     * the world save. Growth times are game times, so the clock is saved too.
+     *
+     * @param out Buffer to write to
+     */
+    public void writeState(ByteBuffer out) {
+        int stateIndex = 0; // 0 for empty, then every crop's states in turn
+        for (int crop = 0; crop < CROP_STATES.length; crop++) {
+            for (int stage = 0; stage < CROP_STATES[crop].length; stage++) {
+                if (state.equals(CROP_STATES[crop][stage])) {
+                    stateIndex = 1 + crop * CROP_STATES[crop].length + stage;
+                }
+            }
+        }
+        out.put((byte) stateIndex);
+        out.put((byte) ((isPlanted ? 1 : 0) | (fullyGrown ? 2 : 0)));
+        out.putLong(lastUpdateTime);
+        out.putLong(growthTime);
+    }
+
+    /**
+     * Puts the crop plot back the way {@link #writeState} found it. The clock
+     * has to be restored first.
+     *
+     * @param in Buffer to read from
+     * @throws IllegalArgumentException if the state is not one the game could
+     *                                  have written
+     */
+    public void readState(ByteBuffer in) {
+        int stateIndex = in.get();
+        int flags = in.get();
+        long lastUpdate = in.getLong();
+        long growth = in.getLong();
+        int stages = WHEAT_STATES.length;
+        if (stateIndex < 0 || stateIndex > CROP_STATES.length * stages) {
+            throw new IllegalArgumentException("Unknown crop state " + stateIndex);
+        }
+        state = stateIndex == 0 ? "empty" : CROP_STATES[(stateIndex - 1) / stages][(stateIndex - 1) % stages];
+        isPlanted = (flags & 1) != 0;
+        fullyGrown = (flags & 2) != 0;
+        lastUpdateTime = lastUpdate;
+        growthTime = growth;
+    }
+
     /**
      * Draws the crop plot on the screen based on its current state.
      * 
      * @param g2 The graphics context used for rendering.
      */
     public void draw(Graphics2D g2) {
-        BufferedImage img = null;
+        // Draws the sprite
+        gp.drawSprite(g2, spriteId(), gp.TILE_SIZE * FIELD_COL, gp.TILE_SIZE * FIELD_ROW);
+    }
+
+    /**
+     * Picks the sprite for the crop plot's current state.
+     * 
+     * @return Sprite ID from {@link Sprites}
+     */
+    public int spriteId() {
+        int sprite = Sprites.CROP_EMPTY;
 
         // Controls the current sprite
         switch (state) {
-            case "empty":
-                img = crop_empty;
-                break;
             case "wheat_baby":
-                img = plant_baby;
+            case "carrot_baby":
+            case "potato_baby":
+                sprite = Sprites.PLANT_BABY;
                 break;
             case "wheat_plant":
-                img = wheat_plant;
+                sprite = Sprites.WHEAT_PLANT;
                 break;
             case "wheat_grown":
-                img = wheat_grown;
-                break;
-            case "carrot_baby":
-                img = plant_baby;
+                sprite = Sprites.WHEAT_GROWN;
                 break;
             case "carrot_plant":
-                img = carrot_plant;
+                sprite = Sprites.CARROT_PLANT;
                 break;
             case "carrot_grown":
-                img = carrot_grown;
-                break;
-            case "potato_baby":
-                img = plant_baby;
+                sprite = Sprites.CARROT_GROWN;
                 break;
             case "potato_plant":
-                img = potato_plant;
+                sprite = Sprites.POTATO_PLANT;
                 break;
             case "potato_grown":
-                img = potato_grown;
+                sprite = Sprites.POTATO_GROWN;
                 break;
         }
-
-        // Draws the sprite
-        g2.drawImage(img, gp.TILE_SIZE * 1, gp.TILE_SIZE * 5, gp.TILE_SIZE * 6, gp.TILE_SIZE * 6, null);
+        return sprite;
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,15 @@
 /**
  * @author Liam Shelston
  * Date: Jan 16 2025
- * Description: Parent class for all entities in the game. It stores the list of references to all the image sprites
+ * Description: Parent class for all entities in the game. It stores the animation and sprite each entity is drawn with
  */
 
 package entity;
 
-import java.awt.image.BufferedImage;
-
 /**
  * Represents the base class for all entities in the game.
  * Provides common properties such as position, speed, direction, state,
- * dialogues, and sprite images.
+ * dialogues, and the animation being played.
  */
 public class Entity {
     /**
@@ -34,48 +32,39 @@ public class Entity {
      */
     protected int y;
 
+    /**
+     * Position at the start of the current tick, used to draw the entity between
+     * ticks.
+     */
+    protected int prevX, prevY;
+
     /**
      * The movement speed of the entity.
      */
     protected double speed;
 
     /**
-     * BufferedImage instances for different entity animations and states.
-     */
-    protected BufferedImage up1,
-            up2,
-            down1,
-            down2,
-            left1,
-            left2,
-            right1,
-            right2,
-            near1,
-            near2,
-            farmer1,
-            farmer2,
-            miningUp1,
-            miningUp2,
-            miningDown1,
-            miningDown2,
-            miningLeft1,
-            miningLeft2,
-            miningRight1,
-            miningRight2,
-            crop_empty,
-            plant_baby,
-            wheat_plant,
-            wheat_grown,
-            carrot_plant,
-            carrot_grown,
-            potato_plant,
-            potato_grown;
-
-    /**
-     * The current direction the entity is facing (e.g., "up", "down", "left",
-     * "right").
-     */
-    protected String direction;
+     * Direction constants. Stored as ints so the per-frame checks never hash or
+     * compare strings.
+     */
+    protected static final int UP = 0,
+            DOWN = 1,
+            LEFT = 2,
+            RIGHT = 3,
+            IDLE_UP = 4,
+            IDLE_DOWN = 5,
+            IDLE_LEFT = 6,
+            IDLE_RIGHT = 7,
+            MINING_UP = 8,
+            MINING_DOWN = 9,
+            MINING_LEFT = 10,
+            MINING_RIGHT = 11;
+
+    /**
+     * The current direction the entity is facing (e.g., {@link #UP},
+     * {@link #IDLE_DOWN}).
+     */
+    protected int direction;
 
     /**
      * The current state of the entity (e.g., "idle", "moving").
@@ -83,12 +72,63 @@ public class Entity {
     protected String state;
 
     /**
-     * Counter to control the timing of sprite animations.
+     * The animation the entity is playing. The {@link AnimationSystem} turns it
+     * into {@link #sprite} every tick.
+     */
+    protected Animation animation;
+
+    /**
+     * Game time in milliseconds the current animation is measured from.
+     */
+    protected long animationStart = 0;
+
+    /**
+     * Sprite ID (from {@link asset.Sprites}) the entity is currently drawn with.
+     */
+    protected int sprite;
+
+    /**
+     * @return The X-coordinate of the entity's position
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return The Y-coordinate of the entity's position
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return Sprite ID the entity is currently drawn with
+     */
+    public int getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Remembers where the entity is before a tick moves it.
+     */
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    /**
+     * @param alpha How far the frame is between the last two ticks (0 to 1)
+     * @return The X-coordinate to draw the entity at
      */
-    protected int spriteCounter = 0;
+    protected int drawX(float alpha) {
+        return prevX + Math.round((x - prevX) * alpha);
+    }
 
     /**
-     * The current sprite number for animation.
+     * @param alpha How far the frame is between the last two ticks (0 to 1)
+     * @return The Y-coordinate to draw the entity at
      */
-    protected int spriteNum = 1;
+    protected int drawY(float alpha) {
+        return prevY + Math.round((y - prevY) * alpha);
+    }
 }
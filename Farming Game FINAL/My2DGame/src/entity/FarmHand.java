@@ -0,0 +1,146 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: NPC worker that walks between its home, the crop field and the market using shared flow fields
+ */
+
+package entity;
+
+import asset.Sprites;
+import java.awt.Graphics2D;
+import java.nio.ByteBuffer;
+import main.GamePanel;
+import path.FlowField;
+import physics.CollisionWorld;
+
+/**
+ * A farm hand. It walks a round of stops (home, the crop field, the market),
+ * resting a moment at each. The way there comes from the game's
+ * {@link path.PathService}, so every farm hand heading to the same stop
+ * follows the same flow field and steering costs one lookup a tick.
+ */
+public final class FarmHand extends Entity {
+    private static final Animation WALK = Animation.loop(250, Sprites.FARMER_1, Sprites.FARMER_2);
+    private static final Animation REST = Animation.still(Sprites.FARMER_1);
+    private static final int SPEED = 2 * CollisionWorld.ONE; // Pixels per tick, fixed point
+    private static final long REST_MILLIS = 3000; // Game time spent at each stop
+
+    private final GamePanel gp;
+    private final int body; // Collision body, non-solid so nobody gets stuck behind a farm hand
+    private final int[][] stops; // Tile column and row of each stop, in order
+    private int stop = 0; // Stop being walked to
+    private final FlowField[] fields; // Field towards each stop
+    private long restUntil = 0; // Game time the current rest ends
+
+    /**
+     * Creates a farm hand standing at home.
+     *
+     * @param gp      The game panel
+     * @param homeCol Home tile column
+     * @param homeRow Home tile row
+     */
+    public FarmHand(GamePanel gp, int homeCol, int homeRow) {
+        this.gp = gp;
+        stops = new int[][] {
+                { CropPlot.FIELD_COL + CropPlot.FIELD_TILES - 1, CropPlot.FIELD_ROW + CropPlot.FIELD_TILES / 2 },
+                { gp.merchant.getX() / gp.TILE_SIZE, gp.merchant.getY() / gp.TILE_SIZE },
+                { homeCol, homeRow } };
+        x = homeCol * gp.TILE_SIZE;
+        y = homeRow * gp.TILE_SIZE;
+        animation = REST;
+        sprite = Sprites.FARMER_1;
+        body = gp.collision.addBody(x, y, gp.TILE_SIZE, gp.TILE_SIZE, false);
+        // Build the fields for every stop now, rather than mid-walk
+        fields = new FlowField[stops.length];
+        for (int i = 0; i < stops.length; i++) {
+            fields[i] = gp.paths.fieldTo(stops[i][0], stops[i][1]);
+        }
+    }
+
+    /**
+     * Walks one tick towards the current stop, or rests there.
+     */
+    public void update() {
+        long now = gp.clock.millis();
+        if (now < restUntil) {
+            return;
+        }
+        FlowField field = fields[stop];
+        if (field.isEvicted()) {
+            field = fields[stop] = gp.paths.fieldTo(stops[stop][0], stops[stop][1]);
+        }
+
+        int col = (x + gp.TILE_SIZE / 2) / gp.TILE_SIZE;
+        int row = (y + gp.TILE_SIZE / 2) / gp.TILE_SIZE;
+        int d = field.direction(col, row);
+        if (field.arrived(col, row) || d == FlowField.NONE) {
+            // Arrived, or there's no way there right now: rest, then move on
+            restUntil = now + REST_MILLIS;
+            animation = REST;
+            stop = (stop + 1) % stops.length;
+            return;
+        }
+
+        // Head for the next tile on the way
+        int targetX = (col + FlowField.DX[d]) * gp.TILE_SIZE * CollisionWorld.ONE;
+        int targetY = (row + FlowField.DY[d]) * gp.TILE_SIZE * CollisionWorld.ONE;
+        gp.collision.move(body, clamp(targetX - gp.collision.x(body)), clamp(targetY - gp.collision.y(body)));
+        x = gp.collision.pixelX(body);
+        y = gp.collision.pixelY(body);
+        animation = WALK;
+    }
+
+    /**
+     * Writes where the farm hand is in its round, for the world save.
+     *
+     * @param out Buffer to write to
+     */
+    public void writeState(ByteBuffer out) {
+        out.putInt(gp.collision.x(body));
+        out.putInt(gp.collision.y(body));
+        out.put((byte) stop);
+        out.putLong(restUntil);
+    }
+
+    /**
+     * Puts the farm hand back where {@link #writeState} found it. Rest times
+     * are game times, so the clock has to be restored first.
+     *
+     * @param in Buffer to read from
+     * @throws IllegalArgumentException if the state is not one the game could
+     *                                  have written
+     */
+    public void readState(ByteBuffer in) {
+        int fx = in.getInt();
+        int fy = in.getInt();
+        int nextStop = in.get();
+        long rest = in.getLong();
+        if (nextStop < 0 || nextStop >= stops.length) {
+            throw new IllegalArgumentException("Unknown stop " + nextStop);
+        }
+        gp.collision.setPosition(body, fx, fy);
+        x = gp.collision.pixelX(body);
+        y = gp.collision.pixelY(body);
+        savePosition();
+        stop = nextStop;
+        restUntil = rest;
+        animation = gp.clock.millis() < restUntil ? REST : WALK;
+    }
+
+    /**
+     * @param delta Wanted movement
+     * @return The movement limited to the walking speed
+     */
+    private static int clamp(int delta) {
+        return Math.max(-SPEED, Math.min(SPEED, delta));
+    }
+
+    /**
+     * Draws the farm hand.
+     *
+     * @param g2 the Graphics2D object used for drawing
+     */
+    public void draw(Graphics2D g2) {
+        gp.drawSprite(g2, sprite, drawX(gp.renderAlpha), drawY(gp.renderAlpha));
+    }
+}
@@ -6,10 +6,8 @@
 
 package entity;
 
+import asset.Sprites;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import main.GamePanel;
 
 /**
@@ -18,10 +16,10 @@ import main.GamePanel;
  * and interactions with the player.
  */
 public final class Farmer extends Entity {
+    // The farmer's idle animation.
+    private static final Animation IDLE = Animation.loop(500, Sprites.FARMER_1, Sprites.FARMER_2);
+
     GamePanel gp; // Reference to the game panel.
-    long currentTime; // The current time in nanoseconds.
-    long lastUpdateTime; // The last time the farmer's image was updated.
-    BufferedImage currentImage; // The farmer's current image for animation.
 
     /**
      * Constructs a new Farmer instance.
@@ -31,44 +29,17 @@ public final class Farmer extends Entity {
     public Farmer(GamePanel gp) {
         this.gp = gp;
         setDefaultValues();
-        getFarmerImage();
         setDialogue();
     }
 
-    /**
-     * Loads the farmer's images for animations.
-     */
-    public void getFarmerImage() {
-        try {
-            farmer1 = loadImage("/res/farmer/farmer_left_1.png");
-            farmer2 = loadImage("/res/farmer/farmer_left_2.png");
-        } catch (IOException e) {
-            System.err.println("Error loading farmer images: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Loads an image from the given path.
-     *
-     * @param path the path to the image file
-     * @return the loaded BufferedImage
-     * @throws IOException if the image cannot be loaded
-     */
-    private BufferedImage loadImage(String path) throws IOException {
-        BufferedImage img = ImageIO.read(getClass().getResourceAsStream(path));
-        if (img == null) {
-            throw new IOException("Image not found: " + path);
-        }
-        return img;
-    }
-
     /**
      * Sets the farmer's default values, such as position and initial image.
      */
     public void setDefaultValues() {
         x = gp.TILE_SIZE * 11; // Farmer's initial X position.
         y = gp.TILE_SIZE * 2; // Farmer's initial Y position.
-        currentImage = farmer1; // Set the default image to farmer1.
+        animation = IDLE; // Play the idle animation.
+        sprite = Sprites.FARMER_1;
         setDialogue();
     }
 
@@ -82,46 +53,33 @@ public final class Farmer extends Entity {
     }
 
     /**
-     * Cycles through the farmer's dialogues sequentially.
+     * Cycles through the farmer's dialogues sequentially. Each mouse press is
+     * consumed once, so no delay is needed between lines.
      */
     public void cycleDialogue() {
         if (gp.currentDialogue.equals(dialogues[0])) {
-            gp.currentDialogue = dialogues[1];
-            gp.timeOut(100); // Adds a delay between dialogue switches.
+            gp.setCurrentDialogue(dialogues[1]);
         } else if (gp.currentDialogue.equals(dialogues[1])) {
-            gp.currentDialogue = dialogues[2];
-            gp.timeOut(100);
+            gp.setCurrentDialogue(dialogues[2]);
         } else if (gp.currentDialogue.equals(dialogues[2])) {
-            gp.currentDialogue = dialogues[0];
-            gp.timeOut(100);
+            gp.setCurrentDialogue(dialogues[0]);
         }
     }
 
     /**
-     * Updates the farmer's animation state and checks proximity to the player.
+     * Updates the farmer. Its idle animation is advanced by the animation
+     * system, so nothing changes here yet.
      *
      * @param besidePlayer a boolean indicating if the player is near the farmer
      */
     public void update(boolean besidePlayer) {
-        currentTime = System.nanoTime(); // Get the current time.
-
-        // Calculate the elapsed time in milliseconds.
-        long elapsedTime = (currentTime - lastUpdateTime) / 1000000;
-        if (elapsedTime > 500) { // Update animation every 0.5 seconds.
-            if (currentImage == farmer1) {
-                currentImage = farmer2;
-            } else {
-                currentImage = farmer1;
-            }
-            lastUpdateTime = currentTime;
-        }
     }
 
     /**
      * Initiates a dialogue with the player.
      */
     public void speak() {
-        gp.currentDialogue = dialogues[0]; // Set the initial dialogue.
+        gp.setCurrentDialogue(dialogues[0]); // Set the initial dialogue.
     }
 
     /**
@@ -130,16 +88,6 @@ public final class Farmer extends Entity {
      * @param g2 the Graphics2D object used for drawing
      */
     public void draw(Graphics2D g2) {
-        BufferedImage img = down1;
-
-        // Determine the current image to display.
-        if (currentImage == farmer1) {
-            img = farmer1;
-        } else if (currentImage == farmer2) {
-            img = farmer2;
-        }
-
-        // Draw the farmer image at the specified position.
-        g2.drawImage(img, x, y, gp.TILE_SIZE, gp.TILE_SIZE, null);
+        gp.drawSprite(g2, sprite, drawX(gp.renderAlpha), drawY(gp.renderAlpha));
     }
-}
\ No newline at end of file
+}
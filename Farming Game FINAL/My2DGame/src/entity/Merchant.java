@@ -6,10 +6,8 @@
 
 package entity;
 
+import asset.Sprites;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import main.GamePanel;
 
 /**
@@ -18,10 +16,11 @@ import main.GamePanel;
  * appearance.
  */
 public final class Merchant extends Entity {
+    // Idle animation, and the one played while the player is close by
+    private static final Animation IDLE = Animation.loop(500, Sprites.MERCHANT_DOWN_1, Sprites.MERCHANT_DOWN_2);
+    private static final Animation NEAR = Animation.loop(500, Sprites.MERCHANT_NEAR_1, Sprites.MERCHANT_NEAR_2);
+
     GamePanel gp; // Reference to the game panel
-    long currentTime; // Tracks the current system time
-    long lastUpdateTime; // Tracks the last time the merchant image was updated
-    BufferedImage currentImage; // Holds the current image of the merchant
 
     /**
      * Constructor to initialize the Merchant entity.
@@ -31,46 +30,18 @@ public final class Merchant extends Entity {
     public Merchant(GamePanel gp) {
         this.gp = gp;
         setDefaultValues();
-        getMerchantImage();
         setDialogue();
     }
 
-    /**
-     * Loads the images for the merchant's animations.
-     */
-    public void getMerchantImage() {
-        try {
-            down1 = loadImage("/res/merchant/merchant_down_1.png");
-            down2 = loadImage("/res/merchant/merchant_down_2.png");
-            near1 = loadImage("/res/merchant/merchant_near_1.png");
-            near2 = loadImage("/res/merchant/merchant_near_2.png");
-        } catch (IOException e) {
-            System.err.println("Error loading merchant images: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Helper method to load an image from the specified path.
-     * 
-     * @param path the path of the image to load.
-     * @return the loaded BufferedImage.
-     * @throws IOException if the image cannot be loaded.
-     */
-    private BufferedImage loadImage(String path) throws IOException {
-        BufferedImage img = ImageIO.read(getClass().getResourceAsStream(path));
-        if (img == null) {
-            throw new IOException("Image not found: " + path);
-        }
-        return img;
-    }
-
     /**
      * Sets the default values for the Merchant entity.
      */
     public void setDefaultValues() {
         x = gp.TILE_SIZE; // Set the initial X position of the merchant
         y = gp.TILE_SIZE; // Set the initial Y position of the merchant
-        direction = "down"; // Set the default direction
+        direction = DOWN; // Set the default direction
+        animation = IDLE;
+        sprite = Sprites.MERCHANT_DOWN_1;
         setDialogue();
     }
 
@@ -88,52 +59,28 @@ public final class Merchant extends Entity {
      */
     public void cycleDialogue() {
         if (gp.currentDialogue.equals(dialogues[0])) {
-            gp.currentDialogue = dialogues[1];
-            gp.timeOut(100);
+            gp.setCurrentDialogue(dialogues[1]);
         } else if (gp.currentDialogue.equals(dialogues[1])) {
-            gp.currentDialogue = dialogues[2];
-            gp.timeOut(100);
+            gp.setCurrentDialogue(dialogues[2]);
         } else if (gp.currentDialogue.equals(dialogues[2])) {
-            gp.currentDialogue = dialogues[0];
-            gp.timeOut(100);
+            gp.setCurrentDialogue(dialogues[0]);
         }
     }
 
     /**
-     * Updates the Merchant's appearance based on its proximity to the player.
+     * Picks the Merchant's animation based on its proximity to the player.
      * 
      * @param besidePlayer whether the merchant is near the player.
      */
     public void update(boolean besidePlayer) {
-        currentTime = System.nanoTime();
-
-        long elapsedTime = (currentTime - lastUpdateTime) / 1000000; // Convert to milliseconds
-        if (!besidePlayer && elapsedTime > 500) {
-            if (elapsedTime > 500) { // 0.5 seconds
-                if (currentImage == down1) {
-                    currentImage = down2;
-                } else {
-                    currentImage = down1;
-                }
-                lastUpdateTime = currentTime;
-            }
-        } else if (besidePlayer && elapsedTime > 500) {
-            if (elapsedTime > 500) { // 0.5 seconds
-                if (currentImage == near1) {
-                    currentImage = near2;
-                } else {
-                    currentImage = near1;
-                }
-                lastUpdateTime = currentTime;
-            }
-        }
+        animation = besidePlayer ? NEAR : IDLE;
     }
 
     /**
      * Initiates a conversation with the player.
      */
     public void speak() {
-        gp.currentDialogue = dialogues[0]; // Set the current dialogue
+        gp.setCurrentDialogue(dialogues[0]); // Set the current dialogue
     }
 
     /**
@@ -142,18 +89,6 @@ public final class Merchant extends Entity {
      * @param g2 the graphics context used for drawing.
      */
     public void draw(Graphics2D g2) {
-        BufferedImage img = down1;
-
-        if (currentImage == down1) {
-            img = down1;
-        } else if (currentImage == down2) {
-            img = down2;
-        } else if (currentImage == near1) {
-            img = near1;
-        } else if (currentImage == near2) {
-            img = near2;
-        }
-
-        g2.drawImage(img, x, y, gp.TILE_SIZE, gp.TILE_SIZE, null);
+        gp.drawSprite(g2, sprite, drawX(gp.renderAlpha), drawY(gp.renderAlpha));
     }
 }
@@ -6,12 +6,12 @@
 
 package entity;
 
+import asset.Sprites;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.nio.ByteBuffer;
 import main.GamePanel;
 import main.KeyHandler;
+import physics.CollisionWorld;
 
 /**
  * Represents the player entity in the game. Handles the player's state,
@@ -19,8 +19,34 @@ import main.KeyHandler;
  */
 public final class Player extends Entity {
 
+    // Walking frames switch every 11 ticks at 60 FPS
+    public static final int WALK_SPEED = 4; // Pixels moved per tick
+    private static final int WALK_FRAME_MILLIS = 183;
+
+    // Animation for each direction, indexed by the direction constants
+    private static final Animation[] ANIMATIONS = new Animation[12];
+    static {
+        ANIMATIONS[UP] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_UP_1, Sprites.PLAYER_UP_2);
+        ANIMATIONS[DOWN] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_DOWN_1, Sprites.PLAYER_DOWN_2);
+        ANIMATIONS[LEFT] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_LEFT_1, Sprites.PLAYER_LEFT_2);
+        ANIMATIONS[RIGHT] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_RIGHT_1, Sprites.PLAYER_RIGHT_2);
+        ANIMATIONS[IDLE_UP] = Animation.still(Sprites.PLAYER_UP_1);
+        ANIMATIONS[IDLE_DOWN] = Animation.still(Sprites.PLAYER_DOWN_1);
+        ANIMATIONS[IDLE_LEFT] = Animation.still(Sprites.PLAYER_LEFT_1);
+        ANIMATIONS[IDLE_RIGHT] = Animation.still(Sprites.PLAYER_RIGHT_1);
+        ANIMATIONS[MINING_UP] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_MINING_UP_1,
+                Sprites.PLAYER_MINING_UP_2);
+        ANIMATIONS[MINING_DOWN] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_MINING_DOWN_1,
+                Sprites.PLAYER_MINING_DOWN_2);
+        ANIMATIONS[MINING_LEFT] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_MINING_LEFT_1,
+                Sprites.PLAYER_MINING_LEFT_2);
+        ANIMATIONS[MINING_RIGHT] = Animation.loop(WALK_FRAME_MILLIS, Sprites.PLAYER_MINING_RIGHT_1,
+                Sprites.PLAYER_MINING_RIGHT_2);
+    }
+
     GamePanel gp;
     KeyHandler keyH;
+    final int body; // Collision body, the player's position lives there in fixed point
     public boolean besideMerchant = false; // Indicates if the player is near a merchant.
 
     /**
@@ -34,48 +60,14 @@ public final class Player extends Entity {
         this.keyH = keyH;
 
         setDefaultValues();
-        getPlayerImage();
-    }
-
-    /**
-     * Loads the images for the player's various animations.
-     */
-    public void getPlayerImage() {
-        try {
-            up1 = loadImage("/res/player/boy_up_1.png");
-            up2 = loadImage("/res/player/boy_up_2.png");
-            down1 = loadImage("/res/player/boy_down_1.png");
-            down2 = loadImage("/res/player/boy_down_2.png");
-            left1 = loadImage("/res/player/boy_left_1.png");
-            left2 = loadImage("/res/player/boy_left_2.png");
-            right1 = loadImage("/res/player/boy_right_1.png");
-            right2 = loadImage("/res/player/boy_right_2.png");
-            miningDown1 = loadImage("/res/player/boy_pick_down_1.png");
-            miningDown2 = loadImage("/res/player/boy_pick_down_2.png");
-            miningUp1 = loadImage("/res/player/boy_pick_up_1.png");
-            miningUp2 = loadImage("/res/player/boy_pick_up_2.png");
-            miningLeft1 = loadImage("/res/player/boy_pick_left_1.png");
-            miningLeft2 = loadImage("/res/player/boy_pick_left_2.png");
-            miningRight1 = loadImage("/res/player/boy_pick_right_1.png");
-            miningRight2 = loadImage("/res/player/boy_pick_right_2.png");
-        } catch (IOException e) {
-            System.err.println("Error loading player images: " + e.getMessage());
-        }
+        body = gp.collision.addBody(x, y, gp.TILE_SIZE, gp.TILE_SIZE, false);
     }
 
     /**
-     * Loads an image from the given path.
-     *
-     * @param path the path to the image file
-     * @return the loaded BufferedImage
-     * @throws IOException if the image cannot be loaded
+     * Takes the player out of the collision world, for players that leave.
      */
-    private BufferedImage loadImage(String path) throws IOException {
-        BufferedImage img = ImageIO.read(getClass().getResourceAsStream(path));
-        if (img == null) {
-            throw new IOException("Image not found: " + path);
-        }
-        return img;
+    public void removeFromWorld() {
+        gp.collision.removeBody(body);
     }
 
     /**
@@ -84,8 +76,10 @@ public final class Player extends Entity {
     public void setDefaultValues() {
         x = gp.SCREEN_WIDTH / 2;
         y = gp.SCREEN_HEIGHT / 2;
-        speed = 4;
-        direction = "down";
+        speed = WALK_SPEED;
+        direction = DOWN;
+        animation = ANIMATIONS[direction];
+        sprite = Sprites.PLAYER_DOWN_1;
     }
 
     /**
@@ -93,73 +87,98 @@ public final class Player extends Entity {
      */
     public void update() {
         boolean moving = false;
+        int step = (int) Math.round(speed * CollisionWorld.ONE);
+        int dx = 0;
+        int dy = 0;
 
         if (keyH.upPressed) {
-            direction = "up";
-            if (y - speed >= 0) {
-                y -= speed;
-            }
+            direction = UP;
+            dy -= step;
             moving = true;
         }
         if (keyH.downPressed) {
-            direction = "down";
-            if (y + speed <= gp.SCREEN_HEIGHT - gp.TILE_SIZE) {
-                y += speed;
-            }
+            direction = DOWN;
+            dy += step;
             moving = true;
         }
         if (keyH.leftPressed) {
-            direction = "left";
-            if (x - speed >= 0) {
-                x -= speed;
-            }
+            direction = LEFT;
+            dx -= step;
             moving = true;
         }
         if (keyH.rightPressed) {
-            direction = "right";
-            if (x + speed <= gp.SCREEN_WIDTH - gp.TILE_SIZE) {
-                x += speed;
-            }
+            direction = RIGHT;
+            dx += step;
             moving = true;
         }
 
+        // The collision world stops the player at the screen edges and scenery
+        gp.collision.move(body, dx, dy);
+        x = gp.collision.pixelX(body);
+        y = gp.collision.pixelY(body);
+
         switch (keyH.keysCurrentlyPressed) {
             case 3:
                 moving = false;
                 speed = 0;
                 break;
             default:
-                speed = 4;
+                speed = WALK_SPEED;
                 break;
         }
 
         if (!moving) {
             // Set to idle state based on the last direction
             switch (direction) {
-                case "up":
-                    direction = "idleUp";
+                case UP:
+                    direction = IDLE_UP;
                     break;
-                case "down":
-                    direction = "idleDown";
+                case DOWN:
+                    direction = IDLE_DOWN;
                     break;
-                case "left":
-                    direction = "idleLeft";
+                case LEFT:
+                    direction = IDLE_LEFT;
                     break;
-                case "right":
-                    direction = "idleRight";
+                case RIGHT:
+                    direction = IDLE_RIGHT;
                     break;
             }
         }
 
-        spriteCounter++;
-        if (spriteCounter > 10) {
-            if (spriteNum == 1) {
-                spriteNum = 2;
-            } else if (spriteNum == 2) {
-                spriteNum = 1;
-            }
-            spriteCounter = 0;
+        animation = ANIMATIONS[direction];
+    }
+
+    /**
+     * Writes where the player stands and faces, for the world save.
+     *
+     * @param out Buffer to write to
+     */
+    public void writeState(ByteBuffer out) {
+        out.putInt(gp.collision.x(body));
+        out.putInt(gp.collision.y(body));
+        out.put((byte) direction);
+    }
+
+    /**
+     * Puts the player back where {@link #writeState} found them.
+     *
+     * @param in Buffer to read from
+     * @throws IllegalArgumentException if the state is not one the game could
+     *                                  have written
+     */
+    public void readState(ByteBuffer in) {
+        int fx = in.getInt();
+        int fy = in.getInt();
+        int facing = in.get();
+        if (facing < UP || facing > IDLE_RIGHT) {
+            throw new IllegalArgumentException("Unknown direction " + facing);
         }
+        gp.collision.setPosition(body, fx, fy);
+        x = gp.collision.pixelX(body);
+        y = gp.collision.pixelY(body);
+        savePosition();
+        direction = facing;
+        animation = ANIMATIONS[direction];
     }
 
     /**
@@ -168,12 +187,7 @@ public final class Player extends Entity {
      * @return true if the player is beside the merchant, false otherwise
      */
     public boolean getNextToMerchant() {
-        if (x > 0 && y > 0 && x < gp.TILE_SIZE * 2 && y < gp.TILE_SIZE * 2) {
-            System.out.println("Beside merchant");
-            return true;
-        } else {
-            return false;
-        }
+        return withinReach(gp.merchant.getX(), gp.merchant.getY(), gp.TILE_SIZE, gp.TILE_SIZE);
     }
 
     /**
@@ -182,12 +196,7 @@ public final class Player extends Entity {
      * @return true if the player is beside the farmer, false otherwise
      */
     public boolean getNextToFarmer() {
-        if (x > gp.TILE_SIZE * 10 && y > gp.TILE_SIZE && x < gp.TILE_SIZE * 13 && y < gp.TILE_SIZE * 3) {
-            System.out.println("Beside farmer");
-            return true;
-        } else {
-            return false;
-        }
+        return withinReach(gp.farmer.getX(), gp.farmer.getY(), gp.TILE_SIZE, gp.TILE_SIZE);
     }
 
     /**
@@ -196,11 +205,25 @@ public final class Player extends Entity {
      * @return true if the player is beside a crop plot, false otherwise
      */
     public boolean getNextToCropPlot() {
-        if (x > gp.TILE_SIZE / 2 && y > gp.TILE_SIZE * 5 && x < gp.TILE_SIZE * 6.5 && y < gp.TILE_SIZE * 10) {
-            return true;
-        } else {
-            return false;
-        }
+        return withinReach(gp.TILE_SIZE * CropPlot.FIELD_COL, gp.TILE_SIZE * CropPlot.FIELD_ROW,
+                gp.TILE_SIZE * CropPlot.FIELD_TILES, gp.TILE_SIZE * CropPlot.FIELD_TILES);
+    }
+
+    /**
+     * Checks if something is within arm's reach (half a tile) of the player.
+     * The merchant, farmer and crop field are solid, so the player can only
+     * ever stand beside them.
+     *
+     * @param left   Left edge of the thing
+     * @param top    Top edge of the thing
+     * @param width  Width of the thing
+     * @param height Height of the thing
+     * @return true if the player can reach it
+     */
+    private boolean withinReach(int left, int top, int width, int height) {
+        int reach = gp.TILE_SIZE / 2;
+        return x - reach < left + width && left < x + gp.TILE_SIZE + reach && y - reach < top + height
+                && top < y + gp.TILE_SIZE + reach;
     }
 
     /**
@@ -209,46 +232,6 @@ public final class Player extends Entity {
      * @param g2 the Graphics2D object used for drawing
      */
     public void draw(Graphics2D g2) {
-        BufferedImage img = null;
-
-        switch (direction) {
-            case "up":
-                img = (spriteNum == 1) ? up1 : up2;
-                break;
-            case "down":
-                img = (spriteNum == 1) ? down1 : down2;
-                break;
-            case "left":
-                img = (spriteNum == 1) ? left1 : left2;
-                break;
-            case "right":
-                img = (spriteNum == 1) ? right1 : right2;
-                break;
-            case "miningUp":
-                img = (spriteNum == 1) ? miningUp1 : miningUp2;
-                break;
-            case "miningDown":
-                img = (spriteNum == 1) ? miningDown1 : miningDown2;
-                break;
-            case "miningLeft":
-                img = (spriteNum == 1) ? miningLeft1 : miningLeft2;
-                break;
-            case "miningRight":
-                img = (spriteNum == 1) ? miningRight1 : miningRight2;
-                break;
-            case "idleUp":
-                img = up1;
-                break;
-            case "idleDown":
-                img = down1;
-                break;
-            case "idleLeft":
-                img = left1;
-                break;
-            case "idleRight":
-                img = right1;
-                break;
-        }
-        g2.drawImage(img, x, y, gp.TILE_SIZE, gp.TILE_SIZE, null);
+        gp.drawSprite(g2, sprite, drawX(gp.renderAlpha), drawY(gp.renderAlpha));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Queues game events in a preallocated ring buffer and hands them to subscribers once per tick
+ */
+
+package event;
+
+/**
+ * Typed event bus for one game. Game code publishes events as they happen
+ * (a harvest, a planting, a trade, a state change) and subscribers such as the
+ * metrics printout get them all in one batch when {@link #dispatch()} runs at
+ * the end of the tick.
+ * <p>
+ * Events are stored as plain values in parallel arrays that form a ring
+ * buffer, allocated once. Publishing writes a few array slots, so it costs the
+ * same and allocates nothing however many events a tick produces. If a tick
+ * fills the ring, the queued events are delivered early to make room instead
+ * of being dropped. The bus belongs to the game thread and is not thread safe.
+ */
+public final class EventBus {
+    // Event types
+    public static final int HARVESTED = 0;
+    public static final int PLANTED = 1;
+    public static final int TRADE_COMPLETED = 2;
+    public static final int STATE_CHANGED = 3;
+    public static final int TYPES = 4;
+
+    // Traders, for trade events
+    public static final int MERCHANT = 0;
+    public static final int FARMER = 1;
+
+    static final int DEFAULT_CAPACITY = 256; // Events held before an early flush, a power of two
+
+    // The ring, one slot per event across all arrays
+    private final byte[] types;
+    private final long[] ticks;
+    private final int[] first;
+    private final int[] second;
+    private final int[] third;
+    private final int mask;
+
+    private long head = 0; // Next event to deliver
+    private long tail = 0; // Next free slot
+    private long tick = 0; // Tick events published now belong to
+    private boolean dispatching = false;
+    private GameEventListener[] listeners = new GameEventListener[0];
+
+    private long earlyFlushes = 0; // Times the ring filled up within a tick
+    private long dropped = 0; // Events published by subscribers into a full ring during a dispatch
+
+    /**
+     * Creates a bus with the default capacity.
+     */
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a bus.
+     *
+     * @param capacity Events held per tick before an early flush, rounded up to
+     *                 a power of two
+     */
+    public EventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        types = new byte[size];
+        ticks = new long[size];
+        first = new int[size];
+        second = new int[size];
+        third = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a subscriber. Meant for setup, as it copies the subscriber list.
+     *
+     * @param listener Subscriber to add
+     */
+    public void subscribe(GameEventListener listener) {
+        GameEventListener[] grown = new GameEventListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, grown, 0, listeners.length);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Removes a subscriber.
+     *
+     * @param listener Subscriber to remove
+     */
+    public void unsubscribe(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEventListener[] shrunk = new GameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, shrunk, 0, i);
+                System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publishes a harvest.
+     *
+     * @param crop   Index into GamePanel.plantableCrops
+     * @param amount Amount added to the inventory
+     */
+    public void harvested(int crop, int amount) {
+        publish(HARVESTED, crop, amount, 0);
+    }
+
+    /**
+     * Publishes a planting.
+     *
+     * @param crop Index into GamePanel.plantableCrops
+     */
+    public void planted(int crop) {
+        publish(PLANTED, crop, 0, 0);
+    }
+
+    /**
+     * Publishes a completed trade.
+     *
+     * @param trader {@link #MERCHANT} or {@link #FARMER}
+     * @param trade  Index into that trader's items for sale
+     * @param gold   Change in gold, negative when buying
+     */
+    public void tradeCompleted(int trader, int trade, int gold) {
+        publish(TRADE_COMPLETED, trader, trade, gold);
+    }
+
+    /**
+     * Publishes a game state change.
+     *
+     * @param from Previous state
+     * @param to   New state
+     */
+    public void stateChanged(int from, int to) {
+        publish(STATE_CHANGED, from, to, 0);
+    }
+
+    /**
+     * Delivers everything published this tick to the subscribers and moves on
+     * to the next tick. Events that subscribers publish while handling the
+     * batch go out with the next one. Call once at the end of every tick.
+     */
+    public void dispatch() {
+        deliver(tail);
+        tick++;
+    }
+
+    /**
+     * @return Events published but not delivered yet
+     */
+    public int pending() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * @return Times so far the ring filled up within a tick and was delivered
+     *         early
+     */
+    public long earlyFlushes() {
+        return earlyFlushes;
+    }
+
+    /**
+     * @return Events dropped so far because a subscriber published them into a
+     *         full ring while it was being delivered
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Writes an event into the next free slot.
+     *
+     * @param type  Event type
+     * @param a     First value
+     * @param b     Second value
+     * @param c     Third value
+     */
+    private void publish(int type, int a, int b, int c) {
+        if (tail - head > mask) {
+            if (dispatching) {
+                dropped++;
+                return;
+            }
+            earlyFlushes++;
+            deliver(tail);
+        }
+        int slot = (int) tail & mask;
+        types[slot] = (byte) type;
+        ticks[slot] = tick;
+        first[slot] = a;
+        second[slot] = b;
+        third[slot] = c;
+        tail++;
+    }
+
+    /**
+     * Hands queued events to every subscriber.
+     *
+     * @param end Position to stop at, events after it stay queued
+     */
+    private void deliver(long end) {
+        GameEventListener[] subscribers = listeners;
+        dispatching = true;
+        try {
+            while (head < end) {
+                int slot = (int) head & mask;
+                head++;
+                for (GameEventListener listener : subscribers) {
+                    switch (types[slot]) {
+                        case HARVESTED:
+                            listener.harvested(ticks[slot], first[slot], second[slot]);
+                            break;
+                        case PLANTED:
+                            listener.planted(ticks[slot], first[slot]);
+                            break;
+                        case TRADE_COMPLETED:
+                            listener.tradeCompleted(ticks[slot], first[slot], second[slot], third[slot]);
+                            break;
+                        case STATE_CHANGED:
+                            listener.stateChanged(ticks[slot], first[slot], second[slot]);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Counts dispatched game events for the metrics printout
+ */
+
+package event;
+
+/**
+ * Metrics subscriber. Counts events by type until the counts are drained.
+ */
+public final class EventStats implements GameEventListener {
+    private final long[] counts = new long[EventBus.TYPES];
+
+    @Override
+    public void harvested(long tick, int crop, int amount) {
+        counts[EventBus.HARVESTED]++;
+    }
+
+    @Override
+    public void planted(long tick, int crop) {
+        counts[EventBus.PLANTED]++;
+    }
+
+    @Override
+    public void tradeCompleted(long tick, int trader, int trade, int gold) {
+        counts[EventBus.TRADE_COMPLETED]++;
+    }
+
+    @Override
+    public void stateChanged(long tick, int from, int to) {
+        counts[EventBus.STATE_CHANGED]++;
+    }
+
+    /**
+     * @param type Event type from {@link EventBus}
+     * @return Events of that type counted since the last drain
+     */
+    public long count(int type) {
+        return counts[type];
+    }
+
+    /**
+     * Returns the number of events counted and starts counting again.
+     *
+     * @return Events of every type since the last drain
+     */
+    public long drain() {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            counts[i] = 0;
+        }
+        return total;
+    }
+}
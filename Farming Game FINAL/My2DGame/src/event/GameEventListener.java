@@ -0,0 +1,55 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Receives the game events dispatched by the event bus
+ */
+
+package event;
+
+/**
+ * Subscriber to an {@link EventBus}. Events arrive in the order they were
+ * published, in one batch at the end of each tick, on the game thread. Each
+ * event type is its own method with plain values, so delivering an event never
+ * creates an object. Override only the events you care about.
+ */
+public interface GameEventListener {
+    /**
+     * A crop was harvested.
+     *
+     * @param tick   Tick the harvest happened on
+     * @param crop   Crop harvested, an index into GamePanel.plantableCrops
+     * @param amount Amount added to the inventory
+     */
+    default void harvested(long tick, int crop, int amount) {
+    }
+
+    /**
+     * A crop was planted.
+     *
+     * @param tick Tick the crop was planted on
+     * @param crop Crop planted, an index into GamePanel.plantableCrops
+     */
+    default void planted(long tick, int crop) {
+    }
+
+    /**
+     * A trade went through.
+     *
+     * @param tick   Tick the trade happened on
+     * @param trader {@link EventBus#MERCHANT} or {@link EventBus#FARMER}
+     * @param trade  Index into that trader's items for sale
+     * @param gold   Change in gold, negative when buying
+     */
+    default void tradeCompleted(long tick, int trader, int trade, int gold) {
+    }
+
+    /**
+     * The game state changed (play, pause, dialogue, trade, inventory).
+     *
+     * @param tick Tick the change was seen on
+     * @param from Previous GamePanel state
+     * @param to   New GamePanel state
+     */
+    default void stateChanged(long tick, int from, int to) {
+    }
+}
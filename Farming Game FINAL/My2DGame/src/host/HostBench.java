@@ -0,0 +1,157 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Fills a session host with farms and reports what they cost to keep running
+ */
+
+package host;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Density test for {@link SessionHost}. Admits a number of farms, a few of them
+ * played by bots and the rest left growing, runs them in real time for a while
+ * and prints the admission time, heap per session, tick cost per session and
+ * tick thread load. Then starts a few more bot farms, evicts each while its
+ * player is walking and admits it straight back, which must pick up its final
+ * save. Last it evicts the idle farms, shuts down and checks the bot farms
+ * saved into their own folders.
+ * {@code java host.HostBench [sessions] [seconds] [bots] [threads] [save folder]}
+ */
+public final class HostBench {
+    static final int DEFAULT_SESSIONS = 10000;
+    static final int DEFAULT_SECONDS = 10;
+    static final int DEFAULT_BOTS = 16;
+    static final int READMIT_CHECKS = 8; // Farms evicted and admitted straight back
+    static final int READMIT_WALK_MILLIS = 800; // How long the first of them walks before eviction
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional session count, seconds, bot count, thread count and
+     *             save folder
+     * @throws Exception if the host fails
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        int bots = Math.min(count, args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BOTS);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path root = args.length > 4 ? Paths.get(args[4]) : Files.createTempDirectory("farm-sessions");
+
+        // The games print as they play, keep that out of the report
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        SessionHost host = new SessionHost(root, count, threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            HostedSession session = host.admit(sessionId(i));
+            if (session == null) {
+                out.println("Admission refused at " + i + " sessions, heap nearly full");
+                break;
+            }
+            if (i < bots) {
+                session.startBot();
+            }
+        }
+        long admitNanos = System.nanoTime() - start;
+        out.println("Admitted " + host.size() + " sessions in " + admitNanos / 1000000 + " ms ("
+                + admitNanos / 1000 / Math.max(1, host.size()) + " us each) on " + threads + " tick threads");
+
+        // Let the admissions settle, then measure a clean stretch
+        Thread.sleep(1000);
+        System.gc();
+        out.println("Settled | " + host.report());
+        host.report(); // Start the load measurement here
+        long[] before = totals(host);
+        start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long elapsed = System.nanoTime() - start;
+        long[] after = totals(host);
+        long ticks = after[0] - before[0];
+        out.println("Ran " + seconds + " s | " + host.report());
+        out.printf("Per session tick: %.2f us CPU, %d B allocated | Ticks/s: %d%n",
+                (after[1] - before[1]) / 1000.0 / Math.max(1, ticks),
+                (after[2] - before[2]) / Math.max(1, ticks), ticks * 1000000000L / elapsed);
+
+        // Bot farms stay busy, everything else has been idle since admission
+        long trades = 0;
+        for (HostedSession session : host.sessions()) {
+            if (session.driver() != null) {
+                trades += session.driver().trades();
+            }
+        }
+        out.println("Bot trades: " + trades);
+
+        // Admitting a farm again right after evicting it waits for its final save. New bots
+        // walk from the start, so each is evicted between autosaves with its player moved
+        int readmitted = 0, kept = 0;
+        HostedSession[] walkers = new HostedSession[READMIT_CHECKS];
+        for (int i = 0; i < READMIT_CHECKS; i++) {
+            walkers[i] = host.admit("walker-" + i);
+            if (walkers[i] != null) {
+                walkers[i].startBot();
+            }
+            Thread.sleep(READMIT_WALK_MILLIS / READMIT_CHECKS);
+        }
+        for (HostedSession evicted : walkers) {
+            if (evicted == null || !host.evict(evicted.id())) {
+                continue;
+            }
+            HostedSession again = host.admit(evicted.id());
+            readmitted++;
+            // The evicted farm stopped ticking before its save was written, so it can be read here.
+            // An older save would have the player somewhere else
+            if (again != null && Arrays.equals(evicted.game().itemCount, again.game().itemCount)
+                    && again.game().player.getX() == evicted.game().player.getX()
+                    && again.game().player.getY() == evicted.game().player.getY()) {
+                kept++;
+            }
+        }
+        out.println("Farms admitted again right after eviction with their progress: " + kept + "/" + readmitted);
+        out.println("At capacity, admitting one more evicts the least recent: "
+                + (host.admit("late-arrival") != null ? "admitted" : "refused"));
+        out.println("Evicted idle sessions: " + host.evictIdle(seconds * 500000000L));
+        Thread.sleep(200);
+        out.println("After eviction | " + host.report());
+
+        host.shutdown();
+        int saved = 0;
+        for (int i = 0; i < bots; i++) {
+            if (Files.exists(root.resolve(sessionId(i)).resolve("inventory.txt"))) {
+                saved++;
+            }
+        }
+        out.println("Bot farms saved to their own folders: " + saved + "/" + bots + " under " + root);
+        System.exit(0);
+    }
+
+    /**
+     * @param i Session number
+     * @return Its ID
+     */
+    private static String sessionId(int i) {
+        return String.format("farm-%05d", i);
+    }
+
+    /**
+     * @param host Host to add up
+     * @return Total ticks, CPU nanoseconds and bytes allocated across sessions
+     */
+    private static long[] totals(SessionHost host) {
+        long[] totals = new long[3];
+        for (HostedSession session : host.sessions()) {
+            totals[0] += session.ticks;
+            totals[1] += session.cpuNanos;
+            totals[2] += session.allocatedBytes;
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: One farm running inside a session host, with its own state, save file and resource counters
+ */
+
+package host;
+
+import java.nio.file.Path;
+import main.Bot;
+import main.GamePanel;
+import main.Prompter;
+
+/**
+ * A farm hosted by a {@link SessionHost}. Each session owns a headless
+ * {@link GamePanel} (so nothing is shared between farms but the art) and saves
+ * to its own folder. The tick worker that owns the session counts the time
+ * spent and bytes allocated in its ticks.
+ * <p>
+ * Nobody is around to answer questions for a hosted farm, so the session
+ * stands in as its {@link Prompter}: choices are declined and the latest
+ * message is kept for whoever asks.
+ */
+public final class HostedSession implements Prompter {
+    final String id;
+    final GamePanel game;
+    final Path saveFile;
+    Bot driver; // Plays the farm when set, otherwise the farm just grows
+    volatile boolean wantsDriver = false; // A bot was asked for, the tick worker creates it
+    volatile long lastActive; // System.nanoTime() of the last input
+    volatile boolean evicted = false; // Set by the host, acted on by the tick worker
+
+    // Accounting, written by the owning tick worker only
+    volatile long ticks = 0;
+    volatile long cpuNanos = 0; // Time spent ticking this session
+    volatile long allocatedBytes = 0; // Bytes allocated while ticking this session
+
+    private volatile String lastMessage = "";
+
+    HostedSession(String id, GamePanel game, Path saveFile) {
+        this.id = id;
+        this.game = game;
+        this.saveFile = saveFile;
+        this.lastActive = System.nanoTime();
+        game.prompter = this;
+    }
+
+    /**
+     * @return The session ID
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return The farm. Only the session's tick worker may change it
+     */
+    public GamePanel game() {
+        return game;
+    }
+
+    /**
+     * Lets a bot play this farm. The bot is created on the tick worker at the
+     * next tick, since only that thread may touch the farm, and then acts
+     * before every tick.
+     */
+    public void startBot() {
+        wantsDriver = true;
+        touch();
+    }
+
+    /**
+     * Marks the session as active so it is not evicted for being idle.
+     */
+    public void touch() {
+        lastActive = System.nanoTime();
+    }
+
+    /**
+     * @return The bot playing the farm, or null
+     */
+    public Bot driver() {
+        return driver;
+    }
+
+    /**
+     * @return Ticks run
+     */
+    public long ticks() {
+        return ticks;
+    }
+
+    /**
+     * @return Nanoseconds spent ticking this session
+     */
+    public long cpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * @return Bytes allocated while ticking this session
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The last receipt or error the game showed
+     */
+    public String lastMessage() {
+        return lastMessage;
+    }
+
+    @Override
+    public String choose(String title, String message, String[] choices) {
+        return null;
+    }
+
+    @Override
+    public boolean confirm(String title, String message, String[] options) {
+        return false;
+    }
+
+    @Override
+    public void inform(String message) {
+        lastMessage = message;
+    }
+
+    @Override
+    public void error(String title, String message) {
+        lastMessage = title + " " + message;
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Runs many independent farms in one process on a few shared tick threads
+ */
+
+package host;
+
+import asset.AssetLoader;
+import asset.GameArt;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import main.GamePanel;
+
+/**
+ * Hosts many farms in one JVM. Each {@link HostedSession} has its own headless
+ * {@link GamePanel}, so no game state is shared; only the art is loaded once.
+ * Every session saves to {@code <root>/<session id>/inventory.txt}, and all
+ * saves are written by one shared thread.
+ * <p>
+ * Sessions are ticked by a fixed set of {@link TickWorker} threads, each
+ * owning a share of the sessions, instead of one thread per farm (the game
+ * targets Java 17, which has no virtual threads). Admission is refused when
+ * the heap is nearly full; when the host is at capacity the least recently
+ * active session is evicted to make room. Evicting a session queues its final
+ * save and drops it at the next tick boundary. Until that save is written the
+ * session is draining, and admitting its ID again waits for it, so the new farm
+ * reads the files the old one wrote last.
+ */
+public final class SessionHost {
+    static final double MAX_HEAP_USE = 0.9; // Heap fraction above which new sessions are refused
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}"); // Safe as a folder name
+
+    private final AssetLoader assets;
+    private final GameArt art;
+    private final Path root;
+    private final int capacity;
+    private final TickWorker[] workers;
+    private final Thread[] threads;
+    private final Map<String, HostedSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, HostedSession> draining = new ConcurrentHashMap<>(); // Evicted, final save not written
+    private final ExecutorService saves;
+
+    final AtomicLong admissions = new AtomicLong();
+    final AtomicLong rejections = new AtomicLong();
+    final AtomicLong evictions = new AtomicLong(); // Counted by the workers once the session is gone
+    private long lastReport = System.nanoTime(); // When report() last ran
+    private long lastBusy = 0; // Tick thread busy time at the last report
+
+    /**
+     * Creates a host and starts its tick threads.
+     *
+     * @param root        Folder the session save folders go in
+     * @param capacity    Most sessions hosted at once
+     * @param workerCount Number of tick threads
+     */
+    public SessionHost(Path root, int capacity, int workerCount) {
+        this.root = root;
+        this.capacity = capacity;
+        assets = new AssetLoader();
+        art = GamePanel.loadArt(assets);
+
+        saves = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "session-saves");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers = new TickWorker[workerCount];
+        threads = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new TickWorker(this);
+            threads[i] = new Thread(workers[i], "session-tick-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Admits a session, loading its save if it has one. Admitting a session
+     * that is already hosted returns it. Admitting one that was evicted waits
+     * until its final save is written.
+     *
+     * @param id Session ID, letters, digits, '-' and '_' only
+     * @return The session, or null if the heap is too full to take it
+     * @throws IllegalArgumentException if the ID is not a safe folder name
+     */
+    public synchronized HostedSession admit(String id) {
+        if (!SESSION_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Bad session ID: " + id);
+        }
+        HostedSession existing = sessions.get(id);
+        if (existing != null) {
+            existing.touch();
+            return existing;
+        }
+        awaitDrained(id);
+        if (sessions.size() >= capacity) {
+            evictLeastRecent();
+        }
+        if (heapUse() > MAX_HEAP_USE) {
+            rejections.incrementAndGet();
+            return null;
+        }
+
+        Path saveFile = root.resolve(id).resolve("inventory.txt");
+        GamePanel game = new GamePanel(assets, art, saveFile);
+        game.startAutosave(saves);
+        HostedSession session = new HostedSession(id, game, saveFile);
+        sessions.put(id, session);
+
+        TickWorker least = workers[0];
+        for (TickWorker worker : workers) {
+            if (worker.size.get() < least.size.get()) {
+                least = worker;
+            }
+        }
+        least.add(session);
+        admissions.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * Evicts a session: its final save is queued and it stops ticking at the
+     * next tick boundary.
+     *
+     * @param id Session ID
+     * @return true if the session was hosted
+     */
+    public boolean evict(String id) {
+        HostedSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        draining.put(id, session);
+        session.evicted = true;
+        return true;
+    }
+
+    /**
+     * Called by a tick worker once an evicted session has queued its final
+     * save. Saves are written in order on one thread, so the session is done
+     * draining when that thread gets to the task queued here.
+     *
+     * @param session Session that stopped ticking
+     */
+    void left(HostedSession session) {
+        saves.execute(() -> drained(session));
+    }
+
+    /**
+     * Forgets a session whose final save is written, and wakes any admission
+     * waiting for it.
+     *
+     * @param session Session that finished draining
+     */
+    private synchronized void drained(HostedSession session) {
+        draining.remove(session.id, session);
+        notifyAll();
+    }
+
+    /**
+     * Waits for a session's final save to be written, if it is draining.
+     * Keeps waiting through interrupts, since reading the save before then
+     * would lose the farm's latest progress, and restores the interrupt after.
+     *
+     * @param id Session ID
+     */
+    private synchronized void awaitDrained(String id) {
+        boolean interrupted = false;
+        while (draining.containsKey(id)) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Evicts every session with no input for a while.
+     *
+     * @param idleNanos How long without input counts as idle
+     * @return Number of sessions evicted
+     */
+    public int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int count = 0;
+        for (HostedSession session : sessions.values()) {
+            if (now - session.lastActive > idleNanos && evict(session.id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evicts the session that has gone longest without input.
+     */
+    private void evictLeastRecent() {
+        HostedSession oldest = null;
+        for (HostedSession session : sessions.values()) {
+            if (oldest == null || session.lastActive - oldest.lastActive < 0) {
+                oldest = session;
+            }
+        }
+        if (oldest != null) {
+            evict(oldest.id);
+        }
+    }
+
+    /**
+     * @param id Session ID
+     * @return The session, or null if it is not hosted
+     */
+    public HostedSession get(String id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * @return Sessions hosted
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return The hosted sessions
+     */
+    public Iterable<HostedSession> sessions() {
+        return sessions.values();
+    }
+
+    /**
+     * Evicts every session, waits for the final saves to be written and stops
+     * the tick threads.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException {
+        for (String id : sessions.keySet()) {
+            evict(id);
+        }
+        for (TickWorker worker : workers) {
+            worker.awaitEmpty();
+            worker.stop();
+        }
+        saves.shutdown();
+        saves.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * One line about the host's load since the last report, for printing.
+     *
+     * @return Sessions, tick thread load and heap per session
+     */
+    public synchronized String report() {
+        long now = System.nanoTime();
+        long busy = 0, rounds = 0, late = 0;
+        for (TickWorker worker : workers) {
+            busy += worker.busyNanos;
+            rounds += worker.rounds;
+            late += worker.lateRounds;
+        }
+        long load = Math.round(100.0 * (busy - lastBusy) / Math.max(1, (now - lastReport) * workers.length));
+        lastReport = now;
+        lastBusy = busy;
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return "Sessions: " + sessions.size() + " | Tick threads busy: " + load + "% | Late rounds: " + late
+                + "/" + rounds + " | Heap: " + used / (1024 * 1024) + " MB (" + used / Math.max(1, sessions.size())
+                / 1024 + " KB/session)";
+    }
+
+    /**
+     * @param worker One of this host's workers
+     * @return The thread running it
+     */
+    Thread threadOf(TickWorker worker) {
+        for (int i = 0; i < workers.length; i++) {
+            if (workers[i] == worker) {
+                return threads[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Fraction of the maximum heap in use
+     */
+    private static double heapUse() {
+        Runtime runtime = Runtime.getRuntime();
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Thread that ticks a share of the hosted sessions at the game's tick rate
+ */
+
+package host;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import main.Bot;
+import main.GamePanel;
+
+/**
+ * One of the host's tick threads. It owns a list of sessions and ticks all of
+ * them once per tick interval, so thousands of farms share a handful of
+ * threads instead of one thread each. New sessions arrive through a queue and
+ * evicted ones leave at the next tick boundary, so the list is only touched by
+ * this thread.
+ */
+final class TickWorker implements Runnable {
+    private static final ThreadMXBean THREADS = allocationCounter();
+    static final long DRAIN_CHECK_NANOS = 10000000; // Longest wait between checks in awaitEmpty
+
+    private final SessionHost host;
+    private final ArrayList<HostedSession> sessions = new ArrayList<>();
+    private final ConcurrentLinkedQueue<HostedSession> arrivals = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    final AtomicInteger size = new AtomicInteger(); // Sessions owned, for balancing admissions
+    private volatile Thread drainWaiter; // Thread in awaitEmpty, woken when the last session leaves
+
+    // Load counters, read by the host for its report
+    volatile long rounds = 0; // Tick rounds run
+    volatile long busyNanos = 0; // Time spent ticking
+    volatile long lateRounds = 0; // Rounds that took longer than a tick
+
+    TickWorker(SessionHost host) {
+        this.host = host;
+    }
+
+    /**
+     * Hands a session to this worker. It starts ticking at the next round.
+     *
+     * @param session New session
+     */
+    void add(HostedSession session) {
+        size.incrementAndGet();
+        arrivals.add(session);
+        LockSupport.unpark(host.threadOf(this));
+    }
+
+    /**
+     * Waits until every session this worker owned has left.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitEmpty() throws InterruptedException {
+        drainWaiter = Thread.currentThread();
+        try {
+            while (size.get() > 0) {
+                LockSupport.parkNanos(this, DRAIN_CHECK_NANOS);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            drainWaiter = null;
+        }
+    }
+
+    /**
+     * Stops the worker after the current round.
+     */
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long interval = 1000000000 / GamePanel.TICK_RATE;
+        long nextRound = System.nanoTime();
+        while (running) {
+            long wait = nextRound - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            HostedSession arrived;
+            while ((arrived = arrivals.poll()) != null) {
+                sessions.add(arrived);
+            }
+            for (int i = sessions.size() - 1; i >= 0; i--) {
+                HostedSession session = sessions.get(i);
+                if (session.evicted) {
+                    // Leaves once its last save is queued, behind any earlier ones
+                    if (session.game.saveIfChanged()) {
+                        sessions.set(i, sessions.get(sessions.size() - 1));
+                        sessions.remove(sessions.size() - 1);
+                        host.evictions.incrementAndGet();
+                        // Before the count drops, shutdown stops the save thread once it reaches 0
+                        host.left(session);
+                        if (size.decrementAndGet() == 0) {
+                            Thread waiter = drainWaiter;
+                            if (waiter != null) {
+                                LockSupport.unpark(waiter);
+                            }
+                        }
+                    }
+                    continue;
+                }
+                tick(session);
+            }
+            long elapsed = System.nanoTime() - start;
+            busyNanos += elapsed;
+            rounds++;
+
+            nextRound += interval;
+            if (elapsed > interval) {
+                lateRounds++;
+            }
+            if (System.nanoTime() - nextRound > GamePanel.MAX_CATCH_UP) {
+                nextRound = System.nanoTime(); // Overloaded, don't replay the missed rounds
+            }
+        }
+    }
+
+    /**
+     * Ticks one session and charges it for the time and memory used.
+     *
+     * @param session Session to tick
+     */
+    private void tick(HostedSession session) {
+        long allocated = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        if (session.wantsDriver && session.driver == null) {
+            session.driver = new Bot(session.game);
+        }
+        if (session.driver != null) {
+            session.driver.act();
+            session.lastActive = start;
+        }
+        session.game.tick();
+        session.cpuNanos += System.nanoTime() - start;
+        if (THREADS != null) {
+            session.allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocated;
+        }
+        session.ticks++;
+    }
+
+    /**
+     * @return The JVM's per-thread allocation counter, or null if unavailable
+     */
+    private static ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean) {
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+}
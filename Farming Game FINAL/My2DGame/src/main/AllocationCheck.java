@@ -0,0 +1,155 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Headless check that fails when the update or render path allocates in steady state
+ */
+
+package main;
+
+import event.EventBus;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Runs the game headless through a few scripted scenes (walking, inventory
+ * open, dialogue open), lets the JIT warm up on all of them, then counts the bytes allocated by
+ * {@link GamePanel#update()} and {@link GamePanel#paintComponent}. Then floods
+ * the event bus with thousands of events a tick and counts what publishing and
+ * dispatching them allocates. Exits with status 1 if anything allocates, so it
+ * can be run as a build step.
+ * Run from the folder holding inventory.txt.
+ */
+public final class AllocationCheck {
+    static final int WARMUP_ROUNDS = 4; // Times every scene is run before measuring
+    static final int WARMUP_FRAMES = 1000; // Frames per scene per warm-up round
+    static final int SETTLE_FRAMES = 300; // Frames run after switching to a scene, before measuring it
+    static final int MEASURED_FRAMES = 600; // Frames measured per scene
+    static final int EVENTS_PER_TICK = 5000; // Events published per tick in the event bus flood
+
+    /**
+     * Entry point of the check
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (!AllocationProbe.isSupported()) {
+            System.out.println("Allocation counting is not supported on this JVM, skipping check");
+            return;
+        }
+
+        GamePanel gp = new GamePanel();
+        BufferedImage frame = new BufferedImage(gp.VIEW_WIDTH, gp.VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        boolean failed = false;
+        String[] scenes = { "walking", "inventory", "dialogue" };
+        // Once-a-frame methods only reach C2 after about 5000 calls. Cycling the
+        // scenes until then means they are compiled with every scene's paths
+        // seen, instead of being recompiled partway through a measurement
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int scene = 0; scene < scenes.length; scene++) {
+                setScene(gp, scene);
+                runFrames(gp, frame, WARMUP_FRAMES);
+            }
+        }
+        for (int scene = 0; scene < scenes.length; scene++) {
+            setScene(gp, scene);
+            runFrames(gp, frame, SETTLE_FRAMES);
+            gp.updateProbe.drainBytes();
+            gp.paintProbe.drainBytes();
+
+            runFrames(gp, frame, MEASURED_FRAMES);
+            long updateBytes = gp.updateProbe.drainBytes();
+            long paintBytes = gp.paintProbe.drainBytes();
+            System.out.println(scenes[scene] + ": update " + updateBytes + " B, render " + paintBytes + " B over "
+                    + MEASURED_FRAMES + " frames");
+            if (updateBytes > 0 || paintBytes > 0) {
+                failed = true;
+            }
+        }
+
+        // Event bus flood, more events a tick than the ring holds
+        runEvents(gp, WARMUP_ROUNDS * WARMUP_FRAMES);
+        gp.updateProbe.drainBytes();
+        long start = System.nanoTime();
+        gp.updateProbe.begin();
+        runEvents(gp, MEASURED_FRAMES);
+        gp.updateProbe.end();
+        long eventNanos = System.nanoTime() - start;
+        long eventBytes = gp.updateProbe.drainBytes();
+        System.out.println("events: " + eventBytes + " B over " + MEASURED_FRAMES + " ticks of " + EVENTS_PER_TICK
+                + " events, " + eventNanos / ((long) MEASURED_FRAMES * EVENTS_PER_TICK) + " ns per event, "
+                + gp.events.earlyFlushes() + " early flushes, " + gp.events.dropped() + " dropped");
+        if (eventBytes > 0) {
+            failed = true;
+        }
+
+        if (failed) {
+            System.out.println("FAILED: the frame path allocates");
+            System.exit(1);
+        }
+        System.out.println("OK: no steady-state allocation");
+        System.exit(0);
+    }
+
+    /**
+     * Puts the game into one of the scripted scenes
+     *
+     * @param gp    Game to set up
+     * @param scene Index of the scene
+     */
+    private static void setScene(GamePanel gp, int scene) {
+        gp.gameState = gp.PLAY_STATE;
+        gp.showInventory = false;
+        gp.showDialog = false;
+        if (scene == 1) {
+            gp.gameState = gp.INVENTORY_STATE;
+        } else if (scene == 2) {
+            gp.gameState = gp.DIALOGUE_STATE;
+            gp.setCurrentDialogue("Hello! I'm a merchant.");
+        }
+    }
+
+    /**
+     * Publishes a mix of events and dispatches them, once per simulated tick
+     *
+     * @param gp    Game whose event bus is flooded
+     * @param ticks Number of ticks
+     */
+    private static void runEvents(GamePanel gp, int ticks) {
+        EventBus events = gp.events;
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < EVENTS_PER_TICK; i += 4) {
+                events.harvested(i % 3, 20);
+                events.planted(i % 3);
+                events.tradeCompleted(EventBus.FARMER, i % 5, 50);
+                events.stateChanged(gp.PLAY_STATE, gp.INVENTORY_STATE);
+            }
+            events.dispatch();
+        }
+        gp.eventStats.drain();
+    }
+
+    /**
+     * Ticks and renders a number of frames. In the walking scene the player
+     * paces left and right so the movement code runs.
+     *
+     * @param gp     Game to run
+     * @param frame  Image to render into
+     * @param frames Number of frames
+     */
+    private static void runFrames(GamePanel gp, BufferedImage frame, int frames) {
+        for (int i = 0; i < frames; i++) {
+            boolean right = (i / 60) % 2 == 0;
+            gp.keyH.rightPressed = gp.gameState == gp.PLAY_STATE && right;
+            gp.keyH.leftPressed = gp.gameState == gp.PLAY_STATE && !right;
+
+            gp.updateProbe.begin();
+            gp.update();
+            gp.updateProbe.end();
+
+            Graphics2D g2 = frame.createGraphics();
+            gp.paintComponent(g2);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Measures how many bytes a section of code allocates on the current thread
+ */
+
+package main;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the JVM's per-thread allocation counter. Call {@link #begin()} and
+ * {@link #end()} around a section (on the same thread) and the bytes allocated
+ * in between are added up until {@link #drainBytes()} is called. The probe
+ * itself allocates nothing, so it can stay on in the frame loop.
+ */
+final class AllocationProbe {
+    private static final com.sun.management.ThreadMXBean THREADS = findThreadBean();
+
+    private final AtomicLong bytes = new AtomicLong(); // Bytes allocated since the last drain
+    private final AtomicLong samples = new AtomicLong(); // Sections measured since the last drain
+    private long start; // Counter value when the current section began
+
+    /**
+     * Looks up the HotSpot thread bean and switches on allocation tracking.
+     *
+     * @return the bean, or null if this JVM cannot count allocations
+     */
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if allocation counting works on this JVM
+     */
+    static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Marks the start of a measured section.
+     */
+    void begin() {
+        if (THREADS != null) {
+            start = THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Marks the end of a measured section and adds its allocations to the total.
+     */
+    void end() {
+        if (THREADS != null) {
+            bytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - start);
+            samples.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of sections measured since the last drain
+     */
+    long samples() {
+        return samples.get();
+    }
+
+    /**
+     * Returns the total bytes allocated since the last drain and resets the
+     * counters.
+     *
+     * @return bytes allocated by all measured sections
+     */
+    long drainBytes() {
+        samples.set(0);
+        return bytes.getAndSet(0);
+    }
+}
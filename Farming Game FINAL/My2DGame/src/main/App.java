@@ -6,7 +6,12 @@
 
 package main;
 
+import asset.AssetLoader;
+import java.awt.Color;
+import java.awt.Dimension;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
 
 /**
  * Main class which initializes the game window and starts the gameloop
@@ -23,14 +28,30 @@ public class App {
         window.setResizable(false);
         window.setTitle("FARM FRENZY");
 
-        // Adds the GamePanel to the window
-        GamePanel gamePanel = new GamePanel();
-        window.add(gamePanel);
+        // Start decoding every asset in the background right away
+        AssetLoader assets = new AssetLoader();
+        assets.preloadStartupAssets();
+
+        // Shows a plain loading screen (same size as the game) while assets decode
+        JLabel splash = new JLabel("Loading...", SwingConstants.CENTER);
+        splash.setPreferredSize(new Dimension(768, 576));
+        splash.setOpaque(true);
+        splash.setBackground(Color.black);
+        splash.setForeground(Color.white);
+        window.add(splash);
         window.pack();
 
         window.setLocationRelativeTo(null);
         window.setVisible(true);
 
+        // Adds the GamePanel to the window, its entities wait on their sprites here
+        GamePanel gamePanel = new GamePanel(assets);
+        assets.printReport();
+        window.remove(splash);
+        window.add(gamePanel);
+        window.pack();
+        gamePanel.requestFocusInWindow();
+
         gamePanel.startGameThread();
     }
 }
\ No newline at end of file
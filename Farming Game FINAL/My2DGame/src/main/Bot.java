@@ -0,0 +1,226 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Plays the farming loop on its own by pressing keys and answering the game's questions
+ */
+
+package main;
+
+import market.Market;
+
+/**
+ * A scripted player. Every tick it presses movement keys to walk to the
+ * merchant, the crop plot or the farmer, presses interact when it gets there
+ * and clicks through dialogue, exactly like a person would through
+ * {@link KeyHandler} and {@link MouseHandler}. It also replaces the game's
+ * {@link Prompter}, so the trade and planting questions are answered by the
+ * bot instead of option panes.
+ * <p>
+ * The plan is the usual one: buy seeds, plant, harvest, sell to the farmer,
+ * and once there is enough gold buy the SILVER TROPHY. After the trophy the
+ * inventory goes back to the starting items and it plays again.
+ */
+public final class Bot implements Prompter {
+    static final int[] START_ITEMS = { GamePanel.STARTING_GOLD, 0, 0, 0, 0, 0, 0 }; // Inventory of a new game
+    static final int TROPHY_PRICE = GamePanel.TROPHY_PRICE;
+
+    // Places the bot walks to
+    static final int MERCHANT = 0, FARMER = 1, PLOT = 2;
+
+    private final GamePanel gp;
+    private final int[][] spots; // Standing spot within reach of each place, by place
+    private boolean buyingTrophy = false; // The last trade picked was the trophy
+
+    long trades = 0; // Trades completed
+    long trophies = 0; // Times the game was finished
+    long errors = 0; // Denied trades and early harvests, should stay 0
+
+    /**
+     * Creates a bot for the given game and starts it from a new inventory.
+     *
+     * @param gp Game the bot plays
+     */
+    public Bot(GamePanel gp) {
+        this.gp = gp;
+        gp.prompter = this;
+        int tile = gp.TILE_SIZE;
+        spots = new int[][] {
+                { tile, tile * 2 }, // Below the merchant
+                { tile * 11, tile * 3 }, // Below the farmer
+                { tile * 7, tile * 7 } // Right of the crop field
+        };
+        resetInventory();
+    }
+
+    /**
+     * Sets the keys and mouse for the coming tick. Call before every
+     * {@link GamePanel#tick()}.
+     */
+    public void act() {
+        KeyHandler keys = gp.keyH;
+        keys.upPressed = false;
+        keys.downPressed = false;
+        keys.leftPressed = false;
+        keys.rightPressed = false;
+        keys.interact = false;
+
+        if (gp.gameState == gp.DIALOGUE_STATE) {
+            // Click through the lines until the trade menu opens
+            gp.mouseH.pressed = gp.clickCount < 3;
+            return;
+        }
+        if (gp.gameState != gp.PLAY_STATE) {
+            return;
+        }
+
+        int place = nextPlace();
+        if (arrived(place)) {
+            keys.interact = place != PLOT || wantsPlot();
+        } else {
+            walkTo(spots[place]);
+        }
+    }
+
+    /**
+     * Picks where to go next from the inventory and the crop plot.
+     *
+     * @return {@link #MERCHANT}, {@link #FARMER} or {@link #PLOT}
+     */
+    private int nextPlace() {
+        int[] items = gp.itemCount;
+        if (items[0] >= TROPHY_PRICE || sellOffer() >= 0) {
+            return FARMER;
+        }
+        boolean hasSeeds = items[4] > 0 || items[5] > 0 || items[6] > 0;
+        if (!hasSeeds && items[0] >= gp.market.price(Market.WHEAT_SEED)) {
+            return MERCHANT;
+        }
+        if (!hasSeeds && !gp.cropPlot.isPlanted) {
+            // Out of seeds and gold, start over
+            resetInventory();
+        }
+        return PLOT;
+    }
+
+    /**
+     * @return true if there is something to do at the crop plot right now
+     */
+    private boolean wantsPlot() {
+        int[] items = gp.itemCount;
+        if (gp.cropPlot.isPlanted) {
+            return gp.cropPlot.fullyGrown;
+        }
+        return items[4] > 0 || items[5] > 0 || items[6] > 0;
+    }
+
+    /**
+     * @param place Place to check
+     * @return true if the player is inside that place's interaction area
+     */
+    private boolean arrived(int place) {
+        switch (place) {
+            case MERCHANT:
+                return gp.player.getNextToMerchant();
+            case FARMER:
+                return gp.player.getNextToFarmer();
+            default:
+                return gp.player.getNextToCropPlot();
+        }
+    }
+
+    /**
+     * Presses the movement keys that bring the player closer to a spot.
+     *
+     * @param spot X and Y to walk to
+     */
+    private void walkTo(int[] spot) {
+        KeyHandler keys = gp.keyH;
+        int dx = spot[0] - gp.player.getX();
+        int dy = spot[1] - gp.player.getY();
+        keys.leftPressed = dx < 0;
+        keys.rightPressed = dx > 0;
+        keys.upPressed = dy < 0;
+        keys.downPressed = dy > 0;
+    }
+
+    /**
+     * @return Index in the farmer's menu of a crop the bot can sell, or -1
+     */
+    private int sellOffer() {
+        int[] items = gp.itemCount;
+        if (items[1] >= Market.LOTS[Market.WHEAT]) {
+            return 0;
+        }
+        if (items[2] >= Market.LOTS[Market.CARROTS]) {
+            return 1;
+        }
+        if (items[3] >= Market.LOTS[Market.POTATOES]) {
+            return 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Puts the inventory back to what a new game starts with.
+     */
+    private void resetInventory() {
+        for (int i = 0; i < START_ITEMS.length; i++) {
+            gp.addItems(i, START_ITEMS[i] - gp.itemCount[i]);
+        }
+    }
+
+    /**
+     * @return Trades completed
+     */
+    public long trades() {
+        return trades;
+    }
+
+    @Override
+    public String choose(String title, String message, String[] choices) {
+        int[] items = gp.itemCount;
+        buyingTrophy = false;
+        if (choices == gp.plantableCrops) {
+            // Carrots pay best, then potatoes
+            if (items[5] > 0) {
+                return choices[1];
+            }
+            return items[6] > 0 ? choices[2] : choices[0];
+        }
+        if (choices == gp.merchantItemsForSale) {
+            return items[0] >= gp.market.price(Market.CARROT_SEED) ? choices[1] : choices[0];
+        }
+        if (choices == gp.farmerItemsForSale) {
+            if (items[0] >= TROPHY_PRICE) {
+                buyingTrophy = true;
+                return choices[choices.length - 1];
+            }
+            int offer = sellOffer();
+            return offer >= 0 ? choices[offer] : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean confirm(String title, String message, String[] options) {
+        return true;
+    }
+
+    @Override
+    public void inform(String message) {
+        if (!message.startsWith("You obtained") && !message.startsWith("CONGRATS")) {
+            return;
+        }
+        trades++;
+        if (buyingTrophy) {
+            buyingTrophy = false;
+            trophies++;
+            resetInventory();
+        }
+    }
+
+    @Override
+    public void error(String title, String message) {
+        errors++;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Asks the player questions with Swing option panes
+ */
+
+package main;
+
+import java.awt.Component;
+import java.awt.GraphicsEnvironment;
+import javax.swing.JOptionPane;
+
+/**
+ * The {@link Prompter} used when a person is playing. Each call shows a modal
+ * option pane and waits for the answer. Without a screen, as when a headless
+ * runner ticks a game without a prompter of its own, messages are printed
+ * instead, questions are answered no, and nothing is chosen.
+ */
+final class DialogPrompter implements Prompter {
+    private final Component parent; // Component errors are centred on
+    private final boolean headless = GraphicsEnvironment.isHeadless(); // No option panes can be shown
+
+    /**
+     * Creates the prompter.
+     *
+     * @param parent Component error messages are shown over
+     */
+    DialogPrompter(Component parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public String choose(String title, String message, String[] choices) {
+        if (headless) {
+            return null;
+        }
+        return (String) JOptionPane.showInputDialog(
+                null,
+                message,
+                title,
+                JOptionPane.PLAIN_MESSAGE,
+                null,
+                choices,
+                choices[0]);
+    }
+
+    @Override
+    public boolean confirm(String title, String message, String[] options) {
+        if (headless) {
+            return false;
+        }
+        int answer = JOptionPane.showOptionDialog(
+                null,
+                message,
+                title,
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options == null ? null : options[0]);
+        return answer == JOptionPane.YES_OPTION;
+    }
+
+    @Override
+    public void inform(String message) {
+        if (headless) {
+            System.out.println(message);
+            return;
+        }
+        JOptionPane.showMessageDialog(null, message);
+    }
+
+    @Override
+    public void error(String title, String message) {
+        if (headless) {
+            System.out.println(title + ": " + message);
+            return;
+        }
+        JOptionPane.showMessageDialog(parent, message, title, JOptionPane.ERROR_MESSAGE);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Runs the game headless at unlimited speed to check timing and balance quickly
+ */
+
+package main;
+
+/**
+ * Runs the simulation headless with ticks back to back and no rendering, so a
+ * long stretch of game time takes seconds. The crop plot is kept planted with
+ * wheat and harvested whenever it is ready, to show growth following the game
+ * clock. Saves are requested on the normal schedule but not written, so the
+ * real save file is left alone.
+ * Run from the folder holding inventory.txt.
+ */
+public final class FastForward {
+    static final int DEFAULT_MINUTES = 60; // Game time simulated when no argument is given
+
+    /**
+     * Entry point of the run
+     *
+     * @param args optional number of game minutes to simulate
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int minutes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MINUTES;
+
+        GamePanel gp = new GamePanel();
+        gp.timeScale = 0;
+        long target = minutes * 60000L;
+        int wheatBefore = gp.itemCount[1];
+
+        long start = System.nanoTime();
+        while (gp.clock.millis() < target) {
+            if (!gp.cropPlot.isPlanted) {
+                gp.cropPlot.plant("Wheat");
+            }
+            gp.cropPlot.harvest();
+            gp.tick();
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        double wallSeconds = wallNanos / 1e9;
+        System.out.println("Simulated " + minutes + " game minutes in " + String.format("%.2f", wallSeconds) + " s");
+        System.out.println("Ticks: " + gp.tickCount + " (" + Math.round(gp.tickCount / wallSeconds) + " ticks/s, x"
+                + Math.round(target / 1000.0 / wallSeconds) + " real time)");
+        System.out.println("Wheat harvested: " + (gp.itemCount[1] - wheatBefore));
+        System.out.println("Autosaves scheduled: " + (gp.clock.millis() / GamePanel.AUTOSAVE_MILLIS));
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Slows the game loop down when nothing on screen can change, and speeds it back up on input
+ */
+
+package main;
+
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides how often the game loop ticks and repaints.
+ * <ul>
+ * <li>ACTIVE: playing with the window focused, 60 ticks a second and frames
+ * at the render cap.</li>
+ * <li>IDLE: paused, in the inventory or reading dialogue. Game time is stopped,
+ * so the loop only polls a few times a second and repaints only when
+ * something it draws has changed.</li>
+ * <li>BACKGROUND: the window lost focus while playing. The game keeps its full
+ * tick rate so game time stays correct, but only repaints a few times a
+ * second.</li>
+ * </ul>
+ * Any key or mouse input wakes an idle or background loop straight away.
+ * While active, input leaves the tick schedule alone.
+ */
+final class FrameGovernor implements FocusListener {
+    static final int ACTIVE = 0;
+    static final int IDLE = 1;
+    static final int BACKGROUND = 2;
+    static final String[] MODE_NAMES = { "active", "idle", "background" };
+
+    static final int IDLE_TICKS_PER_SECOND = 10; // Input polling rate while idle
+    static final int BACKGROUND_FPS = 10; // Repaint rate while unfocused
+
+    private final GamePanel gp;
+    private volatile boolean focused = true; // Does the panel have keyboard focus
+    private volatile boolean woken = false; // Set by input, cleared by the loop
+    private int mode = ACTIVE;
+    private long lastSceneStamp = -1; // Scene stamp of the last repaint
+
+    /**
+     * Creates a governor for the given panel.
+     *
+     * @param gp The game panel being run
+     */
+    FrameGovernor(GamePanel gp) {
+        this.gp = gp;
+    }
+
+    /**
+     * Picks the mode for the current game state. Called once per tick.
+     *
+     * @return The new mode
+     */
+    int update() {
+        int state = gp.gameState;
+        if (state == gp.PAUSE_STATE || state == gp.INVENTORY_STATE || state == gp.DIALOGUE_STATE
+                || state == gp.MENU_STATE) {
+            mode = IDLE;
+        } else if (!focused) {
+            mode = BACKGROUND;
+        } else {
+            mode = ACTIVE;
+        }
+        return mode;
+    }
+
+    /**
+     * @return The current mode
+     */
+    int mode() {
+        return mode;
+    }
+
+    /**
+     * Time until the next tick in the current mode.
+     *
+     * @param activeInterval Tick interval at full speed, in nanoseconds
+     * @return Tick interval in nanoseconds
+     */
+    long tickInterval(long activeInterval) {
+        return mode == IDLE ? 1000000000L / IDLE_TICKS_PER_SECOND : activeInterval;
+    }
+
+    /**
+     * Time between frames in the current mode.
+     *
+     * @param activeInterval Frame interval at full speed in nanoseconds, 0 for
+     *                       uncapped
+     * @return Frame interval in nanoseconds
+     */
+    long frameInterval(long activeInterval) {
+        return mode == BACKGROUND ? Math.max(activeInterval, 1000000000L / BACKGROUND_FPS) : activeInterval;
+    }
+
+    /**
+     * Decides if a frame that is due should be drawn.
+     *
+     * @param sceneStamp Value that changes whenever anything drawn changes
+     * @return true if the screen should be repainted
+     */
+    boolean shouldRender(long sceneStamp) {
+        if (mode == IDLE && sceneStamp == lastSceneStamp) {
+            return false;
+        }
+        lastSceneStamp = sceneStamp;
+        return true;
+    }
+
+    /**
+     * Sleeps the game thread until the deadline or until input arrives.
+     *
+     * @param deadline System.nanoTime() value to sleep until
+     */
+    void sleepUntil(long deadline) {
+        long wait = deadline - System.nanoTime();
+        if (wait > 0 && !woken) {
+            LockSupport.parkNanos(this, wait);
+        }
+    }
+
+    /**
+     * Checks and clears the wake flag.
+     *
+     * @return true if input arrived since the last call
+     */
+    boolean takeWake() {
+        if (woken) {
+            woken = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wakes the game loop so it reacts to input right away. Called from the
+     * input handlers on the event thread.
+     */
+    void wake() {
+        woken = true;
+        Thread thread = gp.gameThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * The panel got keyboard focus, go back to the full frame rate.
+     *
+     * @param e Focus event
+     */
+    @Override
+    public void focusGained(FocusEvent e) {
+        focused = true;
+        wake();
+    }
+
+    /**
+     * The panel lost keyboard focus, drop the frame rate.
+     *
+     * @param e Focus event
+     */
+    @Override
+    public void focusLost(FocusEvent e) {
+        focused = false;
+    }
+}
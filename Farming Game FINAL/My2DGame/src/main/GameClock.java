@@ -0,0 +1,69 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: The game's own clock. It moves forward once per tick instead of reading the system time
+ */
+
+package main;
+
+/**
+ * Game time, advanced by the game loop once per simulated tick. Anything timed
+ * in the game (crop growth, animations, autosaves) reads this instead of
+ * System.nanoTime(), so it stops while the game is paused. Fast-forward runs
+ * more ticks per real second, so every timer speeds up together.
+ */
+public final class GameClock {
+    private final long tickNanos; // Length of one tick at normal speed
+    private long nanos = 0; // Game time in nanoseconds
+    private long ticks = 0; // Ticks advanced
+
+    /**
+     * Creates a clock starting at zero.
+     *
+     * @param ticksPerSecond Simulation rate the clock is advanced at
+     */
+    public GameClock(int ticksPerSecond) {
+        tickNanos = 1000000000L / ticksPerSecond;
+    }
+
+    /**
+     * Moves the clock forward by one tick.
+     */
+    public void advance() {
+        nanos += tickNanos;
+        ticks++;
+    }
+
+    /**
+     * Sets the clock to a time it read before, such as when a saved game is
+     * loaded.
+     *
+     * @param nanos game time in nanoseconds
+     * @param ticks ticks advanced by then
+     */
+    public void restore(long nanos, long ticks) {
+        this.nanos = nanos;
+        this.ticks = ticks;
+    }
+
+    /**
+     * @return game time in nanoseconds
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * @return game time in milliseconds
+     */
+    public long millis() {
+        return nanos / 1000000;
+    }
+
+    /**
+     * @return number of ticks the clock has advanced
+     */
+    public long ticks() {
+        return ticks;
+    }
+}
@@ -7,27 +7,49 @@
 package main;
 
 // Importing all necessary entity, graphics and swing classes 
+import asset.AssetLoader;
+import asset.AssetWatcher;
+import asset.GameArt;
+import asset.SpriteRegistry;
+import entity.AnimationSystem;
 import entity.CropPlot;
+import entity.FarmHand;
 import entity.Farmer;
 import entity.Merchant;
 import entity.Player;
+import event.EventBus;
+import event.EventStats;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.DisplayMode;
 import java.awt.Font;
-import java.awt.FontFormatException;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
-import javax.imageio.ImageIO;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import market.Market;
+import particle.ParticleEmitters;
+import particle.ParticleSystem;
+import path.PathService;
+import physics.CollisionWorld;
+import quest.ProgressTracker;
+import render.PixelBuffer;
+import render.RasterBlitter;
+import render.RasterSprite;
+import trace.Trace;
 
 /**
  * The GamePanel class manages the game's main logic, graphics rendering, and
@@ -38,31 +60,93 @@ import javax.swing.JPanel;
 public final class GamePanel extends JPanel implements Runnable {
 
     // SCREEN SETTINGS
-    final int ORIGINAL_TILE_SIZE = 16; // 16x16 tile
-    final int SCALE = 3; // Tiling scale
+    public static final int ORIGINAL_TILE_SIZE = 16; // 16x16 tile
+    public static final int SCALE = 3; // Tiling scale
     public final int TILE_SIZE = ORIGINAL_TILE_SIZE * SCALE; // 48x48 tile (to scale)
-    final int MAX_SCREEN_COL = 16; // Screen width (in tiles)
-    final int MAX_SCREEN_ROW = 12; // Screen height (int tiles)
+    static final int MAX_SCREEN_COL = 16; // Screen width (in tiles)
+    static final int MAX_SCREEN_ROW = 12; // Screen height (int tiles)
     public final int SCREEN_WIDTH = TILE_SIZE * MAX_SCREEN_COL; // 768 pixels
     public final int SCREEN_HEIGHT = TILE_SIZE * MAX_SCREEN_ROW; // 576 pixels
+    static final int NATIVE_WIDTH = ORIGINAL_TILE_SIZE * MAX_SCREEN_COL; // 256 art pixels
+    static final int NATIVE_HEIGHT = ORIGINAL_TILE_SIZE * MAX_SCREEN_ROW; // 192 art pixels
+    public final int pixelScale = Math.max(0, Integer.getInteger("game.pixelScale", 0)); // Low resolution renderer scale, 0 when off
+    public final int VIEW_WIDTH = pixelScale > 0 ? NATIVE_WIDTH * pixelScale : SCREEN_WIDTH; // Window width
+    public final int VIEW_HEIGHT = pixelScale > 0 ? NATIVE_HEIGHT * pixelScale : SCREEN_HEIGHT; // Window height
 
     // FPS
-    final int FPS = 60;
+    public static final int TICK_RATE = 60; // Simulation ticks per second at normal speed
+    final int FPS = TICK_RATE;
+    static final int[] FAST_FORWARD = { 1, 10, 100 }; // Speeds the F key cycles through
+    volatile int timeScale = Math.max(0, Integer.getInteger("game.speed", 1)); // Ticks per normal tick, 0 for unlimited
+    final int maxFps = renderCap(); // Frames per second drawn, 0 for uncapped
+    public static final long MAX_CATCH_UP = 250000000; // Most time (ns) the loop will catch up on after a stall
+
+    // Render timing, shared between the game thread and the paint thread
+    volatile long lastTickTime; // When the latest tick was due (System.nanoTime())
+    volatile long tickLength = 1000000000 / FPS; // Current time between ticks (ns)
+    volatile int framesPainted; // Frames finished by paintComponent
+    public float renderAlpha; // How far the frame being drawn is between the last two ticks (0 to 1)
 
     // Import custom font
     Font MaruMonica;
+    Font dialogueFont; // 24pt version of the custom font, derived once
+
+    // Subwindow paint, created once instead of every frame
+    static final Color SUBWINDOW_FILL = new Color(0, 0, 0, 220);
+    static final Color SUBWINDOW_BORDER = new Color(255, 255, 255);
+    static final BasicStroke SUBWINDOW_STROKE = new BasicStroke(3);
 
     // Create the background image class
     public BufferedImage bg;
+    BufferedImage nativeBg; // Background at the art's own resolution
+
+    // Decodes every image and the font in parallel, entities wait on it for their sprites
+    public final AssetLoader assets;
+    boolean firstFrameDrawn = false;
+
+    // Every sprite by ID, scaled to its on-screen size. Shared with other games in the process
+    public final SpriteRegistry sprites;
+    final SpriteRegistry nativeSprites; // The same at the art's own size, for the low resolution renderer
+    AssetWatcher assetWatcher; // Hot reload of the art in development mode, null otherwise
+    long artVersion = 0; // Bumped whenever reloaded art is swapped in
+
+    // Where this game is saved
+    static final String SAVE_FILE = "inventory.txt";
+    static final String WORLD_FILE = "world.sav"; // Kept beside the inventory file
+    final Path saveFile;
+    final WorldFile worldFile; // Clock, player, crop plot and farm hands
+
+    // Game time, advanced once per tick while the game is being played
+    public final GameClock clock = new GameClock(FPS);
+    public final AnimationSystem animations = new AnimationSystem();
+
+    // Frame is drawn into this buffer with one long-lived Graphics2D, then copied to the screen
+    BufferedImage frameBuffer;
+    Graphics2D frameGraphics;
+    PixelBuffer lowRes; // Scene drawn at 256x192 when -Dgame.pixelScale is set, null otherwise
+
+    // Software renderer, used instead of Java2D when started with -Dgame.renderer=raster
+    final boolean rasterRenderer = "raster".equalsIgnoreCase(System.getProperty("game.renderer", "java2d"));
+    RasterBlitter sceneBlitter; // Draws into the buffer the scene goes into
+    RasterBlitter frameBlitter; // Draws into the full size frame, for subwindows
+    RasterSprite bgRaster; // Background cut for the software renderer
+    BufferedImage bgRasterOf; // Background image bgRaster was cut from
 
     // Import all local classes
-    MouseHandler mouseH = new MouseHandler();
+    MouseHandler mouseH = new MouseHandler(this);
     KeyHandler keyH = new KeyHandler(this);
+    FrameGovernor governor = new FrameGovernor(this);
+    public Prompter prompter = new DialogPrompter(this); // Answers the game's questions, replaced when headless
     Thread gameThread;
-    Player player = new Player(this, keyH);
-    Merchant merchant = new Merchant(this);
-    Farmer farmer = new Farmer(this);
-    CropPlot cropPlot = new CropPlot(this);
+    public final CollisionWorld collision = new CollisionWorld(MAX_SCREEN_COL, MAX_SCREEN_ROW,
+            ORIGINAL_TILE_SIZE * SCALE, ORIGINAL_TILE_SIZE * SCALE * 2);
+    public final PathService paths = new PathService(collision); // Shared flow fields for walking NPCs
+    public Player player;
+    public Merchant merchant;
+    public Farmer farmer;
+    public final FarmHand[] farmHands; // NPC workers walking the farm
+    static final int MAX_FARM_HANDS = 8;
+    public CropPlot cropPlot;
 
     // GAME STATES
     public int gameState;
@@ -73,69 +157,178 @@ public final class GamePanel extends JPanel implements Runnable {
     public final int INVENTORY_STATE = 5;
     public final int MENU_STATE = 6;
 
-    // Trading
-    String[] merchantItemsForSale = { "Wheat Seed - 10 Gold", "Carrot seed - 40 Gold", "Potato seed - 100 Gold" };
-    String[] farmerItemsForSale = { "20 Gold - 20 Wheat", "50 Gold - 10 Carrots", "150 Gold - 20 Potatoes",
+    // Trading, at prices set by the market. The menus are rewritten with the latest prices when they open
+    static final long MARKET_SEED = 20261018;
+    public static final int STARTING_GOLD = 20; // Gold in a new game
+    public static final int NUTRIENTS_PRICE = 50;
+    public static final int TROPHY_PRICE = 1000; // Gold to finish the game
+    static final String GAME_COMPLETE = "You've Successfully Completed the Game! Congrats!"; // Trophy receipt
+    static final String[] SEEDS_FOR_SALE = { "Wheat Seed", "Carrot seed", "Potato seed" };
+    static final String[] CROPS_FOR_SALE = { "Wheat", "Carrots", "Potatoes" };
+    public final Market market = new Market(
+            Math.max(0, Integer.getInteger("game.marketTraders", Market.DEFAULT_TRADERS)), MARKET_SEED);
+    public final String[] merchantItemsForSale = { "Wheat Seed - 10 Gold", "Carrot seed - 40 Gold", "Potato seed - 100 Gold" };
+    public final String[] farmerItemsForSale = { "20 Gold - 20 Wheat", "50 Gold - 10 Carrots", "150 Gold - 20 Potatoes",
             "Soil Nutrients - 50 Gold", "SILVER TROPHY - 1000 GOLD" };
     String[] options = { "Buy", "Cancel" };
 
     // Inventory (saveable)
     String[] inventory = { "Gold", "Wheat", "Carrots", "Potatos", "Wheat Seeds", "Carrot Seeds", "Potato Seeds" };
-    public int[] itemCount = { 20, 0, 0, 0, 0, 0, 0 };
+    public int[] itemCount = { STARTING_GOLD, 0, 0, 0, 0, 0, 0 };
+
+    // Background saving (created after itemCount so it can size its buffers)
+    SaveWorker saveWorker = new SaveWorker(this);
 
     // Crop planting
-    String[] plantableCrops = { "Wheat", "Carrot", "Potato" };
+    public final String[] plantableCrops = { "Wheat", "Carrot", "Potato" };
+
+    // Version stamps, bumped whenever the data behind a UI panel changes
+    long inventoryVersion = 0;
+    long dialogueVersion = 0;
+
+    // Pre-rendered UI panels, redrawn only when their version changes
+    final PanelCache inventoryPanel = new PanelCache(TILE_SIZE * 6, TILE_SIZE * 10, viewScale());
+    final PanelCache dialoguePanel = new PanelCache(SCREEN_WIDTH - (TILE_SIZE * 4), TILE_SIZE * 5, viewScale());
+
+    // Allocation counters for the update and render paths
+    final AllocationProbe updateProbe = new AllocationProbe();
+    final AllocationProbe paintProbe = new AllocationProbe();
+    PaintTimer paintTimer; // Time per drawing phase, set by the render benchmark, null otherwise
 
     // Hide / Show Subwindow controllers
     boolean showInventory = false;
     boolean showDialog = false;
 
-    // Dialog base
+    // Dialog base (change it through setCurrentDialogue so the dialogue box redraws)
     public String currentDialogue = "";
 
     // Dialog cycle tracker
     int clickCount = 0;
 
+    // Number of ticks completed, used to stamp save snapshots
+    long tickCount = 0;
+
+    // Game events, published during a tick and dispatched at its end
+    public final EventBus events = new EventBus();
+    final EventStats eventStats = new EventStats(); // Counts events for the FPS printout
+    public final ProgressTracker progress = new ProgressTracker(); // Achievements and quests, kept from the events
+    final ParticleEmitters particleEmitters; // Starts particle effects from the events
+
+    // Particle effects. The pool is made along with the frame buffer, so games that are never drawn go without
+    static final int PARTICLE_SEED = 20261018;
+    final int particleCapacity = Math.max(0, Integer.getInteger("game.particles", ParticleSystem.DEFAULT_CAPACITY));
+    volatile ParticleSystem particles; // null until the first frame, or with -Dgame.particles=0
+    int[] scenePixels; // Pixels of the buffer the scene is drawn into
+    int lastState; // gameState at the end of the previous tick
+
+    // Autosave schedule, in game time so it follows pausing and fast-forward
+    static final long AUTOSAVE_MILLIS = 1000;
+    long nextAutosave = AUTOSAVE_MILLIS;
+    long savedVersion = 0; // inventoryVersion of the last snapshot taken, nothing to save while it matches
+    int savesSkipped = 0; // Autosaves dropped because the last one was still writing
+
+    /**
+     * Constructor for GamePanel with its own asset loader.
+     */
+    public GamePanel() {
+        this(new AssetLoader());
+    }
+
+    /**
+     * Constructor for GamePanel that loads its own art and uses the save file in
+     * the working folder.
+     * 
+     * @param assets Loader that decodes the game's images and font
+     */
+    public GamePanel(AssetLoader assets) {
+        this(assets, loadArt(assets), Paths.get(SAVE_FILE));
+    }
+
     /**
      * Constructor for GamePanel. Sets up the panel's size, background, input
      * listeners, and initializes resources.
+     * 
+     * @param assets   Loader that decodes the game's images and font
+     * @param art      Sprites, background and font, can be shared between games
+     * @param saveFile File the game is loaded from and saved to
      */
-    public GamePanel() {
-        this.setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
+    public GamePanel(AssetLoader assets, GameArt art, Path saveFile) {
+        this.assets = assets;
+        this.sprites = art.sprites;
+        this.bg = art.background;
+        this.nativeSprites = art.nativeSprites;
+        this.nativeBg = art.nativeBackground;
+        this.saveFile = saveFile;
+        merchant = new Merchant(this);
+        farmer = new Farmer(this);
+        cropPlot = new CropPlot(this);
+
+        // The merchant, the farmer and the crop field can't be walked through
+        collision.setSolidArea(merchant.getX(), merchant.getY(), TILE_SIZE, TILE_SIZE);
+        collision.setSolidArea(farmer.getX(), farmer.getY(), TILE_SIZE, TILE_SIZE);
+        collision.setSolidArea(TILE_SIZE * CropPlot.FIELD_COL, TILE_SIZE * CropPlot.FIELD_ROW,
+                TILE_SIZE * CropPlot.FIELD_TILES, TILE_SIZE * CropPlot.FIELD_TILES);
+        player = new Player(this, keyH);
+        animations.add(player);
+        animations.add(merchant);
+        animations.add(farmer);
+
+        // Farm hands live along the bottom right edge, -Dgame.farmHands sets how many
+        farmHands = new FarmHand[Math.max(0, Math.min(MAX_FARM_HANDS, Integer.getInteger("game.farmHands", 2)))];
+        for (int i = 0; i < farmHands.length; i++) {
+            farmHands[i] = new FarmHand(this, MAX_SCREEN_COL - 1 - i, MAX_SCREEN_ROW - 1);
+            animations.add(farmHands[i]);
+        }
+        worldFile = new WorldFile(saveFile.resolveSibling(WORLD_FILE), farmHands.length);
+
+        // Effects start over the crop field and the two stalls, in art pixels
+        int half = ORIGINAL_TILE_SIZE / 2;
+        particleEmitters = new ParticleEmitters(ORIGINAL_TILE_SIZE * CropPlot.FIELD_COL,
+                ORIGINAL_TILE_SIZE * CropPlot.FIELD_ROW, ORIGINAL_TILE_SIZE * CropPlot.FIELD_TILES,
+                merchant.getX() / SCALE + half, merchant.getY() / SCALE + half, farmer.getX() / SCALE + half,
+                farmer.getY() / SCALE + half);
+
+        this.setPreferredSize(new Dimension(VIEW_WIDTH, VIEW_HEIGHT));
         this.setBackground(Color.black);
         this.setDoubleBuffered(true);
         this.addKeyListener(keyH);
         this.setFocusable(true);
         this.addMouseListener(mouseH);
-
-        loadBackground();
-        loadFont();
+        this.addFocusListener(governor);
+        events.subscribe(eventStats);
+        events.subscribe(progress);
+        events.subscribe(particleEmitters);
+
+        // Custom font MaruMonica at the same 24pt size as the fallback
+        MaruMonica = art.font;
+        dialogueFont = MaruMonica.deriveFont(Font.PLAIN, 24);
         setupGame();
     }
 
     /**
-     * Loads the background image onto the JPanel
+     * @return Window pixels per screen pixel, which differs from 1 when the low
+     *         resolution renderer uses a scale other than 3
      */
-    private void loadBackground() {
-        try {
-            bg = ImageIO.read(getClass().getResourceAsStream("/res/bg/Grass_Sample.png"));
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading background image.");
-            System.exit(1);
-        }
+    double viewScale() {
+        return pixelScale > 0 ? (double) pixelScale / SCALE : 1;
     }
 
     /**
-     * Loads the custom font MaruMonica
+     * Loads the sprites, background and font for a single game. Every asset is
+     * decoding in the background before the sprites are asked for
+     * 
+     * @param assets Loader that decodes the game's images and font
+     * @return The loaded art
      */
-    private void loadFont() {
+    public static GameArt loadArt(AssetLoader assets) {
+        assets.preloadStartupAssets();
         try {
-            // Loads the font from resources
-            InputStream is = getClass().getResourceAsStream("/res/fonts/MaruMonica.ttf");
-            MaruMonica = Font.createFont(Font.TRUETYPE_FONT, is);
-        } catch (FontFormatException | IOException e) {
-            System.err.println("Error loading font: " + e.getMessage());
-            MaruMonica = new Font("Arial", Font.PLAIN, 24); // Fallback font
+            return GameArt.load(assets, ORIGINAL_TILE_SIZE * SCALE, ORIGINAL_TILE_SIZE * SCALE * MAX_SCREEN_COL,
+                    ORIGINAL_TILE_SIZE * SCALE * MAX_SCREEN_ROW, SCALE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Error loading background image.");
+            System.exit(1);
+            return null;
         }
     }
 
@@ -144,17 +337,40 @@ public final class GamePanel extends JPanel implements Runnable {
      */
     public void setupGame() {
         readSave();
+        worldFile.read(this);
+        nextAutosave = clock.millis() + AUTOSAVE_MILLIS; // The clock may have been restored
         gameState = PLAY_STATE;
+        lastState = gameState;
     }
 
     /**
      * Starts the game thread and initializes the loop
      */
     public void startGameThread() {
+        startAutosave();
+        assetWatcher = AssetWatcher.startIfEnabled(TILE_SIZE, SCREEN_WIDTH, SCREEN_HEIGHT, SCALE);
         gameThread = new Thread(this);
         gameThread.start();
     }
 
+    /**
+     * Starts writing autosaves to disk. Without it snapshots are still taken on
+     * schedule but never written, which headless runs rely on
+     */
+    public void startAutosave() {
+        saveWorker.start();
+    }
+
+    /**
+     * Writes autosaves using a shared executor instead of a thread of its own,
+     * for processes running many games
+     * 
+     * @param executor Executor the saves are written on
+     */
+    public void startAutosave(Executor executor) {
+        saveWorker.start(executor);
+    }
+
     /**
      * The main game loop. Controls updating and rendering the game at the target 60
      * FPS
@@ -162,55 +378,298 @@ public final class GamePanel extends JPanel implements Runnable {
     @Override
     public void run() {
 
-        // Delta Time clock variables
-        double drawInterval = 1000000000 / FPS; // 0.01666 seconds
-        double delta = 0;
-        long lastTime = System.nanoTime();
-        long currentTime;
-        long timer = 0;
-        int drawCount = 0;
-
-        // Loop to update and repaint the screen 60 times per second
+        // Tick clock variables
+        long tickInterval = 1000000000 / FPS; // 0.01666 seconds
+        long frameInterval = maxFps > 0 ? 1000000000 / maxFps : 0;
+        long nextTick = System.nanoTime();
+        long nextFrame = nextTick;
+        int framesRequested = framesPainted;
+        long timer = System.nanoTime();
+        int framesAtTimer = framesPainted;
+        int ticksThisSecond = 0;
+        long flushesAtTimer = events.earlyFlushes();
+        long droppedAtTimer = events.dropped();
+
+        // Loop to update the game at a fixed tick rate and repaint the screen at
+        // its own rate, both slowed down by the frame governor when idle
         while (gameThread != null) {
+            long currentTime = System.nanoTime();
+
+            // Input skips the rest of an idle or background wait. While playing
+            // ticks stay on schedule, so held keys and clicks can't speed up time
+            if (governor.takeWake() && governor.mode() != FrameGovernor.ACTIVE) {
+                nextTick = currentTime;
+            }
+            // After a long stall (like a trade dialog) don't replay all the missed ticks
+            if (currentTime - nextTick > MAX_CATCH_UP) {
+                Trace.stall(currentTime - nextTick, gameState);
+                nextTick = currentTime;
+            }
 
-            currentTime = System.nanoTime();
+            if (currentTime >= nextTick) {
+                tick();
+                ticksThisSecond++;
+                lastTickTime = nextTick;
 
-            delta += (currentTime - lastTime) / drawInterval;
-            timer += (currentTime - lastTime);
-            lastTime = currentTime;
+                // Fast-forward shortens the tick interval, unlimited runs ticks back to back
+                int scale = timeScale;
+                governor.update();
+                tickLength = scale > 0 ? governor.tickInterval(tickInterval / scale) : 0;
+                nextTick += tickLength;
+            }
 
-            if (delta >= 1) {
-                update();
+            // Only ask for a new frame once the last one is on screen, so a slow
+            // render never queues up behind the simulation. Unlimited speed skips
+            // rendering
+            boolean framePending = framesRequested != framesPainted;
+            if (!framePending && timeScale > 0 && currentTime >= nextFrame && governor.shouldRender(sceneStamp())) {
+                framesRequested = framesPainted + 1;
                 repaint();
-                drawCount++;
-                delta--;
+                nextFrame = Math.max(nextFrame + governor.frameInterval(frameInterval), currentTime);
+                framePending = true;
+            }
+
+            // Sleep until the next tick, or the next frame if one comes first.
+            // Painting a frame also wakes the loop
+            long wakeTime = nextTick;
+            if (!framePending && nextFrame > currentTime && nextFrame < nextTick) {
+                wakeTime = nextFrame;
             }
+            governor.sleepUntil(wakeTime);
 
             // FPS Counter
-            if (timer >= 1000000000) {
-                writeToDisk(itemCount);
-                System.out.println("Game saved");
-                System.out.println("FPS: " + drawCount);
-                drawCount = 0;
-                timer = 0;
+            if (currentTime - timer >= 1000000000) {
+                int painted = framesPainted;
+                System.out.println("FPS: " + (painted - framesAtTimer) + " | Ticks: " + ticksThisSecond + " | Mode: "
+                        + FrameGovernor.MODE_NAMES[governor.mode()] + " | Speed: " + speedName() + " | Alloc/tick: "
+                        + perSample(updateProbe) + " B | Alloc/frame: " + perSample(paintProbe) + " B | Events: "
+                        + eventStats.drain());
+                if (savesSkipped > 0) {
+                    System.out.println(savesSkipped + " autosaves skipped, previous save still writing");
+                    savesSkipped = 0;
+                }
+                long flushes = events.earlyFlushes();
+                long dropped = events.dropped();
+                if (flushes != flushesAtTimer || dropped != droppedAtTimer) {
+                    System.out.println((flushes - flushesAtTimer) + " early event flushes, "
+                            + (dropped - droppedAtTimer) + " events dropped, the event ring filled up");
+                    flushesAtTimer = flushes;
+                    droppedAtTimer = dropped;
+                }
+                framesAtTimer = painted;
+                ticksThisSecond = 0;
+                timer = currentTime;
             }
         }
     }
 
+    /**
+     * Runs one simulation tick, dispatches the tick's events, then takes an
+     * autosave snapshot if one is due. The game loop calls this on its
+     * schedule, headless runs call it back to back.
+     */
+    public void tick() {
+        Trace.Tick trace = Trace.tick();
+        if (assetWatcher != null) {
+            applyReloads();
+        }
+        updateProbe.begin();
+        update();
+        // State changes are picked up once per tick, wherever they were made
+        if (gameState != lastState) {
+            events.stateChanged(lastState, gameState);
+            lastState = gameState;
+        }
+        events.dispatch();
+        progress.goldHeld(itemCount[0]);
+        updateProbe.end();
+        announceProgress();
+        tickCount++;
+        if (trace != null) {
+            trace.end(tickCount, gameState, animations.size() + 1);
+        }
+
+        // Report a failed background write here, where the prompter may be used
+        String saveFailure = saveWorker.takeFailure();
+        if (saveFailure != null) {
+            prompter.error("Save failed", saveFailure);
+        }
+
+        // Snapshot at the tick boundary, the file is written in the background
+        if (clock.millis() >= nextAutosave) {
+            nextAutosave = clock.millis() + AUTOSAVE_MILLIS;
+            if (!saveIfChanged()) {
+                savesSkipped++;
+            }
+        }
+    }
+
+    /**
+     * Swaps in any art the asset watcher has finished reloading. Runs between
+     * ticks so a change never shows up halfway through one.
+     */
+    private void applyReloads() {
+        AssetWatcher.Reload reload;
+        while ((reload = assetWatcher.poll()) != null) {
+            switch (reload.kind) {
+                case AssetWatcher.SPRITE:
+                    sprites.replace(reload.id, reload.image);
+                    nativeSprites.replace(reload.id, reload.nativeImage);
+                    break;
+                case AssetWatcher.BACKGROUND:
+                    bg = reload.image;
+                    nativeBg = reload.nativeImage;
+                    break;
+                case AssetWatcher.FONT:
+                    MaruMonica = reload.font;
+                    dialogueFont = MaruMonica.deriveFont(Font.PLAIN, 24);
+                    inventoryPanel.invalidate();
+                    dialoguePanel.invalidate();
+                    break;
+                default:
+                    break;
+            }
+            artVersion++;
+        }
+    }
+
+    /**
+     * Queues a save right away if anything changed since the last one, without
+     * waiting for the autosave schedule. The player moving or the crop plot
+     * changing counts, the clock and the farm hands only get saved along with
+     * something else
+     * 
+     * @return false if a save is needed but the previous ones are still writing
+     */
+    public boolean saveIfChanged() {
+        boolean worldChanged = worldFile.track(this);
+        if (inventoryVersion == savedVersion && !worldChanged) {
+            return true;
+        }
+        if (!saveWorker.requestSave(tickCount)) {
+            return false;
+        }
+        savedVersion = inventoryVersion;
+        return true;
+    }
+
+    /**
+     * Moves to the next fast-forward speed (x1, x10, x100, back to x1).
+     */
+    void cycleFastForward() {
+        int next = FAST_FORWARD[0];
+        for (int i = 0; i < FAST_FORWARD.length - 1; i++) {
+            if (timeScale == FAST_FORWARD[i]) {
+                next = FAST_FORWARD[i + 1];
+            }
+        }
+        timeScale = next;
+        System.out.println("Speed: " + speedName());
+    }
+
+    /**
+     * @return The current speed for printouts, like "x10"
+     */
+    String speedName() {
+        int scale = timeScale;
+        return scale > 0 ? "x" + scale : "unlimited";
+    }
+
+    /**
+     * Reads the frame rate cap from the game.maxFps system property. Without it
+     * the cap is the display's refresh rate, or the tick rate if that is
+     * unknown. 0 means uncapped.
+     * 
+     * @return Frames per second to draw at most, 0 for uncapped
+     */
+    private int renderCap() {
+        int refreshRate = FPS;
+        if (!GraphicsEnvironment.isHeadless()) {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode()
+                    .getRefreshRate();
+            if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                refreshRate = rate;
+            }
+        }
+        return Math.max(0, Integer.getInteger("game.maxFps", refreshRate));
+    }
+
+    /**
+     * How far between the last two ticks a frame drawn now is.
+     * 
+     * @return A value from 0 (the previous tick) to 1 (the latest tick)
+     */
+    private float interpolation() {
+        long length = tickLength;
+        if (length <= 0) {
+            return 1f;
+        }
+        float alpha = (float) (System.nanoTime() - lastTickTime) / length;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    /**
+     * Combines everything that affects what is drawn into one number, so the
+     * frame governor can tell if an idle screen needs repainting
+     * 
+     * @return A value that changes whenever the drawn scene changes
+     */
+    long sceneStamp() {
+        long stamp = clock.ticks();
+        stamp = stamp * 31 + gameState;
+        stamp = stamp * 31 + inventoryVersion;
+        stamp = stamp * 31 + dialogueVersion;
+        stamp = stamp * 31 + artVersion;
+        stamp = stamp * 31 + (showDialog ? 1 : 0) + (showInventory ? 2 : 0);
+        return stamp;
+    }
+
+    /**
+     * Average bytes allocated per measured section, for the FPS printout
+     * 
+     * @param probe Probe to drain
+     * @return Average bytes per section, or 0 if nothing was measured
+     */
+    private static long perSample(AllocationProbe probe) {
+        long samples = probe.samples();
+        long bytes = probe.drainBytes();
+        return samples == 0 ? 0 : bytes / samples;
+    }
+
     /**
      * Updates the game logic based on the current state and player input.
      */
     public void update() {
+        // Positions before this tick, so frames can be drawn between ticks
+        player.savePosition();
+        merchant.savePosition();
+        farmer.savePosition();
+        for (FarmHand hand : farmHands) {
+            hand.savePosition();
+        }
+
         // Prints total amount of keys being pressed
         keyH.getKeysPressed();
 
         // PLAY_STATE logic
         if (gameState == PLAY_STATE) {
+            // Game time only moves while playing
+            clock.advance();
+
             // Update all players, NPCs and objects
             player.update();
             merchant.update(player.getNextToMerchant());
             cropPlot.update();
             farmer.update(player.getNextToFarmer());
+            for (FarmHand hand : farmHands) {
+                hand.update();
+            }
+            animations.update(clock.millis());
+            ParticleSystem effects = particles;
+            if (effects != null) {
+                effects.update();
+            }
+            market.tick();
 
             // Player - Merchant and Player - Farmer interaction
             if (keyH.interact) {
@@ -242,75 +701,21 @@ public final class GamePanel extends JPanel implements Runnable {
         // Crop plot planting and harvesting controller
         if (player.getNextToCropPlot() && keyH.interact) {
             if (cropPlot.isPlanted) {
-                // JOption pane controller
-                int answer = JOptionPane.showOptionDialog(
-                        null,
-                        "Would you like to harvest the crop?",
-                        "Crop Plot",
-                        JOptionPane.YES_NO_OPTION,
-                        JOptionPane.QUESTION_MESSAGE,
-                        null,
-                        null,
-                        null);
                 // Harvest crops accept or denie controller
-                if (answer == JOptionPane.YES_OPTION) {
-                    if (cropPlot.fullyGrown) {
-                        cropPlot.harvest();
-                    } else {
-                        // Error when harvesting before ready
-                        JOptionPane.showMessageDialog(this, "Try harvesting later!", "Crops arent ready yet!",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
+                if (prompter.confirm("Crop Plot", "Would you like to harvest the crop?", null)) {
+                    harvestCrop();
                     keyH.interact = false;
                 } else {
                     keyH.interact = false;
                 }
             } else {
                 // If the crop plot is empty, prompt the user to plant a crop
-                String selectedPlant = (String) JOptionPane.showInputDialog(
-                        null,
-                        "Would you like to plant a crop?",
-                        "Crop Plot",
-                        JOptionPane.PLAIN_MESSAGE,
-                        null,
-                        plantableCrops,
-                        plantableCrops[0]);
+                String selectedPlant = prompter.choose("Crop Plot", "Would you like to plant a crop?", plantableCrops);
                 // Plant vegetable based on option chosen
                 if (selectedPlant != null) {
-                    switch (selectedPlant) {
-                        case "Wheat":
-                            if (itemCount[4] >= 1) {
-                                cropPlot.plant("Wheat");
-                                keyH.interact = false;
-                                itemCount[4]--;
-                                break;
-                            } else {
-                                notEnoughItems(inventory[4]);
-                            }
-                        case "Carrot":
-                            if (itemCount[5] >= 1) {
-                                cropPlot.plant("Carrot");
-                                keyH.interact = false;
-                                itemCount[5]--;
-                                break;
-                            } else {
-                                notEnoughItems(inventory[5]);
-                            }
-                        case "Potato":
-                            if (itemCount[6] >= 1) {
-                                cropPlot.plant("Potato");
-                                keyH.interact = false;
-                                itemCount[6]--;
-                                break;
-                            } else {
-                                notEnoughItems(inventory[6]);
-                            }
-                        default:
-                            break;
-                    }
-                } else {
-                    keyH.interact = false;
+                    plantCrop(selectedPlant);
                 }
+                keyH.interact = false;
             }
         }
 
@@ -369,159 +774,213 @@ public final class GamePanel extends JPanel implements Runnable {
     public void openTradeMenu() {
         // Merchant trading
         if (player.getNextToMerchant()) {
-            String selectedItem = (String) JOptionPane.showInputDialog(
-                    null,
-                    "Choose an item to trade:",
-                    "Merchant's Trading Menu",
-                    JOptionPane.PLAIN_MESSAGE,
-                    null,
-                    merchantItemsForSale,
-                    merchantItemsForSale[0]);
+            Trace.Trade trace = Trace.trade();
+            int goldBefore = itemCount[0];
+            updatePriceLists();
+            String selectedItem = prompter.choose("Merchant's Trading Menu", "Choose an item to trade:",
+                    merchantItemsForSale);
             // Trade confirmation
             if (selectedItem != null) {
-                int response = JOptionPane.showOptionDialog(
-                        null,
-                        "You selected: " + selectedItem + ". Do you want to buy it?",
-                        "Confirm Purchase",
-                        JOptionPane.YES_NO_OPTION,
-                        JOptionPane.QUESTION_MESSAGE,
-                        null,
-                        options,
-                        options[0]);
-
-                // Price handling and item/gold removal and adding or denied if not enough funds
-                if (response == JOptionPane.YES_OPTION) {
-                    switch (selectedItem) {
-                        case "Wheat Seed - 10 Gold":
-                            if (itemCount[0] >= 10) {
-                                itemCount[4]++;
-                                itemCount[0] -= 10;
-                                receipt(selectedItem);
-                                break;
-                            } else {
-                                notEnoughItems("Gold");
-                            }
-                        case "Carrot seed - 40 Gold":
-                            if (itemCount[0] >= 40) {
-                                itemCount[5]++;
-                                itemCount[0] -= 40;
-                                receipt(selectedItem);
-                                break;
-                            } else {
-                                notEnoughItems("Gold");
-                            }
-                        case "Potato seed - 100 Gold":
-                            if (itemCount[0] >= 100) {
-                                itemCount[6]++;
-                                itemCount[0] -= 100;
-                                receipt(selectedItem);
-                                break;
-                            } else {
-                                notEnoughItems("Gold");
-                            }
-                    }
+                if (prompter.confirm("Confirm Purchase", "You selected: " + selectedItem + ". Do you want to buy it?",
+                        options)) {
+                    merchantTrade(selectedItem);
                     gameState = PLAY_STATE;
 
                 } else {
-                    JOptionPane.showMessageDialog(null, "Transaction canceled.");
+                    prompter.inform("Transaction canceled.");
                     gameState = PLAY_STATE;
                 }
             } else {
-                JOptionPane.showMessageDialog(null, "No item selected.");
+                prompter.inform("No item selected.");
                 gameState = PLAY_STATE;
             }
+            if (trace != null) {
+                trace.end("Merchant", selectedItem, goldBefore, itemCount[0]);
+            }
         }
 
         // Farmer trading
         if (player.getNextToFarmer()) {
-            String selectedItem = (String) JOptionPane.showInputDialog(
-                    null,
-                    "Choose an item to trade:",
-                    "Farmer's Trading Menu",
-                    JOptionPane.PLAIN_MESSAGE,
-                    null,
-                    farmerItemsForSale,
-                    farmerItemsForSale[0]);
+            Trace.Trade trace = Trace.trade();
+            int goldBefore = itemCount[0];
+            updatePriceLists();
+            String selectedItem = prompter.choose("Farmer's Trading Menu", "Choose an item to trade:",
+                    farmerItemsForSale);
             // Trade confirmation
             if (selectedItem != null) {
-                int response = JOptionPane.showOptionDialog(
-                        null,
-                        "You selected: " + selectedItem + ". Do you want to trade?",
-                        "Confirm Trade",
-                        JOptionPane.YES_NO_OPTION,
-                        JOptionPane.QUESTION_MESSAGE,
-                        null,
-                        options,
-                        options[0]);
-
-                if (response == JOptionPane.YES_OPTION) {
-                    // Price handling and item/gold removal and adding or denied if not enough funds
-                    switch (selectedItem) {
-                        case "20 Gold - 20 Wheat":
-                            if (itemCount[1] >= 20) {
-                                itemCount[0] += 20;
-                                itemCount[1] -= 20;
-                                receipt("20 Gold");
-                                break;
-                            } else {
-                                notEnoughItems("Wheat");
-                            }
-
-                        case "50 Gold - 10 Carrots":
-                            if (itemCount[2] >= 10) {
-                                itemCount[0] += 50;
-                                itemCount[2] -= 10;
-                                receipt("50 Gold");
-                                break;
-                            } else {
-                                notEnoughItems("Carrots");
-                                break;
-                            }
-
-                        case "150 Gold - 20 Potatoes":
-                            if (itemCount[3] >= 20) {
-                                itemCount[0] += 150;
-                                itemCount[3] -= 20;
-                                receipt("120 Gold");
-                                break;
-                            } else {
-                                notEnoughItems("Potatoes");
-                                break;
-                            }
-                        case "Soil Nutrients - 50 Gold":
-                            if (itemCount[0] >= 50) {
-                                itemCount[0] -= 50;
-                                receipt("Soil Nutrients - Growth time improved");
-                                break;
-                            } else {
-                                notEnoughItems("Gold");
-                                break;
-                            }
-                        case "SILVER TROPHY - 1000 GOLD":
-                            if (itemCount[0] >= 1000) {
-                                itemCount[0] -= 1000;
-                                receipt("You've Sucessfully Completed the Game! Congrats!");
-                                break;
-                            } else {
-                                notEnoughItems("Gold");
-                            }
-
-                    }
+                if (prompter.confirm("Confirm Trade", "You selected: " + selectedItem + ". Do you want to trade?",
+                        options)) {
+                    farmerTrade(selectedItem);
                     gameState = PLAY_STATE;
                 } else {
-                    JOptionPane.showMessageDialog(null, "Transaction canceled.");
+                    prompter.inform("Transaction canceled.");
                     gameState = PLAY_STATE;
                 }
             } else {
-                JOptionPane.showMessageDialog(null, "No item selected.");
+                prompter.inform("No item selected.");
                 gameState = PLAY_STATE;
             }
+            if (trace != null) {
+                trace.end("Farmer", selectedItem, goldBefore, itemCount[0]);
+            }
+        }
+    }
+
+    /**
+     * Plants a crop in the crop plot, using up one of its seeds. Without a seed
+     * of that crop nothing is planted
+     * 
+     * @param selectedPlant Crop to plant, one of plantableCrops
+     */
+    public void plantCrop(String selectedPlant) {
+        switch (selectedPlant) {
+            case "Wheat":
+                if (itemCount[4] >= 1) {
+                    cropPlot.plant("Wheat");
+                    addItems(4, -1);
+                } else {
+                    notEnoughItems(inventory[4]);
+                }
+                break;
+            case "Carrot":
+                if (itemCount[5] >= 1) {
+                    cropPlot.plant("Carrot");
+                    addItems(5, -1);
+                } else {
+                    notEnoughItems(inventory[5]);
+                }
+                break;
+            case "Potato":
+                if (itemCount[6] >= 1) {
+                    cropPlot.plant("Potato");
+                    addItems(6, -1);
+                } else {
+                    notEnoughItems(inventory[6]);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Harvests the crop plot, or tells the player it is not ready yet
+     */
+    public void harvestCrop() {
+        if (cropPlot.fullyGrown) {
+            cropPlot.harvest();
+        } else {
+            // Error when harvesting before ready
+            prompter.error("Crops arent ready yet!", "Try harvesting later!");
+        }
+    }
+
+    /**
+     * Buys an item from the merchant, picked by its menu text
+     * 
+     * @param selectedItem Item to buy, one of merchantItemsForSale
+     */
+    public void merchantTrade(String selectedItem) {
+        merchantTrade(Arrays.asList(merchantItemsForSale).indexOf(selectedItem));
+    }
+
+    /**
+     * Buys a seed from the merchant at the market price. Gold is taken and the
+     * seed added, or the trade is denied if there is not enough gold
+     * 
+     * @param item Index of the item in merchantItemsForSale
+     */
+    public void merchantTrade(int item) {
+        if (item < 0 || item >= merchantItemsForSale.length) {
+            return;
+        }
+        int good = Market.WHEAT_SEED + item;
+        int price = market.price(good);
+        if (itemCount[0] >= price) {
+            addItems(4 + item, Market.LOTS[good]);
+            addItems(0, -price);
+            market.playerBought(good);
+            events.tradeCompleted(EventBus.MERCHANT, item, -price);
+            receipt(merchantItemsForSale[item]);
+        } else {
+            notEnoughItems("Gold");
+        }
+    }
+
+    /**
+     * Trades with the farmer, picked by the menu text
+     * 
+     * @param selectedItem Trade to make, one of farmerItemsForSale
+     */
+    public void farmerTrade(String selectedItem) {
+        farmerTrade(Arrays.asList(farmerItemsForSale).indexOf(selectedItem));
+    }
+
+    /**
+     * Trades with the farmer. Crops are sold a lot at a time at the market
+     * price, the rest of the menu has fixed prices. Denied if there is not
+     * enough to trade
+     * 
+     * @param item Index of the trade in farmerItemsForSale
+     */
+    public void farmerTrade(int item) {
+        if (item >= 0 && item < CROPS_FOR_SALE.length) {
+            int good = Market.WHEAT + item;
+            int price = market.price(good);
+            int lot = Market.LOTS[good];
+            if (itemCount[1 + item] >= lot) {
+                addItems(0, price);
+                addItems(1 + item, -lot);
+                market.playerSold(good);
+                events.tradeCompleted(EventBus.FARMER, item, price);
+                receipt(price + " Gold");
+            } else {
+                notEnoughItems(CROPS_FOR_SALE[item]);
+            }
+            return;
+        }
+        switch (item) {
+            case 3: // Soil Nutrients
+                if (itemCount[0] >= NUTRIENTS_PRICE) {
+                    addItems(0, -NUTRIENTS_PRICE);
+                    events.tradeCompleted(EventBus.FARMER, 3, -NUTRIENTS_PRICE);
+                    receipt("Soil Nutrients - Growth time improved");
+                } else {
+                    notEnoughItems("Gold");
+                }
+                break;
+            case 4: // SILVER TROPHY
+                if (itemCount[0] >= TROPHY_PRICE) {
+                    addItems(0, -TROPHY_PRICE);
+                    events.tradeCompleted(EventBus.FARMER, 4, -TROPHY_PRICE);
+                    receipt(GAME_COMPLETE);
+                } else {
+                    notEnoughItems("Gold");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes the current market prices into the trade menus. Done when a menu
+     * opens rather than every tick, so prices moving does not build strings
+     */
+    public void updatePriceLists() {
+        for (int i = 0; i < merchantItemsForSale.length; i++) {
+            merchantItemsForSale[i] = SEEDS_FOR_SALE[i] + " - " + market.price(Market.WHEAT_SEED + i) + " Gold";
+        }
+        for (int i = 0; i < CROPS_FOR_SALE.length; i++) {
+            int good = Market.WHEAT + i;
+            farmerItemsForSale[i] = market.price(good) + " Gold - " + Market.LOTS[good] + " " + CROPS_FOR_SALE[i];
         }
     }
 
     /**
      * Dynamic dialogue screen for trading or just speaking. Functions with all
-     * entities
+     * entities. The box is only re-rendered when the dialogue or pause state
+     * changes, otherwise the cached panel is copied
      * 
      * @param g2
      */
@@ -530,20 +989,26 @@ public final class GamePanel extends JPanel implements Runnable {
         int y = SCREEN_HEIGHT - (TILE_SIZE * 6);
         int width = SCREEN_WIDTH - (TILE_SIZE * 4);
         int height = TILE_SIZE * 5;
-        drawSubWindow(x, y, width, height, g2);
 
-        x += TILE_SIZE;
-        y += TILE_SIZE;
-        if (gameState == PAUSE_STATE) {
-            g2.drawString("Game paused\n Press P to resume", x, y);
-        } else {
-            g2.setFont(g2.getFont().deriveFont(Font.PLAIN, 24));
-            g2.drawString(currentDialogue, x, y);
+        boolean paused = gameState == PAUSE_STATE;
+        long version = (dialogueVersion << 1) | (paused ? 1 : 0);
+        if (dialoguePanel.isStale(version)) {
+            Graphics2D p = dialoguePanel.redraw(version);
+            drawSubWindow(0, 0, width, height, p);
+            if (paused) {
+                p.setFont(MaruMonica);
+                p.drawString("Game paused\n Press P to resume", TILE_SIZE, TILE_SIZE);
+            } else {
+                p.setFont(dialogueFont);
+                p.drawString(currentDialogue, TILE_SIZE, TILE_SIZE);
+            }
         }
+        dialoguePanel.draw(g2, frameBlitter, x, y);
     }
 
     /**
-     * Inventory sidebar system
+     * Inventory sidebar system. The sidebar is only re-rendered when the
+     * inventory changes, otherwise the cached panel is copied
      * 
      * @param g2 Graphics2D object which controls drawing and rendering various
      *           shapes, images and text
@@ -553,17 +1018,22 @@ public final class GamePanel extends JPanel implements Runnable {
         int y = TILE_SIZE;
         int width = TILE_SIZE * 6;
         int height = TILE_SIZE * 10;
-        drawSubWindow(x, y, width, height, g2);
 
-        x += TILE_SIZE;
-        y += TILE_SIZE;
+        if (inventoryPanel.isStale(inventoryVersion)) {
+            Graphics2D p = inventoryPanel.redraw(inventoryVersion);
+            drawSubWindow(0, 0, width, height, p);
 
-        g2.drawString("INVENTORY", x, y);
+            int textX = TILE_SIZE;
+            int textY = TILE_SIZE;
+            p.setFont(MaruMonica);
+            p.drawString("INVENTORY", textX, textY);
 
-        // Draws every item in the inventory on a new line
-        for (int i = 0; i < inventory.length; i++) {
-            g2.drawString(inventory[i] + ": " + itemCount[i], x, y += TILE_SIZE);
+            // Draws every item in the inventory on a new line
+            for (int i = 0; i < inventory.length; i++) {
+                p.drawString(inventory[i] + ": " + itemCount[i], textX, textY += TILE_SIZE);
+            }
         }
+        inventoryPanel.draw(g2, frameBlitter, x, y);
     }
 
     /**
@@ -578,24 +1048,55 @@ public final class GamePanel extends JPanel implements Runnable {
      */
     public void drawSubWindow(int x, int y, int width, int height, Graphics2D g2) {
         // Main round rectangle shape
-        Color c = new Color(0, 0, 0, 220);
-        g2.setColor(c);
+        g2.setColor(SUBWINDOW_FILL);
         g2.fillRoundRect(x, y, width, height, 35, 35);
 
-        c = new Color(255, 255, 255);
         // Shape border
-        g2.setStroke(new BasicStroke(3));
-        g2.setColor(c);
+        g2.setStroke(SUBWINDOW_STROKE);
+        g2.setColor(SUBWINDOW_BORDER);
         g2.drawRoundRect(x + 5, y + 5, width - 10, height - 10, 25, 25);
     }
 
+    /**
+     * Changes the amount of an inventory item and marks the inventory as
+     * changed so the sidebar gets redrawn
+     * 
+     * @param item   Index of the item in the inventory
+     * @param amount Amount to add (negative to remove)
+     */
+    public void addItems(int item, int amount) {
+        itemCount[item] += amount;
+        inventoryVersion++;
+    }
+
+    /**
+     * Sets the dialogue line shown in the dialogue box
+     * 
+     * @param dialogue Line to show
+     */
+    public void setCurrentDialogue(String dialogue) {
+        currentDialogue = dialogue;
+        dialogueVersion++;
+    }
+
     /**
      * Denies the player of completing a trade if they lack sufficient items
      * 
      * @param item Item that player does not have enough of
      */
     public void notEnoughItems(String item) {
-        JOptionPane.showMessageDialog(this, "You don't have enough " + item, "Denied!", JOptionPane.ERROR_MESSAGE);
+        prompter.error("Denied!", "You don't have enough " + item);
+    }
+
+    /**
+     * Tells the player about the achievements and quest steps finished this
+     * tick. Only a finished goal builds a message
+     */
+    private void announceProgress() {
+        int goal;
+        while ((goal = progress.pollFinished()) >= 0) {
+            prompter.inform(progress.announcement(goal));
+        }
     }
 
     /**
@@ -604,26 +1105,42 @@ public final class GamePanel extends JPanel implements Runnable {
      * @param item Item the player purchased
      */
     public void receipt(String item) {
-        if (item.equals("You've Sucessfully Completed the Game!")) {
-            JOptionPane.showMessageDialog(null, "CONGRATS!: " + item);
+        if (item.equals(GAME_COMPLETE)) {
+            prompter.inform("CONGRATS!: " + item);
         } else {
-            JOptionPane.showMessageDialog(null, "You obtained: " + item);
+            prompter.inform("You obtained: " + item);
         }
     }
 
     /**
-     * Writes your inventory to a save file
+     * Writes your inventory to a save file. Runs on the save worker thread, so it
+     * only reads the snapshot it is given and never the live itemCount
      * 
      * @param inventory Inventory list to store
      */
     public void writeToDisk(int[] inventory) {
-        try (FileWriter writer = new FileWriter("inventory.txt")) {
+        try {
+            Path folder = saveFile.toAbsolutePath().getParent();
+            if (folder != null) {
+                Files.createDirectories(folder);
+            }
+        } catch (IOException e) {
+            System.err.println("Error creating save folder: " + e.getMessage());
+        }
+        Trace.Save trace = Trace.save();
+        try (FileWriter writer = new FileWriter(saveFile.toFile())) {
             // Convert the array to a comma-separated string
-            String arrayAsString = Arrays.toString(itemCount);
+            String arrayAsString = Arrays.toString(inventory);
             // Write the array to the file (removing brackets)
             writer.write(arrayAsString.substring(1, arrayAsString.length() - 1));
+            System.out.println("Game saved");
+            if (trace != null) {
+                trace.end(saveFile, false, arrayAsString.length() - 2);
+            }
         } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error writing save file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            // Not on the game thread, the game reports it on its next tick
+            System.err.println("Error writing save file: " + e.getMessage());
+            saveWorker.failed("Error writing save file: " + e.getMessage());
         }
     }
 
@@ -631,13 +1148,21 @@ public final class GamePanel extends JPanel implements Runnable {
      * Reads game save data
      */
     public void readSave() {
-        try (BufferedReader reader = new BufferedReader(new FileReader("inventory.txt"))) {
+        if (!Files.exists(saveFile)) {
+            return; // New game, keep the starting items
+        }
+        Trace.Save trace = Trace.save();
+        try (BufferedReader reader = new BufferedReader(new FileReader(saveFile.toFile()))) {
             String line = reader.readLine();
             // Split the string by commas and convert it to integers
             String[] numbers = line.split(", ");
             for (int i = 0; i < numbers.length; i++) {
                 itemCount[i] = Integer.parseInt(numbers[i]);
             }
+            inventoryVersion++;
+            if (trace != null) {
+                trace.end(saveFile, true, line.length());
+            }
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error reading save file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -650,23 +1175,90 @@ public final class GamePanel extends JPanel implements Runnable {
      */
     @Override
     public void paintComponent(Graphics g) {
-        // Renders the panel
-        super.paintComponent(g);
-
-        // Casting graphics to 2D geometry
-        Graphics2D g2 = (Graphics2D) g;
-
-        g2.setFont(MaruMonica);
+        Trace.Frame trace = Trace.frame();
+        paintProbe.begin();
+        PaintTimer timer = paintTimer;
+        if (timer != null) {
+            timer.start();
+        }
 
-        if (bg != null) {
-            g2.drawImage(bg, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT, null);
+        // The back buffer keeps its Graphics2D between frames so fonts and
+        // paint state are not rebuilt every frame
+        if (frameBuffer == null) {
+            frameBuffer = new BufferedImage(VIEW_WIDTH, VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            frameGraphics = frameBuffer.createGraphics();
+            if (pixelScale > 0) {
+                lowRes = new PixelBuffer(NATIVE_WIDTH, NATIVE_HEIGHT);
+            }
+            if (rasterRenderer) {
+                frameBlitter = new RasterBlitter(frameBuffer);
+                sceneBlitter = lowRes != null ? new RasterBlitter(lowRes.image) : frameBlitter;
+            }
+            scenePixels = PixelBuffer.intData(lowRes != null ? lowRes.image : frameBuffer);
+            if (particleCapacity > 0) {
+                ParticleSystem pool = new ParticleSystem(particleCapacity, PARTICLE_SEED);
+                particleEmitters.attach(pool);
+                particles = pool;
+            }
+        }
+        // The scene goes into the low resolution buffer when there is one
+        Graphics2D g2 = lowRes != null ? lowRes.graphics : frameGraphics;
+        renderAlpha = interpolation();
+
+        BufferedImage background = lowRes != null ? nativeBg : bg;
+        if (sceneBlitter != null) {
+            if (background != bgRasterOf) {
+                bgRaster = background != null ? RasterSprite.of(background) : null;
+                bgRasterOf = background;
+            }
+            if (bgRaster != null) {
+                sceneBlitter.draw(bgRaster, 0, 0);
+            } else {
+                sceneBlitter.fill(0);
+            }
+        } else if (background != null) {
+            g2.drawImage(background, 0, 0, null);
+        } else {
+            g2.setColor(Color.black);
+            g2.fillRect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        }
+        if (timer != null) {
+            timer.lap(PaintTimer.BACKGROUND);
         }
 
         // Draw all entities and objects
         merchant.draw(g2);
         farmer.draw(g2);
+        for (FarmHand hand : farmHands) {
+            hand.draw(g2);
+        }
         cropPlot.draw(g2);
         player.draw(g2);
+        if (timer != null) {
+            timer.lap(PaintTimer.ENTITIES);
+        }
+
+        // Particles go over everything in the scene, written straight into its pixels
+        ParticleSystem effects = particles;
+        if (effects != null) {
+            if (lowRes != null) {
+                effects.draw(scenePixels, lowRes.width, lowRes.height, 1, renderAlpha);
+            } else {
+                effects.draw(scenePixels, VIEW_WIDTH, VIEW_HEIGHT, SCALE, renderAlpha);
+            }
+        }
+        if (timer != null) {
+            timer.lap(PaintTimer.PARTICLES);
+        }
+
+        // Blow the scene up to the window, subwindows are drawn over it at full resolution
+        if (lowRes != null) {
+            lowRes.upscale(frameBuffer, pixelScale);
+            g2 = frameGraphics;
+        }
+        if (timer != null) {
+            timer.lap(PaintTimer.UPSCALE);
+        }
 
         // Subwindow drawing
         if (showDialog) {
@@ -675,9 +1267,60 @@ public final class GamePanel extends JPanel implements Runnable {
         if (showInventory) {
             drawInventory(g2);
         }
+        if (timer != null) {
+            timer.lap(PaintTimer.SUBWINDOWS);
+        }
 
-        // Releases system resources
-        g2.dispose();
+        // Copy the finished frame to the panel
+        g.drawImage(frameBuffer, 0, 0, null);
+        if (timer != null) {
+            timer.lap(PaintTimer.PRESENT);
+        }
+
+        if (!firstFrameDrawn) {
+            firstFrameDrawn = true;
+            assets.reportFirstFrame();
+        }
+
+        // Let the game loop know it can ask for the next frame
+        framesPainted++;
+        Thread thread = gameThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+
+        paintProbe.end();
+        if (trace != null) {
+            trace.end(gameState, animations.size() + 1, renderAlpha);
+        }
+    }
+
+    /**
+     * Draws a sprite at its on-screen size, or at the art's own size into the
+     * low resolution buffer when that renderer is on. Sprites are stored at the
+     * size they are drawn at, so either way this is a plain copy, done by Java2D
+     * or by the software renderer.
+     *
+     * @param g2 Graphics of the buffer the scene is drawn into
+     * @param id Sprite ID
+     * @param x  Left edge in screen pixels
+     * @param y  Top edge in screen pixels
+     */
+    public void drawSprite(Graphics2D g2, int id, int x, int y) {
+        SpriteRegistry registry = sprites;
+        if (lowRes != null) {
+            registry = nativeSprites;
+            x = Math.floorDiv(x, SCALE);
+            y = Math.floorDiv(y, SCALE);
+        }
+        if (sceneBlitter != null) {
+            RasterSprite sprite = registry.raster(id);
+            if (sprite != null) {
+                sceneBlitter.draw(sprite, x, y);
+            }
+        } else {
+            g2.drawImage(registry.get(id), x, y, null);
+        }
     }
 
     /**
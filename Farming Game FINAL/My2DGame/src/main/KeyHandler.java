@@ -36,6 +36,12 @@ public class KeyHandler implements KeyListener {
      */
     public int keysCurrentlyPressed = 0;
 
+    /**
+     * The key most recently pressed and not yet released. Auto-repeat only
+     * repeats this key, so its repeats don't wake the game loop again.
+     */
+    private int keyDown = KeyEvent.VK_UNDEFINED;
+
     /**
      * Indicates whether the player is near a merchant.
      */
@@ -58,6 +64,10 @@ public class KeyHandler implements KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         int code = e.getKeyCode();
+        if (code != keyDown) {
+            keyDown = code;
+            gp.governor.wake(); // Respond right away even if the game loop is idling
+        }
 
         // MOVEMENT
         if (code == KeyEvent.VK_W && !upPressed) {
@@ -94,6 +104,9 @@ public class KeyHandler implements KeyListener {
                 gp.showDialog = false;
             }
         }
+        if (code == KeyEvent.VK_F) {
+            gp.cycleFastForward();
+        }
         if (code == KeyEvent.VK_ESCAPE) {
             escapePressed = true;
             System.out.println("Escape");
@@ -116,6 +129,10 @@ public class KeyHandler implements KeyListener {
     @Override
     public void keyReleased(KeyEvent e) {
         int code = e.getKeyCode();
+        if (code == keyDown) {
+            keyDown = KeyEvent.VK_UNDEFINED;
+        }
+        gp.governor.wake();
 
         if (code == KeyEvent.VK_W) {
             upPressed = false;
@@ -19,6 +19,15 @@ public class MouseHandler implements MouseListener {
     boolean pressed, released, clicked, entered, exited; // Flags for different mouse states
     int x, y; // Coordinates of the mouse pointer during events
 
+    /**
+     * Creates the mouse handler.
+     * 
+     * @param gp the game panel receiving the mouse events.
+     */
+    public MouseHandler(GamePanel gp) {
+        this.gp = gp;
+    }
+
     /**
      * Invoked when a mouse button has been pressed on a component.
      * 
@@ -30,6 +39,7 @@ public class MouseHandler implements MouseListener {
         y = e.getY(); // Get the Y coordinate of the mouse
         System.out.println("Mouse pressed at: (" + x + ", " + y + ")");
         pressed = true; // Set the pressed flag to true
+        gp.governor.wake(); // Respond right away even if the game loop is idling
         // Add your logic here
     }
 
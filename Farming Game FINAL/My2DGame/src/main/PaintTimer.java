@@ -0,0 +1,72 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Adds up the time paintComponent spends in each part of drawing a frame
+ */
+
+package main;
+
+import java.util.Arrays;
+
+/**
+ * Splits frame time into the phases of {@link GamePanel#paintComponent}. The
+ * panel calls {@link #start()} when it begins a frame and {@link #lap(int)} as
+ * each phase ends, and the time since the previous mark is added to that phase.
+ * Only set on the panel by the render benchmark, so normal play pays one null
+ * check per phase. Not thread safe, read it from the thread that paints.
+ */
+final class PaintTimer {
+    static final int BACKGROUND = 0; // Background or clear
+    static final int ENTITIES = 1; // Characters and the crop plot
+    static final int PARTICLES = 2; // Dust, sparkles and coins
+    static final int UPSCALE = 3; // Low resolution scene blown up to the window
+    static final int SUBWINDOWS = 4; // Inventory and dialogue boxes
+    static final int PRESENT = 5; // Finished frame copied to the target
+    static final String[] NAMES = { "background", "entities", "particles", "upscale", "subwindows", "present" };
+
+    private final long[] nanos = new long[NAMES.length]; // Total time per phase
+    private long mark; // When the last phase ended
+    private long frames; // Frames started since the last reset
+
+    /**
+     * Marks the start of a frame.
+     */
+    void start() {
+        frames++;
+        mark = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a phase.
+     *
+     * @param phase Phase that just finished
+     */
+    void lap(int phase) {
+        long now = System.nanoTime();
+        nanos[phase] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * @param phase Phase to read
+     * @return Average time of the phase per frame, in nanoseconds
+     */
+    long averageNanos(int phase) {
+        return frames == 0 ? 0 : nanos[phase] / frames;
+    }
+
+    /**
+     * @return Frames started since the last reset
+     */
+    long frames() {
+        return frames;
+    }
+
+    /**
+     * Clears every total.
+     */
+    void reset() {
+        Arrays.fill(nanos, 0);
+        frames = 0;
+    }
+}
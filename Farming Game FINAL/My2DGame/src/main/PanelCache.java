@@ -0,0 +1,107 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Keeps a pre-rendered copy of a UI panel so it is only redrawn when its data changes
+ */
+
+package main;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import render.RasterBlitter;
+import render.RasterSprite;
+
+/**
+ * An offscreen image holding one rendered UI panel (inventory, dialogue box).
+ * The panel is tagged with the version of the data it was drawn from; while the
+ * version stays the same, drawing the panel is a single image copy. Panels are
+ * laid out in screen pixels; a cache with a scale renders them that much larger
+ * so a bigger window still gets a plain copy, not a scaled draw. The image is
+ * kept with premultiplied alpha, which Java2D copies onto an RGB frame without
+ * dividing by alpha at every pixel.
+ */
+final class PanelCache {
+    private final int width, height;
+    private final double scale; // Window pixels per screen pixel
+    private BufferedImage image; // Rendered panel, transparent outside the window. Made on first redraw
+    private Graphics2D g2; // Kept open so redraws reuse fonts and paint state
+    private long version = -1; // Data version the image was rendered from
+    private RasterSprite raster; // The image cut for the software renderer, null until needed
+
+    /**
+     * Creates an empty panel cache.
+     *
+     * @param width  Panel width in screen pixels
+     * @param height Panel height in screen pixels
+     * @param scale  Window pixels per screen pixel
+     */
+    PanelCache(int width, int height, double scale) {
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+    }
+
+    /**
+     * Checks if the panel needs to be redrawn
+     *
+     * @param version Current version of the panel's data
+     * @return true if the image was drawn from a different version
+     */
+    boolean isStale(long version) {
+        return this.version != version;
+    }
+
+    /**
+     * Clears the panel and returns the graphics to redraw it with
+     *
+     * @param version Version of the data about to be drawn
+     * @return Graphics for the cleared panel image
+     */
+    Graphics2D redraw(long version) {
+        this.version = version;
+        raster = null;
+        if (image == null) {
+            // Headless games never draw, so they never pay for the image
+            image = new BufferedImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale),
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+            g2 = image.createGraphics();
+            g2.scale(scale, scale);
+        }
+        Composite old = g2.getComposite();
+        g2.setComposite(AlphaComposite.Clear);
+        g2.fillRect(0, 0, width + 1, height + 1);
+        g2.setComposite(old);
+        return g2;
+    }
+
+    /**
+     * Forces a redraw the next time the panel is drawn
+     */
+    void invalidate() {
+        version = -1;
+    }
+
+    /**
+     * Copies the panel onto the frame
+     *
+     * @param target  Frame graphics
+     * @param blitter Software renderer for the frame, or null to draw with Java2D
+     * @param x       Panel x position in screen pixels
+     * @param y       Panel y position in screen pixels
+     */
+    void draw(Graphics2D target, RasterBlitter blitter, int x, int y) {
+        int left = (int) Math.round(x * scale);
+        int top = (int) Math.round(y * scale);
+        if (blitter != null) {
+            // Cut once per redraw, the text and window are then blended from spans
+            if (raster == null) {
+                raster = RasterSprite.of(image);
+            }
+            blitter.draw(raster, left, top);
+        } else {
+            target.drawImage(image, left, top, null);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: The questions and messages the game puts to the player, so something other than a dialog box can answer them
+ */
+
+package main;
+
+/**
+ * Every choice the game asks the player to make (what to plant, what to trade,
+ * confirming a purchase) and every message it shows goes through a Prompter.
+ * The window uses {@link DialogPrompter}, which shows option panes; a
+ * {@link Bot} answers them itself so the game can be played headless.
+ * Prompters are called on the game thread from inside
+ * {@link GamePanel#update()}.
+ */
+public interface Prompter {
+    /**
+     * Asks the player to pick one of several options.
+     *
+     * @param title   Title of the question
+     * @param message Question to ask
+     * @param choices Options to choose from
+     * @return The chosen option, or null if nothing was chosen
+     */
+    String choose(String title, String message, String[] choices);
+
+    /**
+     * Asks the player a yes/no question.
+     *
+     * @param title   Title of the question
+     * @param message Question to ask
+     * @param options Labels for the yes and no answers, or null for Yes/No
+     * @return true if the player said yes
+     */
+    boolean confirm(String title, String message, String[] options);
+
+    /**
+     * Tells the player something, like a receipt.
+     *
+     * @param message Message to show
+     */
+    void inform(String message);
+
+    /**
+     * Tells the player something went wrong, like not having enough gold.
+     *
+     * @param title   Title of the error
+     * @param message Error to show
+     */
+    void error(String title, String message);
+}
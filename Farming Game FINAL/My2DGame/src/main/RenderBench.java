@@ -0,0 +1,239 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Headless render benchmark that times scripted scenes and checks them against golden images
+ */
+
+package main;
+
+import asset.AssetLoader;
+import asset.GameArt;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.imageio.ImageIO;
+
+/**
+ * Draws the game without a screen. Each scripted scene (the full farm with a
+ * crop growing and farm hands walking, the inventory open, a dialogue open) is
+ * played from a new game for a fixed number of ticks, and the frame it ends on
+ * is compared with a golden image. The scene then keeps running while frames
+ * are timed, and the frames per second and the time spent in each phase of
+ * {@link GamePanel#paintComponent} are printed. Every scene is drawn with
+ * Java2D and with the software renderer, at full resolution and through the
+ * 3x low resolution buffer. Both renderers are checked against the same
+ * image, so they also have to agree with each other.
+ * <p>
+ * {@code java main.RenderBench [frames] [golden folder] [--update]}, run from
+ * the folder holding My2DGame. {@code --update} writes the golden images from
+ * Java2D instead of checking them, and checks the software renderer against
+ * the new images. Exits with status 1 if any frame differs, so it can be run
+ * as a build step.
+ */
+public final class RenderBench {
+    static final int DEFAULT_FRAMES = 600; // Frames timed per scene
+    static final String DEFAULT_GOLDEN = "My2DGame/golden";
+    static final int WARMUP_FRAMES = 500; // Frames drawn before timing a scene
+    static final int SCRIPT_TICKS = 700; // Ticks a scene is played before its frame is checked
+    static final int FARM_HANDS = 4; // Fixed so the farm looks the same whatever the command line says
+    static final int TOLERANCE = 1; // Largest difference allowed per colour channel
+    static final String[] SCENES = { "farm", "inventory", "dialogue" };
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional frame count, golden image folder and --update
+     * @throws IOException if the art or the golden images cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("game.farmHands", Integer.toString(FARM_HANDS));
+        boolean update = false;
+        int frames = DEFAULT_FRAMES;
+        Path golden = Paths.get(DEFAULT_GOLDEN);
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.equals("--update")) {
+                update = true;
+            } else if (positional++ == 0) {
+                frames = Integer.parseInt(arg);
+            } else {
+                golden = Paths.get(arg);
+            }
+        }
+        Files.createDirectories(golden);
+
+        AssetLoader assets = new AssetLoader();
+        GameArt art = GamePanel.loadArt(assets);
+        // New games with no save, and nowhere the real one could be overwritten
+        Path saveFolder = Files.createTempDirectory("render-bench");
+        Path saveFile = saveFolder.resolve("inventory.txt");
+
+        boolean ok = true;
+        String[] renderers = { "java2d", "raster" };
+        String[] scales = { "0", "3" };
+        for (String scale : scales) {
+            System.setProperty("game.pixelScale", scale);
+            for (String renderer : renderers) {
+                System.setProperty("game.renderer", renderer);
+                for (int scene = 0; scene < SCENES.length; scene++) {
+                    GamePanel gp = new GamePanel(assets, art, saveFile);
+                    String image = SCENES[scene] + (gp.pixelScale > 0 ? "-native" + gp.pixelScale : "") + ".png";
+                    // Java2D draws the golden images, the software renderer is checked against them
+                    boolean write = update && renderer.equals(renderers[0]);
+                    ok &= run(gp, scene, renderer, golden.resolve(image), write, frames);
+                }
+            }
+        }
+        Files.deleteIfExists(saveFile);
+        Files.deleteIfExists(saveFolder);
+
+        if (update) {
+            System.out.println("Golden images written to " + golden.toAbsolutePath());
+        } else {
+            System.out.println(ok ? "Golden check: OK" : "Golden check: FAILED");
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Plays one scene, checks or writes its golden image and times its frames.
+     *
+     * @param gp       New game to draw
+     * @param scene    Index of the scene
+     * @param renderer Name of the renderer, for the printout
+     * @param golden   Golden image for the scene
+     * @param write    true to write the golden image instead of checking it
+     * @param frames   Frames timed
+     * @return true if the frame matched the golden image, or it was written
+     * @throws IOException if the golden image cannot be read or written
+     */
+    private static boolean run(GamePanel gp, int scene, String renderer, Path golden, boolean write, int frames)
+            throws IOException {
+        BufferedImage frame = new BufferedImage(gp.VIEW_WIDTH, gp.VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = frame.createGraphics();
+        gp.firstFrameDrawn = true; // Nothing to report, the art was loaded once for every game
+        gp.tickLength = 0; // Frames drawn at the latest tick, not partway to the next
+
+        setScene(gp, scene);
+        for (int tick = 0; tick < SCRIPT_TICKS; tick++) {
+            steer(gp, tick);
+            gp.update();
+        }
+        gp.paintComponent(g2);
+
+        boolean ok = true;
+        if (write) {
+            ImageIO.write(frame, "png", golden.toFile());
+        } else if (!Files.exists(golden)) {
+            System.out.println("Missing golden image " + golden + ", run with --update to create it");
+            ok = false;
+        } else {
+            ok = matches(frame, ImageIO.read(golden.toFile()), golden);
+        }
+
+        // Keep the scene running while frames are timed
+        PaintTimer timer = new PaintTimer();
+        for (int i = 0; i < WARMUP_FRAMES + frames; i++) {
+            if (i == WARMUP_FRAMES) {
+                gp.paintTimer = timer;
+            }
+            steer(gp, SCRIPT_TICKS + i);
+            gp.update();
+            gp.paintComponent(g2);
+        }
+        gp.paintTimer = null;
+        g2.dispose();
+
+        long total = 0;
+        StringBuilder phases = new StringBuilder();
+        for (int phase = 0; phase < PaintTimer.NAMES.length; phase++) {
+            long nanos = timer.averageNanos(phase);
+            total += nanos;
+            phases.append(String.format(" %s %d us", PaintTimer.NAMES[phase], nanos / 1000));
+        }
+        System.out.printf("%-9s %-6s %-7s %6.0f fps, %d us/frame:%s%s%n", SCENES[scene], renderer,
+                gp.pixelScale > 0 ? gp.pixelScale + "x" : "full", 1e9 / total, total / 1000, phases,
+                ok ? "" : "  [golden mismatch]");
+        return ok;
+    }
+
+    /**
+     * Puts a new game into one of the scripted scenes
+     *
+     * @param gp    Game to set up
+     * @param scene Index of the scene
+     */
+    private static void setScene(GamePanel gp, int scene) {
+        gp.itemCount[0] = 500;
+        gp.itemCount[4] = 12;
+        gp.itemCount[6] = 3;
+        gp.inventoryVersion++;
+        if (scene == 0) {
+            gp.cropPlot.plant("Potato");
+        } else if (scene == 1) {
+            gp.gameState = gp.INVENTORY_STATE;
+        } else if (scene == 2) {
+            gp.gameState = gp.DIALOGUE_STATE;
+            gp.setCurrentDialogue("Hello! I'm a merchant.");
+        }
+    }
+
+    /**
+     * Walks the player left and right on the farm so the scene keeps changing.
+     *
+     * @param gp   Game being played
+     * @param tick Ticks since the scene began
+     */
+    private static void steer(GamePanel gp, int tick) {
+        boolean right = (tick / 60) % 2 == 0;
+        gp.keyH.rightPressed = gp.gameState == gp.PLAY_STATE && right;
+        gp.keyH.leftPressed = gp.gameState == gp.PLAY_STATE && !right;
+    }
+
+    /**
+     * Compares a frame with its golden image to within {@link #TOLERANCE} per
+     * colour channel. On a mismatch the differing pixels are written next to
+     * the golden image, white on black, so a build can keep them.
+     *
+     * @param frame  Frame drawn
+     * @param golden Golden image
+     * @param path   Where the golden image is
+     * @return true if they match
+     * @throws IOException if the difference image cannot be written
+     */
+    private static boolean matches(BufferedImage frame, BufferedImage golden, Path path) throws IOException {
+        if (frame.getWidth() != golden.getWidth() || frame.getHeight() != golden.getHeight()) {
+            System.out.println(path + " is " + golden.getWidth() + "x" + golden.getHeight() + ", the frame is "
+                    + frame.getWidth() + "x" + frame.getHeight());
+            return false;
+        }
+        BufferedImage diff = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+        int differing = 0, worst = 0;
+        for (int y = 0; y < frame.getHeight(); y++) {
+            for (int x = 0; x < frame.getWidth(); x++) {
+                int p = frame.getRGB(x, y), q = golden.getRGB(x, y);
+                int largest = 0;
+                for (int shift = 0; shift < 24; shift += 8) {
+                    largest = Math.max(largest, Math.abs(((p >> shift) & 0xFF) - ((q >> shift) & 0xFF)));
+                }
+                if (largest > TOLERANCE) {
+                    differing++;
+                    diff.setRGB(x, y, 0xFFFFFF);
+                }
+                worst = Math.max(worst, largest);
+            }
+        }
+        if (differing == 0) {
+            return true;
+        }
+        String name = path.getFileName().toString();
+        Path out = path.resolveSibling(name.substring(0, name.length() - 4) + ".diff.png");
+        ImageIO.write(diff, "png", out.toFile());
+        System.out.println(path + ": " + differing + " pixels differ, by up to " + worst + ", see " + out);
+        return false;
+    }
+}
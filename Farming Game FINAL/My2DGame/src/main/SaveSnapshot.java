@@ -0,0 +1,64 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: A frozen copy of the saveable game state, captured between ticks so it can be written in the background
+ */
+
+package main;
+
+/**
+ * Holds a consistent image of the saveable world. Snapshots are reused by the
+ * {@link SaveWorker} so capturing one never allocates.
+ */
+final class SaveSnapshot {
+    /**
+     * Copy of the inventory counts at the time of capture.
+     */
+    final int[] itemCount;
+
+    /**
+     * True if the inventory changed since the last snapshot, so the inventory
+     * file needs writing.
+     */
+    boolean inventoryChanged;
+
+    /**
+     * Newest encoding of every world chunk, each in its own fixed part, and
+     * the length of each.
+     */
+    final byte[] world = new byte[WorldFile.TOTAL_PAYLOAD];
+    final int[] worldLength = new int[WorldFile.MAX_CHUNKS];
+
+    /**
+     * World chunks that changed since the last snapshot, one bit each.
+     */
+    long worldChanged;
+
+    /**
+     * The tick number the snapshot was taken on.
+     */
+    long tick;
+
+    /**
+     * Creates an empty snapshot sized for the given inventory.
+     *
+     * @param inventorySize number of inventory slots to hold
+     */
+    SaveSnapshot(int inventorySize) {
+        itemCount = new int[inventorySize];
+    }
+
+    /**
+     * Copies the current world state into this snapshot. Must be called on the
+     * game thread at a tick boundary so nothing is mid-update.
+     *
+     * @param gp   the game panel to copy from
+     * @param tick the tick that just finished
+     */
+    void capture(GamePanel gp, long tick) {
+        System.arraycopy(gp.itemCount, 0, itemCount, 0, itemCount.length);
+        inventoryChanged = gp.inventoryVersion != gp.savedVersion;
+        gp.worldFile.capture(this);
+        this.tick = tick;
+    }
+}
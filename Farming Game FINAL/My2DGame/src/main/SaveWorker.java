@@ -0,0 +1,144 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Background thread that writes save snapshots to disk so the game loop never waits on file I/O
+ */
+
+package main;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes {@link SaveSnapshot}s on a background thread. Two snapshot buffers are
+ * passed back and forth (double buffering): the game thread fills a free one at
+ * a tick boundary and hands it over, the worker writes it and gives it back.
+ * If both buffers are still busy the save is skipped and the next one will
+ * carry the newer state anyway. A buffer always comes back, even if writing it
+ * fails; the error is kept for the game thread to report.
+ */
+final class SaveWorker implements Runnable {
+    private final GamePanel gp; // Used for the actual file writing
+    private final ArrayBlockingQueue<SaveSnapshot> free = new ArrayBlockingQueue<>(2); // Buffers ready to fill
+    private final ArrayBlockingQueue<SaveSnapshot> pending = new ArrayBlockingQueue<>(2); // Buffers waiting to be written
+    private Thread thread;
+    private Executor executor; // Writes saves instead of the thread when set
+    private volatile String failure; // Last write error the game thread has not reported yet
+
+    /**
+     * Creates the worker and its two snapshot buffers.
+     *
+     * @param gp the game panel whose state is being saved
+     */
+    SaveWorker(GamePanel gp) {
+        this.gp = gp;
+        free.add(new SaveSnapshot(gp.itemCount.length));
+        free.add(new SaveSnapshot(gp.itemCount.length));
+    }
+
+    /**
+     * Starts the background writer thread.
+     */
+    void start() {
+        thread = new Thread(this, "save-worker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Captures the world and queues it for writing. Called from the game thread
+     * between ticks; the only work done here is a copy of the state.
+     *
+     * @param tick the tick that just finished
+     * @return true if the snapshot was queued, false if the writer is still busy
+     */
+    boolean requestSave(long tick) {
+        SaveSnapshot snapshot = free.poll();
+        if (snapshot == null) {
+            return false;
+        }
+        snapshot.capture(gp, tick);
+        pending.add(snapshot);
+        if (executor != null) {
+            executor.execute(this::writeNext);
+        }
+        return true;
+    }
+
+    /**
+     * Uses an executor to write saves instead of a thread of its own. Each
+     * queued snapshot becomes one task; a single-threaded executor keeps them in
+     * order.
+     *
+     * @param executor the executor to write on
+     */
+    void start(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Writes the oldest queued snapshot, if any, and returns its buffer.
+     */
+    private void writeNext() {
+        SaveSnapshot snapshot = pending.poll();
+        if (snapshot != null) {
+            write(snapshot);
+        }
+    }
+
+    /**
+     * Writes the inventory if it changed, and the world chunks that changed,
+     * then returns the buffer.
+     */
+    private void write(SaveSnapshot snapshot) {
+        try {
+            if (snapshot.inventoryChanged) {
+                gp.writeToDisk(snapshot.itemCount);
+            }
+            gp.worldFile.write(snapshot);
+        } catch (RuntimeException e) {
+            failed("Error saving: " + e);
+        } finally {
+            free.add(snapshot);
+        }
+    }
+
+    /**
+     * Keeps a write error for the game thread to report. Called on the writer.
+     *
+     * @param message What went wrong
+     */
+    void failed(String message) {
+        failure = message;
+    }
+
+    /**
+     * Takes the last write error, so it is only reported once. Called on the
+     * game thread.
+     *
+     * @return The error, or null if every write since the last call worked
+     */
+    String takeFailure() {
+        String message = failure;
+        if (message != null) {
+            failure = null;
+        }
+        return message;
+    }
+
+    /**
+     * Writer loop. Takes captured snapshots, writes them, and returns the buffer.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            SaveSnapshot snapshot;
+            try {
+                snapshot = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            write(snapshot);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Runs many bot-played games at once, headless, and reports how fast they run
+ */
+
+package main;
+
+import asset.AssetLoader;
+import asset.GameArt;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.ref.Reference;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soak and scaling test. Creates a number of headless games, each played by a
+ * {@link Bot}, and runs them in parallel at unlimited speed for a stretch of
+ * game time. Prints ticks per second, trades per second and the heap each
+ * session still holds once it has played, measured with the games still in
+ * use. Saves are requested on the normal schedule but not written.
+ * Run from the folder holding inventory.txt:
+ * {@code java main.Soak [sessions] [game minutes] [threads]}
+ */
+public final class Soak {
+    static final int DEFAULT_SESSIONS = 4;
+    static final int DEFAULT_MINUTES = 60;
+    static final int GC_SAMPLES = 5; // Collections per heap reading, the lowest is kept
+    static final int WARMUP_TICKS = 3600; // Ticks played by a throwaway game before the heap baseline
+
+    /**
+     * Entry point of the run
+     *
+     * @param args optional session count, game minutes and thread count
+     * @throws Exception if a session fails
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        int minutes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MINUTES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long target = minutes * 60000L;
+
+        // The game prints as it plays, keep that out of the report
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        AssetLoader assets = new AssetLoader();
+        GameArt art = GamePanel.loadArt(assets);
+        // One game played briefly first, so what every game shares is already in the baseline
+        GamePanel warmup = new GamePanel(assets, art, Paths.get(GamePanel.SAVE_FILE));
+        Bot warmupBot = new Bot(warmup);
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            warmupBot.act();
+            warmup.tick();
+        }
+        warmup = null;
+        warmupBot = null;
+        long heapBefore = usedHeap();
+        List<GamePanel> games = new ArrayList<>();
+        List<Bot> bots = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            GamePanel gp = new GamePanel(assets, art, Paths.get(GamePanel.SAVE_FILE));
+            games.add(gp);
+            bots.add(new Bot(gp));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> runs = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            GamePanel gp = games.get(i);
+            Bot bot = bots.get(i);
+            runs.add(pool.submit(() -> {
+                while (gp.clock.millis() < target) {
+                    bot.act();
+                    gp.tick();
+                }
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        System.setOut(out);
+
+        // Measured after playing, so caches and buffers filled during the run count
+        long heapPerSession = (usedHeap() - heapBefore) / sessions;
+        Reference.reachabilityFence(games);
+        Reference.reachabilityFence(bots);
+
+        long ticks = 0;
+        long trades = 0;
+        for (int i = 0; i < sessions; i++) {
+            Bot bot = bots.get(i);
+            System.out.println("Session " + i + ": " + games.get(i).tickCount + " ticks, " + bot.trades
+                    + " trades, " + bot.trophies + " trophies, " + bot.errors + " errors");
+            ticks += games.get(i).tickCount;
+            trades += bot.trades;
+        }
+        System.out.println(sessions + " sessions x " + minutes + " game minutes on " + threads + " threads in "
+                + String.format("%.2f", wallSeconds) + " s");
+        System.out.println("Ticks/s: " + Math.round(ticks / wallSeconds) + " | Trades/s: "
+                + Math.round(trades / wallSeconds) + " | Heap/session: "
+                + (heapPerSession > 0 ? heapPerSession / 1024 + " KB" : "too small to measure"));
+    }
+
+    /**
+     * Reads the heap in use after several garbage collections and keeps the
+     * lowest, since a single collection can leave garbage behind.
+     *
+     * @return Bytes of heap in use
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < GC_SAMPLES; i++) {
+            System.gc();
+            least = Math.min(least, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return least;
+    }
+}
@@ -0,0 +1,360 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Chunked binary save of the world beside the inventory, written a changed chunk at a time
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import trace.Trace;
+
+/**
+ * Saves the parts of the world the inventory file does not hold: the game
+ * clock, where the player stands, the crop plot with its growth and boosts,
+ * the player's achievements and quests, and where every farm hand is in its
+ * round. Each of these is a chunk with
+ * two fixed slots in the file. A save writes only the chunks whose bytes
+ * changed since they were last saved, each into the slot that does not hold
+ * its newest copy, so the cost of a save follows what changed and a save cut
+ * short leaves the older copy to load.
+ * <p>
+ * The file is big-endian: an {@value #HEADER_BYTES} byte header (magic
+ * "FFWS", version, three spare bytes), then two slots per chunk, in chunk
+ * order. Slots are {@value #SLOT_BYTES} bytes, or
+ * {@value #PROGRESS_SLOT_BYTES} for the progress chunk. A slot holds a
+ * sequence number that goes up each time the chunk is written, the payload
+ * length, the payload, and a CRC32 of everything before it. Loading takes
+ * the slot with the higher sequence whose checksum matches. Version 1 files,
+ * from before progress was saved, still load, and are rewritten whole by the
+ * next save.
+ * <p>
+ * Changes are spotted on the game thread by encoding every chunk and
+ * comparing it with its last encoding, which never allocates. Writing
+ * happens on the save worker.
+ */
+final class WorldFile {
+    static final int MAGIC = 0x46465753; // "FFWS"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 8;
+    static final int SLOT_BYTES = 32;
+    static final int PROGRESS_SLOT_BYTES = 224; // Room for the game's goals with every stat at its largest
+    static final int MAX_PAYLOAD = SLOT_BYTES - 9; // Less the sequence, length and checksum
+    static final int PROGRESS_PAYLOAD = PROGRESS_SLOT_BYTES - 9;
+
+    // Chunks, in file order. The clock comes first since the others' times are measured by it
+    static final int CLOCK = 0, PLAYER = 1, CROP_PLOT = 2, PROGRESS = 3, FARM_HANDS = 4; // The first farm hand
+    static final int MAX_CHUNKS = FARM_HANDS + GamePanel.MAX_FARM_HANDS;
+    static final int TOTAL_PAYLOAD = payloadBase(MAX_CHUNKS); // Payload bytes of every chunk together
+
+    // Chunks whose changes call for a save. The clock and the farm hands never
+    // stop changing, so they are only written along with something else
+    static final long TRIGGERS = 1L << PLAYER | 1L << CROP_PLOT | 1L << PROGRESS;
+
+    private final Path file;
+    private final int chunks;
+
+    // Game thread
+    private final byte[] latest = new byte[TOTAL_PAYLOAD]; // Newest encoding of every chunk
+    private final int[] latestLength = new int[MAX_CHUNKS];
+    private final ByteBuffer scratch = ByteBuffer.allocate(PROGRESS_PAYLOAD);
+    private long changed = 0; // Chunks changed since the last snapshot, one bit each
+
+    // Save worker
+    private final int[] sequence = new int[MAX_CHUNKS]; // Sequence of each chunk's newest slot on disk
+    private final ByteBuffer slot = ByteBuffer.allocate(PROGRESS_SLOT_BYTES);
+    private final CRC32 crc = new CRC32();
+    private boolean headerWritten = false; // False until the file is known to be ours
+    private long unwritten = 0; // Chunks a failed save did not write, tried again next time
+
+    /**
+     * @param file      File to save to
+     * @param farmHands Number of farm hands in the game
+     */
+    WorldFile(Path file, int farmHands) {
+        this.file = file;
+        chunks = FARM_HANDS + farmHands;
+    }
+
+    /**
+     * Encodes every chunk and notes the ones that changed since the last
+     * call. Runs on the game thread between ticks.
+     *
+     * @param gp Game to look at
+     * @return true if a change calls for a save
+     */
+    boolean track(GamePanel gp) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            scratch.clear().limit(payloadBytes(chunk));
+            encode(gp, chunk, scratch);
+            int length = scratch.position();
+            int base = payloadBase(chunk);
+            boolean same = length == latestLength[chunk];
+            for (int i = 0; same && i < length; i++) {
+                same = latest[base + i] == scratch.get(i);
+            }
+            if (!same) {
+                scratch.flip();
+                scratch.get(latest, base, length);
+                latestLength[chunk] = length;
+                changed |= 1L << chunk;
+            }
+        }
+        return (changed & TRIGGERS) != 0;
+    }
+
+    /**
+     * Copies the newest encoding of every chunk into a snapshot, marking the
+     * ones that changed, and starts looking for changes afresh.
+     *
+     * @param snapshot Snapshot being captured
+     */
+    void capture(SaveSnapshot snapshot) {
+        System.arraycopy(latest, 0, snapshot.world, 0, payloadBase(chunks));
+        System.arraycopy(latestLength, 0, snapshot.worldLength, 0, chunks);
+        snapshot.worldChanged = changed;
+        changed = 0;
+    }
+
+    /**
+     * Writes a snapshot's changed chunks, each into its older slot. Runs on
+     * the save worker.
+     *
+     * @param snapshot Snapshot to write
+     */
+    void write(SaveSnapshot snapshot) {
+        long pending = snapshot.worldChanged | unwritten;
+        if (!headerWritten) {
+            pending = (1L << chunks) - 1; // Starting the file afresh, so everything goes in
+        }
+        if (pending == 0) {
+            return;
+        }
+        Trace.Save trace = Trace.save();
+        long bytes = 0;
+        try {
+            Path folder = file.toAbsolutePath().getParent();
+            if (folder != null) {
+                Files.createDirectories(folder);
+            }
+        } catch (IOException e) {
+            System.err.println("Error creating save folder: " + e.getMessage());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (!headerWritten) {
+                // Whatever was there may hold slots with higher sequences than ours
+                channel.truncate(0);
+                slot.clear();
+                slot.putInt(MAGIC).put((byte) VERSION).put((byte) 0).putShort((short) 0).flip();
+                bytes += channel.write(slot, 0);
+            }
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                if ((pending & 1L << chunk) == 0) {
+                    continue;
+                }
+                int next = sequence[chunk] + 1;
+                int length = snapshot.worldLength[chunk];
+                int size = slotBytes(chunk);
+                Arrays.fill(slot.array(), (byte) 0);
+                slot.clear().limit(size);
+                slot.putInt(next).put((byte) length).put(snapshot.world, payloadBase(chunk), length);
+                crc.reset();
+                crc.update(slot.array(), 0, slot.position());
+                slot.putInt(size - 4, (int) crc.getValue());
+                slot.clear().limit(size);
+                bytes += channel.write(slot, slotOffset(chunk, next));
+                sequence[chunk] = next;
+            }
+            headerWritten = true;
+            unwritten = 0;
+        } catch (IOException e) {
+            unwritten = pending;
+            System.err.println("Error writing world save: " + e.getMessage());
+        }
+        if (trace != null) {
+            trace.end(file, false, bytes);
+        }
+    }
+
+    /**
+     * Loads every chunk the file holds into the game. Chunks that are missing
+     * or damaged keep their new game state and are written by the next save;
+     * the rest are only written again once they change. Runs on the game
+     * thread before the game starts.
+     *
+     * @param gp Game to load into
+     */
+    void read(GamePanel gp) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Trace.Save trace = Trace.save();
+        long loaded = 0;
+        long bytes = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = ByteBuffer.allocate((int) Math.min(channel.size(), slotOffset(MAX_CHUNKS, 0)));
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+            data.flip();
+            bytes = data.limit();
+            int version = data.limit() < HEADER_BYTES || data.getInt(0) != MAGIC ? 0 : data.get(4);
+            if (version != VERSION && version != 1) {
+                System.err.println("Ignoring " + file + ", it is not a world save this game wrote");
+                return;
+            }
+            headerWritten = version == VERSION; // An older file is rewritten whole by the next save
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int best = newestSlot(data, chunk, version);
+                if (best < 0) {
+                    continue;
+                }
+                sequence[chunk] = data.getInt(best);
+                int length = data.get(best + 4) & 0xFF;
+                ByteBuffer payload = data.duplicate();
+                payload.limit(best + 5 + length).position(best + 5);
+                try {
+                    decode(gp, chunk, payload);
+                    loaded |= 1L << chunk;
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    System.err.println("Skipping chunk " + chunk + " of " + file + ": " + e);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading world save: " + e.getMessage());
+        } finally {
+            if (trace != null) {
+                trace.end(file, true, bytes);
+            }
+        }
+        // What was loaded is already on disk
+        track(gp);
+        changed &= ~loaded;
+    }
+
+    /**
+     * @return Size of a chunk's slots
+     */
+    private static int slotBytes(int chunk) {
+        return chunk == PROGRESS ? PROGRESS_SLOT_BYTES : SLOT_BYTES;
+    }
+
+    /**
+     * @return Largest payload a chunk can hold
+     */
+    private static int payloadBytes(int chunk) {
+        return slotBytes(chunk) - (SLOT_BYTES - MAX_PAYLOAD);
+    }
+
+    /**
+     * @return Where a chunk's payload starts in a buffer holding every chunk's
+     *         payload in turn
+     */
+    private static int payloadBase(int chunk) {
+        return chunk * MAX_PAYLOAD + (chunk > PROGRESS ? PROGRESS_PAYLOAD - MAX_PAYLOAD : 0);
+    }
+
+    /**
+     * @return Offset of the slot holding a chunk's copy with a given sequence
+     */
+    private static long slotOffset(int chunk, int sequence) {
+        long first = HEADER_BYTES + 2L * chunk * SLOT_BYTES
+                + (chunk > PROGRESS ? 2L * (PROGRESS_SLOT_BYTES - SLOT_BYTES) : 0);
+        return first + (sequence & 1) * (long) slotBytes(chunk);
+    }
+
+    /**
+     * @param data    Whole file
+     * @param chunk   Chunk to look for
+     * @param version Version of the file. Version 1 had no progress chunk and
+     *                every slot the same size
+     * @return Offset of the chunk's newest slot with a matching checksum, or
+     *         -1 if it has none
+     */
+    private int newestSlot(ByteBuffer data, int chunk, int version) {
+        if (version == 1 && chunk == PROGRESS) {
+            return -1;
+        }
+        int v1Chunk = chunk > PROGRESS ? chunk - 1 : chunk;
+        int best = -1;
+        for (int copy = 0; copy < 2; copy++) {
+            long offset = version == 1 ? HEADER_BYTES + (2L * v1Chunk + copy) * SLOT_BYTES : slotOffset(chunk, copy);
+            int size = version == 1 ? SLOT_BYTES : slotBytes(chunk);
+            if (offset + size > data.limit()) {
+                break;
+            }
+            int at = (int) offset;
+            int length = data.get(at + 4) & 0xFF;
+            if (data.getInt(at) <= 0 || length > size - (SLOT_BYTES - MAX_PAYLOAD)) {
+                continue;
+            }
+            crc.reset();
+            crc.update(data.array(), at, 5 + length);
+            if (data.getInt(at + size - 4) == (int) crc.getValue()
+                    && (best < 0 || data.getInt(at) > data.getInt(best))) {
+                best = at;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes one chunk's state.
+     */
+    private static void encode(GamePanel gp, int chunk, ByteBuffer out) {
+        switch (chunk) {
+            case CLOCK:
+                out.putLong(gp.clock.nanos());
+                out.putLong(gp.clock.ticks());
+                break;
+            case PLAYER:
+                gp.player.writeState(out);
+                break;
+            case CROP_PLOT:
+                gp.cropPlot.writeState(out);
+                break;
+            case PROGRESS:
+                gp.progress.writeState(out);
+                break;
+            default:
+                gp.farmHands[chunk - FARM_HANDS].writeState(out);
+                break;
+        }
+    }
+
+    /**
+     * Puts one chunk's state back into the game.
+     */
+    private static void decode(GamePanel gp, int chunk, ByteBuffer in) {
+        switch (chunk) {
+            case CLOCK:
+                long nanos = in.getLong();
+                long ticks = in.getLong();
+                if (nanos < 0 || ticks < 0) {
+                    throw new IllegalArgumentException("Negative game time");
+                }
+                gp.clock.restore(nanos, ticks);
+                break;
+            case PLAYER:
+                gp.player.readState(in);
+                break;
+            case CROP_PLOT:
+                gp.cropPlot.readState(in);
+                break;
+            case PROGRESS:
+                gp.progress.readState(in);
+                break;
+            default:
+                gp.farmHands[chunk - FARM_HANDS].readState(in);
+                break;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Seed and crop prices set by NPC traders and the player posting orders into an order book per good
+ */
+
+package market;
+
+/**
+ * The farm's economy. Every good the merchant sells or the farmer buys has an
+ * {@link OrderBook}, priced per lot as in the trade menus. A few times a second
+ * a crowd of NPC traders posts buy and sell orders around the current price,
+ * pulled gently back toward the good's usual price, and the books match them.
+ * The player's trades are posted too: buying seeds lifts the asks and selling
+ * crops hits the bids, so prices follow supply and demand. The price quoted
+ * in the menus is the last trade in each book. Ticking allocates nothing.
+ */
+public final class Market {
+    // Goods, in the order of the merchant's then the farmer's menu
+    public static final int WHEAT_SEED = 0, CARROT_SEED = 1, POTATO_SEED = 2;
+    public static final int WHEAT = 3, CARROTS = 4, POTATOES = 5;
+    public static final int GOODS = 6;
+    public static final int[] BASE_PRICES = { 10, 40, 100, 20, 50, 150 }; // Usual gold per lot
+    public static final int[] LOTS = { 1, 1, 1, 20, 10, 20 }; // Items per lot
+
+    public static final int DEFAULT_TRADERS = 4; // NPC orders per good per round
+    public static final int SPREAD_PERCENT = 8; // How far NPC prices stray from the reference, in percent
+    static final int ROUND_TICKS = 6; // Ticks between rounds of NPC orders
+    static final int BOOK_CAPACITY = 32; // Orders resting per good
+    static final int PLAYER_LOTS = 4; // Lots the player's trades weigh in the book
+    static final int NPC = 0, PLAYER = 1; // Order owners
+
+    private final OrderBook[] books = new OrderBook[GOODS];
+    private final int traders;
+    private long random; // Xorshift state
+    private int ticks; // Ticks since the last round
+
+    /**
+     * Creates a market with every good at its usual price.
+     *
+     * @param traders NPC orders posted per good each round, 0 for a quiet market
+     * @param seed    Seed for the NPC traders, the same seed gives the same prices
+     */
+    public Market(int traders, long seed) {
+        this.traders = traders;
+        random = seed != 0 ? seed : 1;
+        for (int good = 0; good < GOODS; good++) {
+            int base = BASE_PRICES[good];
+            books[good] = new OrderBook(Math.max(1, base / 2), base * 2, BOOK_CAPACITY, base);
+        }
+    }
+
+    /**
+     * Runs one game tick. Every {@link #ROUND_TICKS} ticks the NPC traders post
+     * a round of orders into every book.
+     */
+    public void tick() {
+        if (++ticks < ROUND_TICKS) {
+            return;
+        }
+        ticks = 0;
+        for (int good = 0; good < GOODS; good++) {
+            OrderBook book = books[good];
+            // Traders value the good near the last price, drifting back toward the usual one
+            int reference = (3 * book.lastPrice() + BASE_PRICES[good] + 2) / 4;
+            int spread = Math.max(1, reference * SPREAD_PERCENT / 100);
+            for (int i = 0; i < traders; i++) {
+                int side = nextInt(2);
+                int price = reference + nextInt(2 * spread + 1) - spread;
+                book.submit(side, clamp(book, price), 1 + nextInt(3), NPC);
+            }
+        }
+    }
+
+    /**
+     * Posts the demand of a player who just bought a lot, bidding a little
+     * over the price so it takes the cheapest asks.
+     *
+     * @param good Good bought
+     */
+    public void playerBought(int good) {
+        OrderBook book = books[good];
+        int price = book.lastPrice();
+        book.submit(OrderBook.BUY, clamp(book, price + Math.max(1, price * SPREAD_PERCENT / 100)), PLAYER_LOTS,
+                PLAYER);
+    }
+
+    /**
+     * Posts the supply of a player who just sold a lot, asking a little under
+     * the price so it takes the best bids.
+     *
+     * @param good Good sold
+     */
+    public void playerSold(int good) {
+        OrderBook book = books[good];
+        int price = book.lastPrice();
+        book.submit(OrderBook.SELL, clamp(book, price - Math.max(1, price * SPREAD_PERCENT / 100)), PLAYER_LOTS,
+                PLAYER);
+    }
+
+    /**
+     * @param good Good to price
+     * @return Gold per lot, the last price traded
+     */
+    public int price(int good) {
+        return books[good].lastPrice();
+    }
+
+    /**
+     * @param good Good to look up
+     * @return Its order book
+     */
+    public OrderBook book(int good) {
+        return books[good];
+    }
+
+    /**
+     * Keeps a price inside a book's range.
+     */
+    private static int clamp(OrderBook book, int price) {
+        return Math.max(book.minPrice, Math.min(book.maxPrice, price));
+    }
+
+    /**
+     * @param bound Exclusive upper bound
+     * @return Next pseudo random number from 0 to bound - 1
+     */
+    private int nextInt(int bound) {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) ((random >>> 1) % bound);
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times order matching with a large stream of random orders and checks the fills against a simple reference book
+ */
+
+package market;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Benchmark for {@link OrderBook} and {@link Market}. Feeds a stream of
+ * random limit orders, about half of them crossing the spread, into one book
+ * around a wandering price. Prints orders and matches per second and the bytes
+ * allocated per order. Then replays the start of the stream into a fresh book
+ * and into a plain TreeMap book, and checks both made the same fills in the
+ * same order and ended with the same book. Last it times the game's market
+ * ticking with a large crowd of NPC traders.
+ * {@code java market.MarketBench [orders] [NPC traders per good]}
+ */
+public final class MarketBench {
+    static final int DEFAULT_ORDERS = 2000000;
+    static final int DEFAULT_TRADERS = 2000;
+    static final int WARMUP_PASSES = 3; // Passes over the stream before timing
+    static final int CHECKED_ORDERS = 200000; // Orders replayed into the reference book
+    static final int MIN_PRICE = 1, MAX_PRICE = 1000;
+    static final int CAPACITY = 1024; // Orders resting at once
+    static final int MARKET_TICKS = 6000; // Game ticks timed, a hundred seconds of play
+    static final long SEED = 42;
+    // Looked up once, since looking it up allocates
+    static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional order count and NPC traders per good
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ORDERS;
+        int traders = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TRADERS;
+        Orders orders = new Orders(count);
+
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            replay(new OrderBook(MIN_PRICE, MAX_PRICE, CAPACITY, 500), orders, count);
+        }
+        OrderBook book = new OrderBook(MIN_PRICE, MAX_PRICE, CAPACITY, 500);
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        replay(book, orders, count);
+        long nanos = System.nanoTime() - start;
+        long bytes = allocatedBytes() - allocated;
+        System.out.printf("Order book (%d price levels, %d orders resting): %,.0f orders/s, %,.0f matches/s, "
+                + "%d ns/order, %d B/order, %d orders dropped when full%n", MAX_PRICE - MIN_PRICE + 1, CAPACITY,
+                count * 1e9 / nanos, book.fills() * 1e9 / nanos, nanos / count, bytes / count, book.dropped());
+
+        boolean ok = check(orders, Math.min(count, CHECKED_ORDERS));
+        System.out.println(ok ? "Reference check: OK" : "Reference check: FAILED");
+
+        // The game's market with a crowd of NPC traders posting every round
+        Market market = new Market(traders, SEED);
+        for (int t = 0; t < MARKET_TICKS; t++) {
+            market.tick();
+        }
+        long fills = 0;
+        for (int good = 0; good < Market.GOODS; good++) {
+            fills -= market.book(good).fills();
+        }
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        for (int t = 0; t < MARKET_TICKS; t++) {
+            market.tick();
+        }
+        nanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - allocated;
+        StringBuilder prices = new StringBuilder();
+        for (int good = 0; good < Market.GOODS; good++) {
+            fills += market.book(good).fills();
+            prices.append(good == 0 ? "" : ", ").append(market.price(good));
+        }
+        System.out.printf("Market (%d traders per good): %d us/tick, %,.0f matches/s, %d B allocated, prices %s%n",
+                traders, nanos / MARKET_TICKS / 1000, fills * 1e9 / nanos, bytes, prices);
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Posts every order of a stream into a book.
+     */
+    private static void replay(OrderBook book, Orders orders, int count) {
+        for (int i = 0; i < count; i++) {
+            book.submit(orders.side[i], orders.price[i], orders.quantity[i], i);
+        }
+    }
+
+    /**
+     * Replays orders into a fresh book and the reference book and compares
+     * every fill and the books left behind.
+     *
+     * @return true if they agree
+     */
+    private static boolean check(Orders orders, int count) {
+        OrderBook book = new OrderBook(MIN_PRICE, MAX_PRICE, CAPACITY, 500);
+        FillLog log = new FillLog();
+        book.setListener(log);
+        ReferenceBook reference = new ReferenceBook();
+        for (int i = 0; i < count; i++) {
+            book.submit(orders.side[i], orders.price[i], orders.quantity[i], i);
+            reference.submit(orders.side[i], orders.price[i], orders.quantity[i], i);
+        }
+        boolean ok = log.fills == reference.fills && log.checksum == reference.checksum
+                && book.volume() == reference.volume && book.dropped() == reference.dropped
+                && book.restingOrders() == reference.bidOrders + reference.askOrders
+                && book.bestBid() == reference.bestBid() && book.bestAsk() == reference.bestAsk();
+        if (!ok) {
+            System.out.println("Book: " + log.fills + " fills, volume " + book.volume() + ", dropped "
+                    + book.dropped() + ", bid " + book.bestBid() + ", ask " + book.bestAsk());
+            System.out.println("Reference: " + reference.fills + " fills, volume " + reference.volume
+                    + ", dropped " + reference.dropped + ", bid " + reference.bestBid() + ", ask "
+                    + reference.bestAsk());
+        }
+        return ok;
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or 0 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    /**
+     * Adds one fill to a running checksum.
+     */
+    static long mix(long checksum, int price, int quantity, int buyer, int seller) {
+        checksum = checksum * 31 + price;
+        checksum = checksum * 31 + quantity;
+        checksum = checksum * 31 + buyer;
+        return checksum * 31 + seller;
+    }
+
+    /**
+     * A stream of random limit orders around a price that wanders.
+     */
+    private static final class Orders {
+        final int[] side, price, quantity;
+
+        Orders(int count) {
+            Random random = new Random(SEED);
+            side = new int[count];
+            price = new int[count];
+            quantity = new int[count];
+            int mid = (MIN_PRICE + MAX_PRICE) / 2;
+            for (int i = 0; i < count; i++) {
+                mid = Math.max(MIN_PRICE + 50, Math.min(MAX_PRICE - 50, mid + random.nextInt(3) - 1));
+                side[i] = random.nextInt(2);
+                price[i] = mid + random.nextInt(41) - 20;
+                quantity[i] = 1 + random.nextInt(10);
+            }
+        }
+    }
+
+    /**
+     * Checksums the fills a book reports.
+     */
+    private static final class FillLog implements OrderBook.FillListener {
+        long fills, checksum;
+
+        @Override
+        public void filled(int price, int quantity, int buyer, int seller) {
+            fills++;
+            checksum = mix(checksum, price, quantity, buyer, seller);
+        }
+    }
+
+    /**
+     * The same matching rules written the obvious way, with a sorted map of
+     * queues per side. Each order is { quantity, owner }.
+     */
+    private static final class ReferenceBook {
+        final TreeMap<Integer, ArrayDeque<int[]>> bids = new TreeMap<>(Collections.reverseOrder());
+        final TreeMap<Integer, ArrayDeque<int[]>> asks = new TreeMap<>();
+        int bidOrders, askOrders;
+        long fills, volume, dropped, checksum;
+
+        void submit(int side, int price, int quantity, int owner) {
+            TreeMap<Integer, ArrayDeque<int[]>> opposite = side == OrderBook.BUY ? asks : bids;
+            while (quantity > 0 && !opposite.isEmpty()) {
+                Map.Entry<Integer, ArrayDeque<int[]>> best = opposite.firstEntry();
+                int level = best.getKey();
+                if (side == OrderBook.BUY ? level > price : level < price) {
+                    break;
+                }
+                int[] order = best.getValue().peekFirst();
+                int traded = Math.min(quantity, order[0]);
+                fills++;
+                volume += traded;
+                checksum = side == OrderBook.BUY ? mix(checksum, level, traded, owner, order[1])
+                        : mix(checksum, level, traded, order[1], owner);
+                quantity -= traded;
+                order[0] -= traded;
+                if (order[0] == 0) {
+                    best.getValue().pollFirst();
+                    if (side == OrderBook.BUY) {
+                        askOrders--;
+                    } else {
+                        bidOrders--;
+                    }
+                    if (best.getValue().isEmpty()) {
+                        opposite.remove(level);
+                    }
+                }
+            }
+            if (quantity == 0) {
+                return;
+            }
+            if (bidOrders + askOrders == CAPACITY) {
+                // Oldest order at the worst price of the busier side
+                dropped++;
+                TreeMap<Integer, ArrayDeque<int[]>> busier = bidOrders >= askOrders ? bids : asks;
+                Map.Entry<Integer, ArrayDeque<int[]>> worst = busier.lastEntry();
+                worst.getValue().pollFirst();
+                if (worst.getValue().isEmpty()) {
+                    busier.remove(worst.getKey());
+                }
+                if (busier == bids) {
+                    bidOrders--;
+                } else {
+                    askOrders--;
+                }
+            }
+            TreeMap<Integer, ArrayDeque<int[]>> own = side == OrderBook.BUY ? bids : asks;
+            own.computeIfAbsent(price, p -> new ArrayDeque<>()).addLast(new int[] { quantity, owner });
+            if (side == OrderBook.BUY) {
+                bidOrders++;
+            } else {
+                askOrders++;
+            }
+        }
+
+        int bestBid() {
+            return bids.isEmpty() ? 0 : bids.firstKey();
+        }
+
+        int bestAsk() {
+            return asks.isEmpty() ? 0 : asks.firstKey();
+        }
+    }
+}
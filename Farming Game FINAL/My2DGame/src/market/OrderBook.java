@@ -0,0 +1,387 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Limit order book for one good, matched by price then time, kept in flat arrays indexed by price
+ */
+
+package market;
+
+import java.util.Arrays;
+
+/**
+ * Buy and sell orders for one good at whole gold prices between
+ * {@link #minPrice} and {@link #maxPrice}. An incoming order first trades with
+ * the best opposite orders, at their price, oldest first at each price, and
+ * whatever is left rests in the book.
+ * <p>
+ * Each price has one slot in three int arrays: the quantity resting there and
+ * the first and last order queued at it. Bids and asks share the slots, since
+ * after matching every bid is below every ask. Orders come from a fixed pool of
+ * int arrays linked into a queue per price. Nothing is allocated after
+ * construction. When the pool runs out, the oldest order at the worst price on
+ * the busier side is dropped to make room, the way stale quotes expire in a
+ * busy market.
+ */
+public final class OrderBook {
+    public static final int BUY = 0, SELL = 1;
+    static final int NONE = -1; // Empty link
+
+    public final int minPrice, maxPrice;
+
+    // By price level (price - minPrice)
+    private final int[] levelQuantity; // Total quantity resting at the price
+    private final int[] levelHead; // Oldest order at the price
+    private final int[] levelTail; // Newest order at the price
+
+    // By order slot
+    private final int[] orderQuantity; // Quantity still open
+    private final int[] orderOwner; // Whoever posted the order
+    private final int[] orderNext; // Next order at the same price, or next free slot
+    private int free; // First free slot
+
+    // Ends of each side, as levels. Empty sides point past the array
+    private int bestBid, worstBid, bestAsk, worstAsk;
+    private int bidOrders, askOrders; // Orders resting on each side
+
+    private int lastPrice; // Price of the latest trade
+    private long volume; // Quantity traded
+    private long fills; // Trades made, one per pair of orders matched
+    private long dropped; // Orders dropped to make room
+    private FillListener listener; // Told about every fill, may be null
+
+    /**
+     * Told about each trade as it is matched.
+     */
+    public interface FillListener {
+        /**
+         * @param price    Price of the trade, the resting order's
+         * @param quantity Quantity traded
+         * @param buyer    Owner of the buy order
+         * @param seller   Owner of the sell order
+         */
+        void filled(int price, int quantity, int buyer, int seller);
+    }
+
+    /**
+     * Creates an empty book.
+     *
+     * @param minPrice     Lowest price an order can have, at least 1
+     * @param maxPrice     Highest price an order can have
+     * @param capacity     Orders that can rest at once
+     * @param openingPrice Price reported until the first trade
+     */
+    public OrderBook(int minPrice, int maxPrice, int capacity, int openingPrice) {
+        if (minPrice < 1 || maxPrice < minPrice || capacity < 1) {
+            throw new IllegalArgumentException("Bad order book range " + minPrice + "-" + maxPrice + " or capacity "
+                    + capacity);
+        }
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        int levels = maxPrice - minPrice + 1;
+        levelQuantity = new int[levels];
+        levelHead = new int[levels];
+        levelTail = new int[levels];
+        orderQuantity = new int[capacity];
+        orderOwner = new int[capacity];
+        orderNext = new int[capacity];
+        lastPrice = Math.max(minPrice, Math.min(maxPrice, openingPrice));
+        clear();
+    }
+
+    /**
+     * Removes every resting order. The last price and counters are kept.
+     */
+    public void clear() {
+        Arrays.fill(levelQuantity, 0);
+        Arrays.fill(levelHead, NONE);
+        Arrays.fill(levelTail, NONE);
+        for (int i = 0; i < orderNext.length; i++) {
+            orderNext[i] = i + 1 < orderNext.length ? i + 1 : NONE;
+        }
+        free = 0;
+        bidOrders = 0;
+        askOrders = 0;
+        resetBids();
+        resetAsks();
+    }
+
+    /**
+     * Sets who is told about fills.
+     *
+     * @param listener Listener, or null for none
+     */
+    public void setListener(FillListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Posts a limit order. It trades with resting orders on the other side
+     * priced at or better than its limit, best price first and oldest first
+     * at each price. The rest of it joins the book.
+     *
+     * @param side     {@link #BUY} or {@link #SELL}
+     * @param price    Highest price to buy at or lowest to sell at
+     * @param quantity Quantity wanted, at least 1
+     * @param owner    Reported to the fill listener
+     * @return Quantity traded straight away
+     */
+    public int submit(int side, int price, int quantity, int owner) {
+        if (price < minPrice || price > maxPrice || quantity < 1) {
+            throw new IllegalArgumentException("Order of " + quantity + " at " + price + " is outside "
+                    + minPrice + "-" + maxPrice);
+        }
+        int level = price - minPrice;
+        int left = side == BUY ? buy(level, quantity, owner) : sell(level, quantity, owner);
+        if (left > 0) {
+            rest(side, level, left, owner);
+        }
+        return quantity - left;
+    }
+
+    /**
+     * Matches a buy order against the asks.
+     *
+     * @return Quantity left over
+     */
+    private int buy(int limit, int quantity, int owner) {
+        while (quantity > 0 && askOrders > 0 && bestAsk <= limit) {
+            int level = bestAsk;
+            int order = levelHead[level];
+            int traded = Math.min(quantity, orderQuantity[order]);
+            fill(level, traded, owner, orderOwner[order]);
+            quantity -= traded;
+            if (take(level, order, traded)) {
+                askOrders--;
+                askLevelEmptied(level);
+            }
+        }
+        return quantity;
+    }
+
+    /**
+     * Matches a sell order against the bids.
+     *
+     * @return Quantity left over
+     */
+    private int sell(int limit, int quantity, int owner) {
+        while (quantity > 0 && bidOrders > 0 && bestBid >= limit) {
+            int level = bestBid;
+            int order = levelHead[level];
+            int traded = Math.min(quantity, orderQuantity[order]);
+            fill(level, traded, orderOwner[order], owner);
+            quantity -= traded;
+            if (take(level, order, traded)) {
+                bidOrders--;
+                bidLevelEmptied(level);
+            }
+        }
+        return quantity;
+    }
+
+    /**
+     * Records a trade.
+     */
+    private void fill(int level, int quantity, int buyer, int seller) {
+        lastPrice = level + minPrice;
+        volume += quantity;
+        fills++;
+        if (listener != null) {
+            listener.filled(lastPrice, quantity, buyer, seller);
+        }
+    }
+
+    /**
+     * Takes quantity from the oldest order at a level, freeing it once empty.
+     *
+     * @return true if the order was used up
+     */
+    private boolean take(int level, int order, int quantity) {
+        orderQuantity[order] -= quantity;
+        levelQuantity[level] -= quantity;
+        if (orderQuantity[order] > 0) {
+            return false;
+        }
+        popHead(level);
+        return true;
+    }
+
+    /**
+     * Unlinks the oldest order at a level and frees its slot.
+     */
+    private void popHead(int level) {
+        int order = levelHead[level];
+        levelHead[level] = orderNext[order];
+        if (levelHead[level] == NONE) {
+            levelTail[level] = NONE;
+        }
+        orderNext[order] = free;
+        free = order;
+    }
+
+    /**
+     * Queues what is left of an order at its price, making room first if the
+     * pool is full.
+     */
+    private void rest(int side, int level, int quantity, int owner) {
+        if (free == NONE) {
+            dropWorst();
+        }
+        int order = free;
+        free = orderNext[order];
+        orderQuantity[order] = quantity;
+        orderOwner[order] = owner;
+        orderNext[order] = NONE;
+        if (levelTail[level] == NONE) {
+            levelHead[level] = order;
+        } else {
+            orderNext[levelTail[level]] = order;
+        }
+        levelTail[level] = order;
+        levelQuantity[level] += quantity;
+
+        if (side == BUY) {
+            bidOrders++;
+            bestBid = bidOrders == 1 ? level : Math.max(bestBid, level);
+            worstBid = bidOrders == 1 ? level : Math.min(worstBid, level);
+        } else {
+            askOrders++;
+            bestAsk = askOrders == 1 ? level : Math.min(bestAsk, level);
+            worstAsk = askOrders == 1 ? level : Math.max(worstAsk, level);
+        }
+    }
+
+    /**
+     * Drops the oldest order at the worst price of the side holding more
+     * orders: the lowest bid or the highest ask.
+     */
+    private void dropWorst() {
+        dropped++;
+        if (bidOrders >= askOrders) {
+            int level = worstBid;
+            levelQuantity[level] -= orderQuantity[levelHead[level]];
+            popHead(level);
+            bidOrders--;
+            bidLevelEmptied(level);
+        } else {
+            int level = worstAsk;
+            levelQuantity[level] -= orderQuantity[levelHead[level]];
+            popHead(level);
+            askOrders--;
+            askLevelEmptied(level);
+        }
+    }
+
+    /**
+     * Moves the ends of the bids in past a level that may have just emptied.
+     */
+    private void bidLevelEmptied(int level) {
+        if (levelHead[level] != NONE) {
+            return;
+        }
+        if (bidOrders == 0) {
+            resetBids();
+            return;
+        }
+        // Other bids remain, so both scans stop inside the side
+        if (level == bestBid) {
+            while (levelHead[bestBid] == NONE) {
+                bestBid--;
+            }
+        }
+        if (level == worstBid) {
+            while (levelHead[worstBid] == NONE) {
+                worstBid++;
+            }
+        }
+    }
+
+    /**
+     * Moves the ends of the asks in past a level that may have just emptied.
+     */
+    private void askLevelEmptied(int level) {
+        if (levelHead[level] != NONE) {
+            return;
+        }
+        if (askOrders == 0) {
+            resetAsks();
+            return;
+        }
+        if (level == bestAsk) {
+            while (levelHead[bestAsk] == NONE) {
+                bestAsk++;
+            }
+        }
+        if (level == worstAsk) {
+            while (levelHead[worstAsk] == NONE) {
+                worstAsk--;
+            }
+        }
+    }
+
+    private void resetBids() {
+        bestBid = NONE;
+        worstBid = levelQuantity.length;
+    }
+
+    private void resetAsks() {
+        bestAsk = levelQuantity.length;
+        worstAsk = NONE;
+    }
+
+    /**
+     * @return Highest bid price, or 0 if there are no bids
+     */
+    public int bestBid() {
+        return bidOrders > 0 ? bestBid + minPrice : 0;
+    }
+
+    /**
+     * @return Lowest ask price, or 0 if there are no asks
+     */
+    public int bestAsk() {
+        return askOrders > 0 ? bestAsk + minPrice : 0;
+    }
+
+    /**
+     * @param price Price to look at
+     * @return Total quantity resting at the price, bids or asks
+     */
+    public int quantityAt(int price) {
+        return price < minPrice || price > maxPrice ? 0 : levelQuantity[price - minPrice];
+    }
+
+    /**
+     * @return Price of the latest trade, or the opening price before any
+     */
+    public int lastPrice() {
+        return lastPrice;
+    }
+
+    /**
+     * @return Orders resting on both sides
+     */
+    public int restingOrders() {
+        return bidOrders + askOrders;
+    }
+
+    /**
+     * @return Total quantity traded
+     */
+    public long volume() {
+        return volume;
+    }
+
+    /**
+     * @return Trades made, one for each pair of orders matched
+     */
+    public long fills() {
+        return fills;
+    }
+
+    /**
+     * @return Orders dropped because the book was full
+     */
+    public long dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Connection to a farm server that sends input and keeps an up to date copy of the farm
+ */
+
+package net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Client side of the farm protocol. Sends movement flags and actions, and
+ * rebuilds the farm from the server's delta snapshots into {@link #state()}.
+ * The socket is non-blocking so one thread can drive many clients with a
+ * selector; call {@link #read()} when the channel is readable.
+ */
+public final class FarmClient {
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(FarmServer.OUT_CAPACITY);
+    private final ByteBuffer out = ByteBuffer.allocate(256);
+    private WorldState state = new WorldState(); // Latest snapshot
+    private WorldState next = new WorldState(); // Decoded into, then swapped with state
+    private int id = -1;
+
+    long snapshots = 0, messages = 0;
+    long bytesIn = 0, bytesOut = 0;
+    String lastMessage = "";
+
+    /**
+     * Connects to a server.
+     *
+     * @param address Server address
+     * @throws IOException if the connection fails
+     */
+    public FarmClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        channel.configureBlocking(false);
+    }
+
+    /**
+     * @return The socket, for registering with a selector
+     */
+    public SocketChannel channel() {
+        return channel;
+    }
+
+    /**
+     * @return This client's player ID, or -1 before the server's welcome
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return The farm as of the latest snapshot
+     */
+    public WorldState state() {
+        return state;
+    }
+
+    /**
+     * Sends the movement keys being held.
+     *
+     * @param flags Protocol.UP, DOWN, LEFT and RIGHT combined
+     * @throws IOException if the connection fails
+     */
+    public void sendInput(int flags) throws IOException {
+        int start = Protocol.beginFrame(out, Protocol.INPUT);
+        out.put((byte) flags);
+        Protocol.endFrame(out, start);
+        flush();
+    }
+
+    /**
+     * Asks the server to run an action.
+     *
+     * @param action Protocol.PLANT, HARVEST, BUY or SELL
+     * @param option Crop or offer index
+     * @throws IOException if the connection fails
+     */
+    public void sendAction(int action, int option) throws IOException {
+        int start = Protocol.beginFrame(out, Protocol.ACTION);
+        out.put((byte) action);
+        out.put((byte) option);
+        Protocol.endFrame(out, start);
+        flush();
+    }
+
+    /**
+     * Writes queued output. Whatever the socket does not take stays queued.
+     *
+     * @throws IOException if the connection fails
+     */
+    private void flush() throws IOException {
+        out.flip();
+        bytesOut += channel.write(out);
+        out.compact();
+    }
+
+    /**
+     * Reads what the server sent and applies every complete frame.
+     *
+     * @return false once the server has closed the connection
+     * @throws IOException if the connection fails
+     */
+    public boolean read() throws IOException {
+        int read = channel.read(in);
+        if (read < 0) {
+            return false;
+        }
+        bytesIn += read;
+
+        in.flip();
+        while (in.remaining() >= Protocol.HEADER_BYTES) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (in.remaining() < length + 2) {
+                break;
+            }
+            int end = in.position() + 2 + length;
+            in.position(in.position() + 2);
+            byte type = in.get();
+            if (type == Protocol.WELCOME) {
+                id = Protocol.getVarInt(in);
+            } else if (type == Protocol.SNAPSHOT) {
+                next.decode(state, in);
+                WorldState previous = state;
+                state = next;
+                next = previous;
+                snapshots++;
+            } else if (type == Protocol.MESSAGE) {
+                lastMessage = new String(in.array(), in.position(), end - in.position(), StandardCharsets.UTF_8);
+                messages++;
+            }
+            in.position(end);
+        }
+        in.compact();
+        return true;
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if closing fails
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+}
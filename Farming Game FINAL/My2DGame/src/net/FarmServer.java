@@ -0,0 +1,556 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Runs one shared farm and lets many players play on it over the network
+ */
+
+package net;
+
+import entity.FarmHand;
+import entity.Player;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import main.GamePanel;
+import main.KeyHandler;
+import main.Prompter;
+
+/**
+ * Authoritative server for a shared farm. One headless {@link GamePanel} holds
+ * the farm (inventory, crop plot, merchant and farmer) and every connected
+ * client gets its own {@link Player} on it. Everything runs on one thread: a
+ * {@link Selector} handles the non-blocking sockets between ticks, and each
+ * tick applies the clients' input, runs the simulation and sends snapshots.
+ * <p>
+ * Clients only send input: the movement keys they hold and actions (plant,
+ * harvest, buy, sell). The server checks each action against where that
+ * client's player is standing before running it through the same trade and
+ * planting code the single-player game uses. Receipts and errors go back to
+ * the client that acted. Snapshots are delta-compressed, see
+ * {@link WorldState}.
+ */
+public final class FarmServer implements Runnable, Prompter {
+    public static final int DEFAULT_PORT = 7777;
+    static final int SNAPSHOT_INTERVAL = 3; // Ticks between snapshots (20 a second)
+    static final int MERCHANT_ID = 0, FARMER_ID = 1, FIRST_FARM_HAND_ID = 2, FIRST_PLAYER_ID = 16; // Entity IDs in snapshots
+    static final int OUT_CAPACITY = 64 * 1024; // Bytes queued per client before snapshots are skipped
+    static final int MAX_ACTIONS = 16; // Actions queued per client per tick
+    static final long MAX_CATCH_UP = 250000000; // Most time (ns) the loop catches up on after a stall
+
+    private final GamePanel world;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final List<Connection> connections = new ArrayList<>();
+    private final WorldState current = new WorldState(); // Snapshot being sent this tick
+    private final ByteBuffer scratch = ByteBuffer.allocate(Protocol.MAX_FRAME); // Frame being encoded
+    private WorldState received = new WorldState(); // Decoded into, then swapped with a client's sent state
+    private Connection acting; // Client whose action is running, receives the messages
+    private int nextId = FIRST_PLAYER_ID;
+    private volatile boolean running = true;
+    boolean verbose = false; // Print stats every second
+
+    // Totals, read once the server has stopped
+    volatile long ticks = 0; // Also read while running, to wait for the clients to catch up
+    long tickNanos = 0; // Time spent in ticks, including encoding and writing snapshots
+    long maxTickNanos = 0;
+    long bytesIn = 0, bytesOut = 0;
+    long snapshotsSent = 0, snapshotBytes = 0, snapshotsSkipped = 0;
+    long snapshotsSplit = 0; // Snapshots too big for one frame, finished in the ones after
+    long failedTicks = 0;
+
+    /**
+     * One connected client.
+     */
+    static final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final int id;
+        final KeyHandler keys; // Movement flags set from INPUT messages
+        final Player player;
+        final ByteBuffer in = ByteBuffer.allocate(Protocol.MAX_FRAME);
+        final ByteBuffer out = ByteBuffer.allocate(OUT_CAPACITY);
+        WorldState sent = new WorldState(); // The farm as this client has it, from the snapshots written to it
+        int nextEntityId = 0; // Where the next snapshot starts if the last one did not fit in a frame
+        final int[] actions = new int[MAX_ACTIONS]; // Queued actions, (action << 8) | option
+        int actionCount = 0;
+
+        Connection(SocketChannel channel, SelectionKey key, int id, GamePanel world) {
+            this.channel = channel;
+            this.key = key;
+            this.id = id;
+            this.keys = new KeyHandler(world);
+            this.player = new Player(world, keys);
+        }
+    }
+
+    /**
+     * Opens the server socket. The farm is not touched until {@link #run()}.
+     *
+     * @param world Headless game holding the farm
+     * @param port  Port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public FarmServer(GamePanel world, int port) throws IOException {
+        this.world = world;
+        world.prompter = this;
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * @return The port the server is listening on
+     */
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Stops the server loop. Connections stay open until {@link #close()}, so
+     * the final state can still be inspected.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * The server loop: wait for socket events until the next tick is due, then
+     * tick. Runs until {@link #stop()}.
+     */
+    @Override
+    public void run() {
+        long tickInterval = 1000000000 / GamePanel.TICK_RATE;
+        long nextTick = System.nanoTime();
+        long timer = nextTick;
+        long windowTicks = 0, windowNanos = 0, windowIn = 0, windowOut = 0;
+
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 1000000) {
+                    selector.select(wait / 1000000);
+                } else {
+                    selector.selectNow();
+                }
+                handleEvents();
+
+                long now = System.nanoTime();
+                if (now - nextTick > MAX_CATCH_UP) {
+                    nextTick = now;
+                }
+                if (now >= nextTick) {
+                    try {
+                        tick();
+                    } catch (RuntimeException e) {
+                        // Keep serving, a farm that stops ticking strands every client
+                        if (failedTicks++ == 0) {
+                            System.out.println("Farm server tick failed:");
+                            e.printStackTrace(System.out);
+                        }
+                    }
+                    nextTick += tickInterval;
+                }
+
+                if (verbose && now - timer >= 1000000000) {
+                    int clients = Math.max(1, connections.size());
+                    long tickCount = Math.max(1, ticks - windowTicks);
+                    System.out.println("Clients: " + connections.size() + " | Ticks: " + (ticks - windowTicks)
+                            + " | Tick: " + (tickNanos - windowNanos) / tickCount / 1000 + " us | Out/client: "
+                            + (bytesOut - windowOut) / clients + " B/s | In/client: " + (bytesIn - windowIn) / clients
+                            + " B/s" + (failedTicks > 0 ? " | Failed ticks: " + failedTicks : ""));
+                    windowTicks = ticks;
+                    windowNanos = tickNanos;
+                    windowIn = bytesIn;
+                    windowOut = bytesOut;
+                    timer = now;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Farm server stopped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes every connection and the server socket. Call after the loop has
+     * stopped.
+     */
+    public void close() {
+        for (Connection c : new ArrayList<>(connections)) {
+            disconnect(c);
+        }
+        try {
+            selector.close();
+            server.close();
+        } catch (IOException e) {
+            System.out.println("Error closing server socket: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts new clients and reads input from, or finishes writing to,
+     * existing ones.
+     *
+     * @throws IOException if the server socket fails
+     */
+    private void handleEvents() throws IOException {
+        Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+        while (selected.hasNext()) {
+            SelectionKey key = selected.next();
+            selected.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Connection c = (Connection) key.attachment();
+            if (key.isReadable()) {
+                read(c);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(c);
+            }
+        }
+    }
+
+    /**
+     * Accepts a client, gives it a player and tells it its ID.
+     *
+     * @throws IOException if the server socket fails
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        Connection c = new Connection(channel, key, nextId++, world);
+        key.attach(c);
+        connections.add(c);
+        world.animations.add(c.player);
+
+        int start = Protocol.beginFrame(c.out, Protocol.WELCOME);
+        Protocol.putVarInt(c.out, c.id);
+        Protocol.endFrame(c.out, start);
+        flush(c);
+    }
+
+    /**
+     * Reads whatever the client sent and handles every complete frame.
+     *
+     * @param c Client to read from
+     */
+    private void read(Connection c) {
+        int read;
+        try {
+            read = c.channel.read(c.in);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            disconnect(c);
+            return;
+        }
+        bytesIn += read;
+
+        ByteBuffer in = c.in;
+        in.flip();
+        while (in.remaining() >= Protocol.HEADER_BYTES) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (length < 1 || length > in.capacity() - 2) {
+                disconnect(c); // Not speaking the protocol
+                return;
+            }
+            if (in.remaining() < length + 2) {
+                break;
+            }
+            int end = in.position() + 2 + length;
+            in.position(in.position() + 2);
+            byte type = in.get();
+            if (type == Protocol.INPUT && length >= 2) {
+                int flags = in.get();
+                c.keys.upPressed = (flags & Protocol.UP) != 0;
+                c.keys.downPressed = (flags & Protocol.DOWN) != 0;
+                c.keys.leftPressed = (flags & Protocol.LEFT) != 0;
+                c.keys.rightPressed = (flags & Protocol.RIGHT) != 0;
+            } else if (type == Protocol.ACTION && length >= 3 && c.actionCount < MAX_ACTIONS) {
+                int action = in.get() & 0xFF;
+                int option = in.get() & 0xFF;
+                c.actions[c.actionCount++] = (action << 8) | option;
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    /**
+     * Runs one server tick: actions, movement, the farm simulation, then
+     * snapshots.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < connections.size(); i++) {
+            Connection c = connections.get(i);
+            acting = c;
+            for (int a = 0; a < c.actionCount; a++) {
+                runAction(c, c.actions[a] >> 8, c.actions[a] & 0xFF);
+            }
+            c.actionCount = 0;
+            acting = null;
+
+            c.player.savePosition();
+            c.player.update();
+        }
+        world.tick();
+        ticks++;
+
+        if (ticks % SNAPSHOT_INTERVAL == 0) {
+            captureInto(current);
+            for (int i = 0; i < connections.size(); i++) {
+                sendSnapshot(connections.get(i));
+            }
+        }
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            Connection c = connections.get(i);
+            if (c.out.position() > 0) {
+                flush(c);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        tickNanos += elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+    }
+
+    /**
+     * Runs an action for a client if its player is standing in the right place.
+     *
+     * @param c      Client acting
+     * @param action One of the Protocol actions
+     * @param option Crop or offer index
+     */
+    private void runAction(Connection c, int action, int option) {
+        Player player = c.player;
+        switch (action) {
+            case Protocol.PLANT:
+                if (player.getNextToCropPlot() && !world.cropPlot.isPlanted
+                        && option < world.plantableCrops.length) {
+                    world.plantCrop(world.plantableCrops[option]);
+                    return;
+                }
+                break;
+            case Protocol.HARVEST:
+                if (player.getNextToCropPlot() && world.cropPlot.isPlanted) {
+                    world.harvestCrop();
+                    return;
+                }
+                break;
+            case Protocol.BUY:
+                if (player.getNextToMerchant() && option < world.merchantItemsForSale.length) {
+                    world.merchantTrade(option);
+                    return;
+                }
+                break;
+            case Protocol.SELL:
+                if (player.getNextToFarmer() && option < world.farmerItemsForSale.length) {
+                    world.farmerTrade(option);
+                    return;
+                }
+                break;
+        }
+        message(c, "You can't do that here");
+    }
+
+    /**
+     * Fills a snapshot from the farm and the players.
+     *
+     * @param state Snapshot to fill
+     */
+    void captureInto(WorldState state) {
+        state.tick = (int) ticks;
+        System.arraycopy(world.itemCount, 0, state.world, 0, WorldState.ITEMS);
+        state.world[WorldState.CROP_SPRITE] = world.cropPlot.spriteId();
+
+        state.clearEntities();
+        state.addEntity(MERCHANT_ID, world.merchant.getX(), world.merchant.getY(), world.merchant.getSprite());
+        state.addEntity(FARMER_ID, world.farmer.getX(), world.farmer.getY(), world.farmer.getSprite());
+        for (int i = 0; i < world.farmHands.length; i++) {
+            FarmHand hand = world.farmHands[i];
+            state.addEntity(FIRST_FARM_HAND_ID + i, hand.getX(), hand.getY(), hand.getSprite());
+        }
+        for (int i = 0; i < connections.size(); i++) {
+            Player player = connections.get(i).player;
+            state.addEntity(connections.get(i).id, player.getX(), player.getY(), player.getSprite());
+        }
+    }
+
+    /**
+     * Queues the current snapshot for a client as a delta from the last one it
+     * was sent. If the client is too far behind to take it, it is skipped and
+     * the next one carries the changes instead. A delta bigger than a frame is
+     * cut short, the client's own player first, and the rest follows in the
+     * next snapshots.
+     *
+     * @param c Client to send to
+     */
+    private void sendSnapshot(Connection c) {
+        scratch.clear();
+        int start = Protocol.beginFrame(scratch, Protocol.SNAPSHOT);
+        int nextEntityId = current.encode(c.sent, scratch, scratch.capacity(), c.nextEntityId, c.id);
+        Protocol.endFrame(scratch, start);
+        if (c.out.remaining() < scratch.position()) {
+            snapshotsSkipped++;
+            return;
+        }
+        scratch.flip();
+        snapshotBytes += scratch.remaining();
+        c.out.put(scratch);
+        if (nextEntityId != 0) {
+            snapshotsSplit++;
+        }
+        c.nextEntityId = nextEntityId;
+        // Apply the frame the way the client will, so the next delta is from what it has
+        scratch.position(start + Protocol.HEADER_BYTES);
+        received.decode(c.sent, scratch);
+        WorldState sent = c.sent;
+        c.sent = received;
+        received = sent;
+        snapshotsSent++;
+    }
+
+    /**
+     * Queues a text message for a client.
+     *
+     * @param c    Client to send to
+     * @param text Message
+     */
+    private void message(Connection c, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (c.out.remaining() < bytes.length + Protocol.HEADER_BYTES) {
+            return;
+        }
+        int start = Protocol.beginFrame(c.out, Protocol.MESSAGE);
+        c.out.put(bytes);
+        Protocol.endFrame(c.out, start);
+    }
+
+    /**
+     * Writes as much queued output as the socket takes, and asks to be told
+     * when it can take more if some is left.
+     *
+     * @param c Client to write to
+     */
+    private void flush(Connection c) {
+        c.out.flip();
+        try {
+            bytesOut += c.channel.write(c.out);
+        } catch (IOException e) {
+            c.out.clear();
+            disconnect(c);
+            return;
+        }
+        c.out.compact();
+        int ops = c.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (c.key.isValid() && c.key.interestOps() != ops) {
+            c.key.interestOps(ops);
+        }
+    }
+
+    /**
+     * Closes a client's connection and removes its player.
+     *
+     * @param c Client to remove
+     */
+    private void disconnect(Connection c) {
+        c.key.cancel();
+        try {
+            c.channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        world.animations.remove(c.player);
+        c.player.removeFromWorld();
+        connections.remove(c);
+    }
+
+    /**
+     * @return Number of connected clients
+     */
+    public int clientCount() {
+        return connections.size();
+    }
+
+    /**
+     * Finds a connected client's player, for checks after the server stopped.
+     *
+     * @param id Client ID
+     * @return The player, or null if no such client
+     */
+    Player player(int id) {
+        for (Connection c : connections) {
+            if (c.id == id) {
+                return c.player;
+            }
+        }
+        return null;
+    }
+
+    // Actions run on the server have no one to ask, so every question is
+    // declined and messages go to the client that acted
+
+    @Override
+    public String choose(String title, String message, String[] choices) {
+        return null;
+    }
+
+    @Override
+    public boolean confirm(String title, String message, String[] options) {
+        return false;
+    }
+
+    @Override
+    public void inform(String message) {
+        if (acting != null) {
+            message(acting, message);
+        }
+    }
+
+    @Override
+    public void error(String title, String message) {
+        if (acting != null) {
+            message(acting, title + " " + message);
+        }
+    }
+
+    /**
+     * Runs a dedicated server for the farm saved in the working folder.
+     *
+     * @param args optional port
+     * @throws IOException if the port cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GamePanel world = new GamePanel();
+        world.startAutosave();
+        FarmServer server = new FarmServer(world, port);
+        server.verbose = true;
+        System.out.println("Farm server listening on port " + server.port());
+        server.run();
+    }
+}
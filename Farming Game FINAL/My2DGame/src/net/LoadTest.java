@@ -0,0 +1,172 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Connects many loopback clients to a farm server and measures bandwidth and tick cost
+ */
+
+package net;
+
+import entity.Player;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Random;
+import main.GamePanel;
+
+/**
+ * Starts a {@link FarmServer} in this JVM and connects a number of clients to
+ * it over loopback. Each client wanders with random movement keys and now and
+ * then tries an action. At the end the clients stop, and each client's copy of
+ * the farm is checked against the server's. Prints the server's tick cost and
+ * the bandwidth per client.
+ * Run from the folder holding inventory.txt (it is read but not written):
+ * {@code java net.LoadTest [clients] [seconds]}
+ */
+public final class LoadTest {
+    static final int DEFAULT_CLIENTS = 100;
+    static final int DEFAULT_SECONDS = 10;
+    static final long CLIENT_TICK_NANOS = 1000000000 / GamePanel.TICK_RATE;
+    static final int SETTLE_TICKS = GamePanel.TICK_RATE / 2; // Server ticks the clients stand still for at the end
+    static final long MAX_SETTLE_NANOS = 60000000000L; // Longest wait for slow clients to catch up
+
+    /**
+     * Entry point of the test
+     *
+     * @param args optional client count and run time in seconds
+     * @throws Exception if the server or a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+
+        GamePanel world = new GamePanel();
+        FarmServer server = new FarmServer(world, 0);
+        Thread serverThread = new Thread(server, "farm-server");
+        serverThread.start();
+
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.port());
+        Selector selector = Selector.open();
+        FarmClient[] clients = new FarmClient[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = new FarmClient(address);
+            clients[i].channel().register(selector, SelectionKey.OP_READ, clients[i]);
+        }
+
+        // Wander for the run time, then stand still until every client has a snapshot from after stopping
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        long end = start + seconds * 1000000000L;
+        long nextClientTick = start;
+        while (System.nanoTime() < end) {
+            if (System.nanoTime() >= nextClientTick) {
+                nextClientTick += CLIENT_TICK_NANOS;
+                for (FarmClient client : clients) {
+                    if (random.nextInt(30) == 0) {
+                        client.sendInput(random.nextInt(16));
+                    }
+                    if (random.nextInt(300) == 0) {
+                        client.sendAction(Protocol.PLANT + random.nextInt(4), random.nextInt(3));
+                    }
+                }
+            }
+            readAll(selector, 1);
+        }
+        for (FarmClient client : clients) {
+            client.sendInput(0);
+        }
+        // A loaded server runs behind, so wait for its ticks, not for a set time
+        long settledTick = server.ticks + SETTLE_TICKS;
+        long settle = System.nanoTime() + MAX_SETTLE_NANOS;
+        while (System.nanoTime() < settle && !caughtUp(clients, settledTick)) {
+            readAll(selector, 10);
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        server.stop();
+        serverThread.join();
+
+        // Every client's copy of the farm should match the server's
+        int mismatches = 0;
+        for (FarmClient client : clients) {
+            WorldState state = client.state();
+            int index = state.indexOf(client.id());
+            Player player = server.player(client.id());
+            if (index < 0 || player == null || state.x(index) != player.getX() || state.y(index) != player.getY()) {
+                mismatches++;
+                continue;
+            }
+            for (int i = 0; i < WorldState.ITEMS; i++) {
+                if (state.world[i] != world.itemCount[i]) {
+                    mismatches++;
+                    break;
+                }
+            }
+        }
+
+        WorldState full = new WorldState();
+        server.captureInto(full);
+        int fullSize = WorldState.MIN_BYTES + full.entityCount() * WorldState.MAX_ENTITY_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(fullSize);
+        full.encode(new WorldState(), buffer);
+
+        long down = 0, up = 0;
+        for (FarmClient client : clients) {
+            down += client.bytesIn;
+            up += client.bytesOut;
+        }
+        System.out.println(clientCount + " clients for " + String.format("%.1f", wallSeconds) + " s, "
+                + server.ticks + " server ticks");
+        System.out.println("Server tick: avg " + server.tickNanos / Math.max(1, server.ticks) / 1000 + " us, max "
+                + server.maxTickNanos / 1000 + " us");
+        System.out.println("Per client: down " + Math.round(down / clientCount / wallSeconds) + " B/s, up "
+                + Math.round(up / clientCount / wallSeconds) + " B/s");
+        System.out.println("Snapshots: " + server.snapshotsSent + " sent, avg "
+                + server.snapshotBytes / Math.max(1, server.snapshotsSent) + " B (full snapshot "
+                + (buffer.position() + Protocol.HEADER_BYTES) + " B), " + server.snapshotsSkipped + " skipped, "
+                + server.snapshotsSplit + " split over frames");
+        if (server.failedTicks > 0) {
+            System.out.println("Failed server ticks: " + server.failedTicks);
+        }
+        boolean ok = mismatches == 0 && server.failedTicks == 0;
+        System.out.println("Mirror check: " + (mismatches == 0 ? "OK" : mismatches + " clients out of sync"));
+        server.close();
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * @param clients Clients to check
+     * @param tick    Server tick
+     * @return true if every client has a snapshot from that tick or later
+     */
+    private static boolean caughtUp(FarmClient[] clients, long tick) {
+        for (FarmClient client : clients) {
+            if (client.state().tick < tick) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits for server data and feeds it to the clients.
+     *
+     * @param selector Selector the clients are registered with
+     * @param timeout  Longest wait in milliseconds
+     * @throws Exception if a client fails
+     */
+    private static void readAll(Selector selector, long timeout) throws Exception {
+        selector.select(timeout);
+        Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+        while (selected.hasNext()) {
+            SelectionKey key = selected.next();
+            selected.remove();
+            FarmClient client = (FarmClient) key.attachment();
+            if (!client.read()) {
+                key.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Message types and number encoding shared by the farm server and its clients
+ */
+
+package net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format between {@link FarmServer} and {@link FarmClient}. Every message
+ * is a frame: a 2 byte length (not counting itself), a 1 byte type, then the
+ * payload. Numbers inside payloads are variable-length ints (7 bits per byte),
+ * and signed values are zigzag encoded first so small negative deltas stay
+ * short.
+ */
+public final class Protocol {
+    // Client to server
+    public static final byte INPUT = 1; // 1 byte of movement key flags
+    public static final byte ACTION = 2; // Action byte, then option index byte
+
+    // Server to client
+    public static final byte WELCOME = 10; // Varint ID of the client's player
+    public static final byte SNAPSHOT = 11; // Delta-compressed WorldState
+    public static final byte MESSAGE = 12; // Receipt or error text, UTF-8
+
+    // Movement key flags in an INPUT message
+    public static final int UP = 1, DOWN = 2, LEFT = 4, RIGHT = 8;
+
+    // Actions in an ACTION message, the option index picks the crop or offer
+    public static final int PLANT = 1, HARVEST = 2, BUY = 3, SELL = 4;
+
+    public static final int HEADER_BYTES = 3; // Length and type
+    public static final int MAX_FRAME = 16384; // Largest frame either side accepts
+
+    private Protocol() {
+    }
+
+    /**
+     * Writes an unsigned variable-length int.
+     *
+     * @param out   Buffer to write to
+     * @param value Value, treated as unsigned
+     */
+    public static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @param value Value, treated as unsigned
+     * @return Bytes {@link #putVarInt} writes for it
+     */
+    public static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Reads an unsigned variable-length int.
+     *
+     * @param in Buffer to read from
+     * @return The value
+     */
+    public static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Writes a signed int as a zigzag varint.
+     *
+     * @param out   Buffer to write to
+     * @param value Value to write
+     */
+    public static void putSignedVarInt(ByteBuffer out, int value) {
+        putVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * @param value Signed value
+     * @return Bytes {@link #putSignedVarInt} writes for it
+     */
+    public static int signedVarIntSize(int value) {
+        return varIntSize((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Reads a zigzag varint.
+     *
+     * @param in Buffer to read from
+     * @return The signed value
+     */
+    public static int getSignedVarInt(ByteBuffer in) {
+        int raw = getVarInt(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Starts a frame. The length is filled in by {@link #endFrame}.
+     *
+     * @param out  Buffer to write to
+     * @param type Message type
+     * @return Position of the frame, to pass to {@link #endFrame}
+     */
+    public static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putShort((short) 0);
+        out.put(type);
+        return start;
+    }
+
+    /**
+     * Finishes a frame by writing its length.
+     *
+     * @param out   Buffer the frame was written to
+     * @param start Value returned by {@link #beginFrame}
+     */
+    public static void endFrame(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - 2));
+    }
+}
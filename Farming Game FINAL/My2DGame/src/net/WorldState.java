@@ -0,0 +1,377 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Snapshot of the shared farm that is sent to clients as a delta from the last one they got
+ */
+
+package net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * What a client needs to draw the shared farm at one tick: the inventory, the
+ * crop plot's sprite, and the position and sprite of every entity. Entities
+ * are kept sorted by ID so two snapshots can be compared in a single pass.
+ * <p>
+ * Snapshots are sent as deltas. The server keeps, for each client, a copy of
+ * the last snapshot written to it; only fields and entities that changed since
+ * then are sent, as the difference from the old value, plus the IDs of
+ * entities that left. Connections are TCP, so every
+ * snapshot that is written arrives and no acknowledgements are needed. An
+ * empty base makes the first snapshot a full one. A delta can be capped to a
+ * frame; with many entities the full farm then arrives over a few snapshots.
+ */
+public final class WorldState {
+    public static final int ITEMS = 7; // Inventory slots, same order as GamePanel.itemCount
+    public static final int CROP_SPRITE = ITEMS; // Index of the crop plot's sprite in world
+    public static final int WORLD_FIELDS = ITEMS + 1;
+
+    // Per-entity change flags
+    private static final int X = 1, Y = 2, SPRITE = 4;
+
+    private static final int COUNT_BYTES = 10; // Removed and changed counts, at their longest
+    static final int MAX_ENTITY_BYTES = 5 + 1 + 3 * 5; // ID, change flags and three deltas, at their longest
+    // Tick, changed field mask and every field delta at their longest, plus the counts
+    public static final int MIN_BYTES = 5 + 5 + WORLD_FIELDS * 5 + COUNT_BYTES;
+
+    public int tick; // Server tick the snapshot was taken at
+    public final int[] world = new int[WORLD_FIELDS]; // Inventory and crop plot
+
+    // Entities, sorted by ID
+    int count = 0;
+    int[] ids = new int[8];
+    int[] xs = new int[8];
+    int[] ys = new int[8];
+    int[] sprites = new int[8];
+    private int[] removedIds = new int[8]; // Scratch for decoding
+
+    /**
+     * Removes all entities so the state can be filled again.
+     */
+    public void clearEntities() {
+        count = 0;
+    }
+
+    /**
+     * Adds an entity. Entities must be added in increasing ID order.
+     *
+     * @param id     Entity ID
+     * @param x      X-coordinate
+     * @param y      Y-coordinate
+     * @param sprite Sprite ID
+     */
+    public void addEntity(int id, int x, int y, int sprite) {
+        if (count == ids.length) {
+            int size = count * 2;
+            ids = Arrays.copyOf(ids, size);
+            xs = Arrays.copyOf(xs, size);
+            ys = Arrays.copyOf(ys, size);
+            sprites = Arrays.copyOf(sprites, size);
+        }
+        ids[count] = id;
+        xs[count] = x;
+        ys[count] = y;
+        sprites[count] = sprite;
+        count++;
+    }
+
+    /**
+     * @return Number of entities
+     */
+    public int entityCount() {
+        return count;
+    }
+
+    /**
+     * Finds an entity by ID.
+     *
+     * @param id Entity ID
+     * @return Index of the entity, or -1 if it is not in this snapshot
+     */
+    public int indexOf(int id) {
+        return Arrays.binarySearch(ids, 0, count, id);
+    }
+
+    /**
+     * @param index Entity index
+     * @return X-coordinate of the entity
+     */
+    public int x(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param index Entity index
+     * @return Y-coordinate of the entity
+     */
+    public int y(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @param index Entity index
+     * @return Sprite ID of the entity
+     */
+    public int sprite(int index) {
+        return sprites[index];
+    }
+
+    /**
+     * Makes this state an exact copy of another.
+     *
+     * @param other State to copy
+     */
+    public void copyFrom(WorldState other) {
+        tick = other.tick;
+        System.arraycopy(other.world, 0, world, 0, WORLD_FIELDS);
+        count = 0;
+        for (int i = 0; i < other.count; i++) {
+            addEntity(other.ids[i], other.xs[i], other.ys[i], other.sprites[i]);
+        }
+    }
+
+    /**
+     * Writes this state as a delta from a base state, every change in it.
+     *
+     * @param base State the receiver already has
+     * @param out  Buffer to write to, with room for the whole delta
+     */
+    public void encode(WorldState base, ByteBuffer out) {
+        encode(base, out, out.limit(), 0, -1);
+    }
+
+    /**
+     * Writes this state as a delta from a base state, ending at or before a
+     * limit. When not every change fits, removals go first, then the priority
+     * entity, then changed entities from a starting ID upward, wrapping round
+     * to the lowest IDs. The changes left out are still differences from what
+     * the receiver holds, so the next delta carries them.
+     *
+     * @param base       State the receiver already has
+     * @param out        Buffer to write to
+     * @param limit      Position in the buffer the delta must end by, at least
+     *                   {@link #MIN_BYTES} past the current one
+     * @param fromId     ID to start sending changed entities from
+     * @param priorityId ID of an entity sent before the others, or -1
+     * @return ID to start from in the next delta, 0 once every change was sent
+     */
+    public int encode(WorldState base, ByteBuffer out, int limit, int fromId, int priorityId) {
+        Protocol.putVarInt(out, tick);
+
+        // Inventory and crop plot: a bit mask of changed fields, then their deltas
+        int mask = 0;
+        for (int i = 0; i < WORLD_FIELDS; i++) {
+            if (world[i] != base.world[i]) {
+                mask |= 1 << i;
+            }
+        }
+        Protocol.putVarInt(out, mask);
+        for (int i = 0; i < WORLD_FIELDS; i++) {
+            if ((mask & (1 << i)) != 0) {
+                Protocol.putSignedVarInt(out, world[i] - base.world[i]);
+            }
+        }
+        int budget = limit - out.position() - COUNT_BYTES;
+
+        // Work out what fits: IDs that left, lowest first
+        int removed = 0;
+        int i = 0;
+        for (int b = 0; b < base.count; b++) {
+            while (i < count && ids[i] < base.ids[b]) {
+                i++;
+            }
+            if (i == count || ids[i] != base.ids[b]) {
+                int size = Protocol.varIntSize(base.ids[b]);
+                if (size > budget) {
+                    break;
+                }
+                budget -= size;
+                removed++;
+            }
+        }
+        // Then the priority entity, then entities in turn from the starting ID
+        int priority = indexOf(priorityId);
+        if (priority >= 0) {
+            int size = changeSize(base, base.indexOf(priorityId), priority);
+            if (size > budget) {
+                priority = -1;
+            } else {
+                budget -= size;
+            }
+        }
+        int first = Arrays.binarySearch(ids, 0, count, fromId);
+        first = first >= 0 ? first : -first - 1;
+        if (first == count) {
+            first = 0;
+        }
+        int turns = 0; // Entities from first on, wrapping round, whose turn it is
+        int b = 0;
+        while (turns < count) {
+            int e = first + turns < count ? first + turns : first + turns - count;
+            if (e == 0) {
+                b = 0; // Wrapped round, merge with the base from the start again
+            }
+            while (b < base.count && base.ids[b] < ids[e]) {
+                b++;
+            }
+            if (e != priority) {
+                int size = changeSize(base, b < base.count && base.ids[b] == ids[e] ? b : -1, e);
+                if (size > budget) {
+                    break;
+                }
+                budget -= size;
+            }
+            turns++;
+        }
+
+        // Entities: IDs that left, then only the entities that are new or moved.
+        // New entities change from zero
+        Protocol.putVarInt(out, removed);
+        i = 0;
+        int written = 0;
+        for (b = 0; b < base.count && written < removed; b++) {
+            while (i < count && ids[i] < base.ids[b]) {
+                i++;
+            }
+            if (i == count || ids[i] != base.ids[b]) {
+                Protocol.putVarInt(out, base.ids[b]);
+                written++;
+            }
+        }
+        int changed = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                Protocol.putVarInt(out, changed);
+            }
+            b = 0;
+            for (i = 0; i < count; i++) {
+                if (i != priority && (i - first + count) % count >= turns) {
+                    continue; // Not its turn yet
+                }
+                while (b < base.count && base.ids[b] < ids[i]) {
+                    b++;
+                }
+                boolean known = b < base.count && base.ids[b] == ids[i];
+                int oldX = known ? base.xs[b] : 0;
+                int oldY = known ? base.ys[b] : 0;
+                int oldSprite = known ? base.sprites[b] : 0;
+                int fields = (xs[i] != oldX ? X : 0) | (ys[i] != oldY ? Y : 0)
+                        | (sprites[i] != oldSprite ? SPRITE : 0);
+                if (known && fields == 0) {
+                    continue;
+                }
+                if (pass == 0) {
+                    changed++;
+                    continue;
+                }
+                Protocol.putVarInt(out, ids[i]);
+                out.put((byte) fields);
+                if ((fields & X) != 0) {
+                    Protocol.putSignedVarInt(out, xs[i] - oldX);
+                }
+                if ((fields & Y) != 0) {
+                    Protocol.putSignedVarInt(out, ys[i] - oldY);
+                }
+                if ((fields & SPRITE) != 0) {
+                    Protocol.putSignedVarInt(out, sprites[i] - oldSprite);
+                }
+            }
+        }
+        return turns < count ? ids[first + turns < count ? first + turns : first + turns - count] : 0;
+    }
+
+    /**
+     * @param base  State the receiver already has
+     * @param b     Index of the entity in the base, or negative if it is new
+     * @param index Index of the entity in this state
+     * @return Bytes the entity takes in a delta, 0 if it did not change
+     */
+    private int changeSize(WorldState base, int b, int index) {
+        boolean known = b >= 0;
+        int dx = xs[index] - (known ? base.xs[b] : 0);
+        int dy = ys[index] - (known ? base.ys[b] : 0);
+        int dSprite = sprites[index] - (known ? base.sprites[b] : 0);
+        if (known && dx == 0 && dy == 0 && dSprite == 0) {
+            return 0;
+        }
+        int size = Protocol.varIntSize(ids[index]) + 1;
+        if (dx != 0) {
+            size += Protocol.signedVarIntSize(dx);
+        }
+        if (dy != 0) {
+            size += Protocol.signedVarIntSize(dy);
+        }
+        if (dSprite != 0) {
+            size += Protocol.signedVarIntSize(dSprite);
+        }
+        return size;
+    }
+
+    /**
+     * Reads a delta written by {@link #encode} and fills this state with the
+     * result.
+     *
+     * @param base State the delta was made against
+     * @param in   Buffer holding the delta
+     */
+    public void decode(WorldState base, ByteBuffer in) {
+        tick = Protocol.getVarInt(in);
+
+        int mask = Protocol.getVarInt(in);
+        for (int i = 0; i < WORLD_FIELDS; i++) {
+            world[i] = base.world[i];
+            if ((mask & (1 << i)) != 0) {
+                world[i] += Protocol.getSignedVarInt(in);
+            }
+        }
+
+        int removed = Protocol.getVarInt(in);
+        if (removedIds.length < removed) {
+            removedIds = new int[Math.max(removed, removedIds.length * 2)];
+        }
+        for (int i = 0; i < removed; i++) {
+            removedIds[i] = Protocol.getVarInt(in);
+        }
+
+        // Merge the base with the changed entities, both sorted by ID
+        int changed = Protocol.getVarInt(in);
+        count = 0;
+        int b = 0;
+        int r = 0;
+        int nextId = changed > 0 ? Protocol.getVarInt(in) : Integer.MAX_VALUE;
+        while (b < base.count || changed > 0) {
+            int baseId = b < base.count ? base.ids[b] : Integer.MAX_VALUE;
+            if (changed > 0 && nextId <= baseId) {
+                boolean known = nextId == baseId;
+                int x = known ? base.xs[b] : 0;
+                int y = known ? base.ys[b] : 0;
+                int sprite = known ? base.sprites[b] : 0;
+                int fields = in.get();
+                if ((fields & X) != 0) {
+                    x += Protocol.getSignedVarInt(in);
+                }
+                if ((fields & Y) != 0) {
+                    y += Protocol.getSignedVarInt(in);
+                }
+                if ((fields & SPRITE) != 0) {
+                    sprite += Protocol.getSignedVarInt(in);
+                }
+                addEntity(nextId, x, y, sprite);
+                if (known) {
+                    b++;
+                }
+                changed--;
+                nextId = changed > 0 ? Protocol.getVarInt(in) : Integer.MAX_VALUE;
+            } else {
+                // Unchanged unless it left
+                if (r < removed && removedIds[r] == baseId) {
+                    r++;
+                } else {
+                    addEntity(baseId, base.xs[b], base.ys[b], base.sprites[b]);
+                }
+                b++;
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times the particle pool at tens of thousands of live particles and checks it against plain objects
+ */
+
+package particle;
+
+import event.EventBus;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark for {@link ParticleSystem}. Publishes harvests, plantings and
+ * trades on an event bus every tick, enough to keep a target number of
+ * particles alive, the way the game starts its effects. Times the tick
+ * (dispatch and update) and drawing into a full size 768x576 frame and into
+ * the 256x192 low resolution buffer, and prints the share of a 60 FPS frame
+ * that takes, with the bytes allocated per frame. Then replays the same events
+ * into a list of particle objects and checks both hold the same particles.
+ * {@code java particle.ParticleBench [particles] [frames]}
+ */
+public final class ParticleBench {
+    static final int DEFAULT_PARTICLES = 50000;
+    static final int DEFAULT_FRAMES = 600;
+    static final int WARMUP_FRAMES = 600; // Frames run before timing
+    static final int CHECKED_TICKS = 600; // Ticks replayed into the list of objects
+    static final int CHECK_EVERY = 60; // Ticks between comparisons
+    static final int SEED = 20261018;
+    static final long FRAME_NANOS = 1000000000L / 60;
+    static final int BACKGROUND = 0x3F7F3F; // Cleared to before each frame
+    // Looked up once, since looking it up allocates
+    static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    // Screen as in the game: 16x12 tiles of 16 art pixels, drawn 3x
+    static final int TILE = 16, SCALE = 3;
+    static final int NATIVE_WIDTH = TILE * 16, NATIVE_HEIGHT = TILE * 12;
+    static final int HARVEST_PARTICLES = ParticleEmitters.HARVEST_DUST + ParticleEmitters.HARVEST_SPARKLES;
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional particle and frame counts
+     */
+    public static void main(String[] args) {
+        int target = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PARTICLES;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+        int capacity = Math.max(ParticleSystem.DEFAULT_CAPACITY, target + target / 4);
+
+        EventBus events = new EventBus();
+        ParticleSystem pool = new ParticleSystem(capacity, SEED);
+        ParticleEmitters emitters = emitters();
+        emitters.attach(pool);
+        events.subscribe(emitters);
+
+        int[] full = new int[NATIVE_WIDTH * SCALE * NATIVE_HEIGHT * SCALE];
+        int[] low = new int[NATIVE_WIDTH * NATIVE_HEIGHT];
+        int[] fullBackground = new int[full.length];
+        int[] lowBackground = new int[low.length];
+        Arrays.fill(fullBackground, BACKGROUND);
+        Arrays.fill(lowBackground, BACKGROUND);
+
+        long tickNanos = 0, fullNanos = 0, lowNanos = 0, live = 0, allocated = 0;
+        for (int frame = 0; frame < WARMUP_FRAMES + frames; frame++) {
+            if (frame == WARMUP_FRAMES) {
+                tickNanos = fullNanos = lowNanos = live = 0;
+                allocated = allocatedBytes();
+            }
+            long start = System.nanoTime();
+            publish(events, pool.count(), target, frame);
+            events.dispatch();
+            pool.update();
+            long ticked = System.nanoTime();
+
+            System.arraycopy(fullBackground, 0, full, 0, full.length);
+            long cleared = System.nanoTime();
+            pool.draw(full, NATIVE_WIDTH * SCALE, NATIVE_HEIGHT * SCALE, SCALE, 0.5f);
+            long drawnFull = System.nanoTime();
+
+            System.arraycopy(lowBackground, 0, low, 0, low.length);
+            long clearedLow = System.nanoTime();
+            pool.draw(low, NATIVE_WIDTH, NATIVE_HEIGHT, 1, 0.5f);
+            long drawnLow = System.nanoTime();
+
+            tickNanos += ticked - start;
+            fullNanos += drawnFull - cleared;
+            lowNanos += drawnLow - clearedLow;
+            live += pool.count();
+        }
+        long bytes = allocatedBytes() - allocated;
+        long tick = tickNanos / frames, drawFull = fullNanos / frames, drawLow = lowNanos / frames;
+        System.out.printf("%,d live particles on average (pool of %,d, %,d dropped)%n", live / frames, capacity,
+                pool.dropped());
+        System.out.printf("Tick: %d us | Draw 768x576: %d us | Draw 256x192: %d us | %d B/frame%n", tick / 1000,
+                drawFull / 1000, drawLow / 1000, bytes / frames);
+        System.out.printf("Frame budget at 60 FPS: %.1f%% full size, %.1f%% low resolution%n",
+                100.0 * (tick + drawFull) / FRAME_NANOS, 100.0 * (tick + drawLow) / FRAME_NANOS);
+
+        boolean ok = check(target, capacity);
+        System.out.println(ok ? "Reference check: OK" : "Reference check: FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * @return Emitters placed as in the game: the crop field, and the merchant
+     *         and farmer stalls
+     */
+    static ParticleEmitters emitters() {
+        return new ParticleEmitters(TILE, TILE * 5, TILE * 6, TILE + TILE / 2, TILE + TILE / 2,
+                TILE * 11 + TILE / 2, TILE * 2 + TILE / 2);
+    }
+
+    /**
+     * Publishes one tick of events: a planting, a sale and a purchase, then
+     * harvests until about the target number of particles will be alive.
+     *
+     * @param events Bus to publish on
+     * @param live   Particles alive now
+     * @param target Particles wanted
+     * @param tick   Tick number, picks the crops and trades
+     */
+    static void publish(EventBus events, int live, int target, int tick) {
+        events.planted(tick % 3);
+        events.tradeCompleted(EventBus.FARMER, tick % 3, 20 + tick % 131);
+        events.tradeCompleted(EventBus.MERCHANT, tick % 3, -(10 + tick % 91));
+        for (int expected = live; expected < target; expected += HARVEST_PARTICLES) {
+            events.harvested(tick % 3, 20);
+        }
+    }
+
+    /**
+     * Replays the events into the pool and, through the pool's newly spawned
+     * particles, into a list of objects updated the plain way. Compares the
+     * two every {@link #CHECK_EVERY} ticks.
+     *
+     * @param target   Particles kept alive
+     * @param capacity Size of the pool
+     * @return true if both always held the same particles
+     */
+    static boolean check(int target, int capacity) {
+        EventBus events = new EventBus();
+        ParticleSystem pool = new ParticleSystem(capacity, SEED);
+        ParticleEmitters emitters = emitters();
+        emitters.attach(pool);
+        events.subscribe(emitters);
+        List<Particle> objects = new ArrayList<>();
+        long poolNanos = 0, objectNanos = 0, objectBytes = 0;
+
+        for (int tick = 0; tick < CHECKED_TICKS; tick++) {
+            int before = pool.count();
+            publish(events, before, target, tick);
+            events.dispatch();
+            // Spawning only ever appends, so the new particles are the ones past the old count
+            for (int i = before; i < pool.count(); i++) {
+                objects.add(new Particle(pool.x[i], pool.y[i], pool.vx[i], pool.vy[i], pool.life[i], pool.kind[i]));
+            }
+
+            long start = System.nanoTime();
+            pool.update();
+            long middle = System.nanoTime();
+            long allocated = allocatedBytes();
+            objects.removeIf(p -> --p.life <= 0);
+            for (Particle p : objects) {
+                p.update();
+            }
+            objectBytes += allocatedBytes() - allocated;
+            objectNanos += System.nanoTime() - middle;
+            poolNanos += middle - start;
+
+            if ((tick + 1) % CHECK_EVERY == 0 && !same(pool, objects)) {
+                System.out.println("Particles differ after tick " + tick + ": " + pool.count() + " in the pool, "
+                        + objects.size() + " objects");
+                return false;
+            }
+        }
+        System.out.printf("Update: pool %d us/tick, list of objects %d us/tick and %d B/tick%n",
+                poolNanos / CHECKED_TICKS / 1000, objectNanos / CHECKED_TICKS / 1000, objectBytes / CHECKED_TICKS);
+        return true;
+    }
+
+    /**
+     * Compares the pool with the list of objects, ignoring order, since removal
+     * reorders the pool.
+     */
+    static boolean same(ParticleSystem pool, List<Particle> objects) {
+        if (pool.count() != objects.size()) {
+            return false;
+        }
+        long[] fromPool = new long[pool.count()];
+        long[] fromObjects = new long[objects.size()];
+        for (int i = 0; i < fromPool.length; i++) {
+            fromPool[i] = key(pool.x[i], pool.y[i], pool.vx[i], pool.vy[i], pool.life[i], pool.kind[i]);
+            Particle p = objects.get(i);
+            fromObjects[i] = key(p.x, p.y, p.vx, p.vy, p.life, p.kind);
+        }
+        Arrays.sort(fromPool);
+        Arrays.sort(fromObjects);
+        return Arrays.equals(fromPool, fromObjects);
+    }
+
+    /**
+     * @return Every field of a particle mixed into one number
+     */
+    static long key(float x, float y, float vx, float vy, int life, int kind) {
+        long h = Float.floatToIntBits(x);
+        h = h * 0x9E3779B97F4A7C15L + Float.floatToIntBits(y);
+        h = h * 0x9E3779B97F4A7C15L + Float.floatToIntBits(vx);
+        h = h * 0x9E3779B97F4A7C15L + Float.floatToIntBits(vy);
+        h = h * 0x9E3779B97F4A7C15L + life;
+        h = h * 0x9E3779B97F4A7C15L + kind;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or 0 if the JVM can't say
+     */
+    private static long allocatedBytes() {
+        return THREADS instanceof com.sun.management.ThreadMXBean
+                ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+
+    /**
+     * Reference particle: one object each, moved the same way as the pool
+     * moves its particles.
+     */
+    static final class Particle {
+        float x, y, vx, vy;
+        int life;
+        final int kind;
+
+        Particle(float x, float y, float vx, float vy, int life, int kind) {
+            this.x = x;
+            this.y = y;
+            this.vx = vx;
+            this.vy = vy;
+            this.life = life;
+            this.kind = kind;
+        }
+
+        void update() {
+            vx *= ParticleSystem.DRAG[kind];
+            vy = vy * ParticleSystem.DRAG[kind] + ParticleSystem.GRAVITY[kind];
+            x += vx;
+            y += vy;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Turns harvests, plantings and trades from the event bus into bursts of particles
+ */
+
+package particle;
+
+import event.EventBus;
+import event.GameEventListener;
+
+/**
+ * Event bus subscriber that starts the particle effects. Planting kicks up
+ * dust over the crop field, harvesting kicks up dust and sparkles, and every
+ * trade tosses coins up from the stall it was made at, more for bigger trades.
+ * Buying from the farmer (nutrients or the trophy) adds sparkles. Events that
+ * arrive before a pool is attached are ignored.
+ */
+public final class ParticleEmitters implements GameEventListener {
+    static final int PLANT_DUST = 60;
+    static final int HARVEST_DUST = 120;
+    static final int HARVEST_SPARKLES = 60;
+    static final int PURCHASE_SPARKLES = 40;
+    static final int GOLD_PER_COIN = 5;
+    static final int MIN_COINS = 4, MAX_COINS = 40;
+
+    // Where effects start, in art pixels
+    private final int fieldX, fieldY, fieldSize; // Crop field
+    private final int merchantX, merchantY; // Centre of the merchant's stall
+    private final int farmerX, farmerY; // Centre of the farmer's stall
+
+    private volatile ParticleSystem particles; // Pool the effects go into, null until attached. Set by the paint thread
+
+    /**
+     * Creates the emitters. Every position is in art pixels.
+     *
+     * @param fieldX    Left edge of the crop field
+     * @param fieldY    Top edge of the crop field
+     * @param fieldSize Width and height of the crop field
+     * @param merchantX Centre of the merchant, across
+     * @param merchantY Centre of the merchant, down
+     * @param farmerX   Centre of the farmer, across
+     * @param farmerY   Centre of the farmer, down
+     */
+    public ParticleEmitters(int fieldX, int fieldY, int fieldSize, int merchantX, int merchantY, int farmerX,
+            int farmerY) {
+        this.fieldX = fieldX;
+        this.fieldY = fieldY;
+        this.fieldSize = fieldSize;
+        this.merchantX = merchantX;
+        this.merchantY = merchantY;
+        this.farmerX = farmerX;
+        this.farmerY = farmerY;
+    }
+
+    /**
+     * Sends the effects into a pool from now on.
+     *
+     * @param particles Pool to spawn into
+     */
+    public void attach(ParticleSystem particles) {
+        this.particles = particles;
+    }
+
+    @Override
+    public void planted(long tick, int crop) {
+        ParticleSystem pool = particles;
+        if (pool != null) {
+            pool.burst(ParticleSystem.DUST, PLANT_DUST, fieldX, fieldY, fieldSize, fieldSize);
+        }
+    }
+
+    @Override
+    public void harvested(long tick, int crop, int amount) {
+        ParticleSystem pool = particles;
+        if (pool != null) {
+            pool.burst(ParticleSystem.DUST, HARVEST_DUST, fieldX, fieldY, fieldSize, fieldSize);
+            pool.burst(ParticleSystem.SPARKLE, HARVEST_SPARKLES, fieldX, fieldY, fieldSize, fieldSize);
+        }
+    }
+
+    @Override
+    public void tradeCompleted(long tick, int trader, int trade, int gold) {
+        ParticleSystem pool = particles;
+        if (pool == null) {
+            return;
+        }
+        int coins = Math.max(MIN_COINS, Math.min(MAX_COINS, Math.abs(gold) / GOLD_PER_COIN));
+        int centreX = trader == EventBus.MERCHANT ? merchantX : farmerX;
+        int centreY = trader == EventBus.MERCHANT ? merchantY : farmerY;
+        pool.burst(ParticleSystem.COIN, coins, centreX - 4, centreY - 4, 8, 8);
+        if (trader == EventBus.FARMER && gold < 0) {
+            pool.burst(ParticleSystem.SPARKLE, PURCHASE_SPARKLES, centreX - 8, centreY - 8, 16, 16);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Fixed pool of dust, sparkle and coin particles, stored as parallel arrays and drawn into an int raster
+ */
+
+package particle;
+
+/**
+ * Every particle on screen, one slot per particle across parallel primitive
+ * arrays allocated once. Live particles are packed at the front. When one dies
+ * the last live particle is moved into its slot, so a tick is one pass over
+ * the live particles with no gaps to skip, and spawning is a write at the end.
+ * When the pool is full new particles are dropped. Nothing is allocated while
+ * spawning, updating or drawing.
+ * <p>
+ * Positions are in art pixels (a third of a screen pixel at the usual 3x) and
+ * velocities in art pixels per tick. Each particle is drawn as a solid block of
+ * art pixels in its kind's colour, straight into the pixels of an RGB image,
+ * so it looks the same with either renderer and at any scale. Updated on the
+ * game thread and drawn on the paint thread, like the entities.
+ */
+public final class ParticleSystem {
+    // Kinds
+    public static final int DUST = 0; // Kicked up from the soil, drifts down and fades
+    public static final int SPARKLE = 1; // Floats up and twinkles
+    public static final int COIN = 2; // Tossed up, falls back down
+    public static final int KINDS = 3;
+
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    // Behaviour of each kind
+    static final int[] COLOUR = { 0xD9C08C, 0xFFF6B0, 0xF2C230 }; // 0xRRGGBB
+    static final int[] SIZE = { 1, 1, 2 }; // Width and height in art pixels
+    static final int[] LIFE = { 36, 48, 54 }; // Shortest life in ticks, up to half as long again at random
+    static final float[] SPEED = { 0.6f, 0.4f, 1.6f }; // Fastest starting speed sideways, art pixels per tick
+    static final float[] LIFT = { 0.5f, 0.6f, 2.4f }; // Fastest starting speed upward
+    static final float[] GRAVITY = { 0.02f, -0.01f, 0.12f }; // Added to the downward speed every tick
+    static final float[] DRAG = { 0.94f, 0.98f, 0.99f }; // Speed kept from one tick to the next
+    static final int FADE_TICKS = 10; // Dust is drawn half see-through for its last ticks
+
+    public final int capacity;
+    final float[] x, y; // Position
+    final float[] vx, vy; // Velocity
+    final short[] life; // Ticks left to live
+    final byte[] kind;
+    int count = 0; // Live particles, in slots 0 to count - 1
+
+    private int seed; // Random state, xorshift
+    long dropped = 0; // Particles not spawned because the pool was full
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param capacity Most particles alive at once
+     * @param seed     Seed for the particles' random spread, not 0
+     */
+    public ParticleSystem(int capacity, int seed) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity " + capacity);
+        }
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new short[capacity];
+        kind = new byte[capacity];
+        this.seed = seed != 0 ? seed : 1;
+    }
+
+    /**
+     * Spawns particles at random points in a rectangle, each with a random
+     * speed and life for its kind.
+     *
+     * @param type   Kind of particle
+     * @param amount Number of particles
+     * @param left   Left edge of the area, in art pixels
+     * @param top    Top edge of the area
+     * @param width  Width of the area
+     * @param height Height of the area
+     */
+    public void burst(int type, int amount, int left, int top, int width, int height) {
+        for (int n = 0; n < amount; n++) {
+            if (count == capacity) {
+                dropped += amount - n;
+                return;
+            }
+            int i = count++;
+            x[i] = left + nextFloat() * width;
+            y[i] = top + nextFloat() * height;
+            vx[i] = (nextFloat() * 2 - 1) * SPEED[type];
+            vy[i] = -nextFloat() * LIFT[type];
+            life[i] = (short) (LIFE[type] + nextInt(LIFE[type] / 2 + 1));
+            kind[i] = (byte) type;
+        }
+    }
+
+    /**
+     * Moves every particle one tick and removes the ones whose life ran out.
+     */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            if (--life[i] <= 0) {
+                // The last particle takes this slot and is updated next
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                kind[i] = kind[last];
+                continue;
+            }
+            int k = kind[i];
+            vx[i] *= DRAG[k];
+            vy[i] = vy[i] * DRAG[k] + GRAVITY[k];
+            x[i] += vx[i];
+            y[i] += vy[i];
+            i++;
+        }
+    }
+
+    /**
+     * Draws every particle into an RGB pixel array, clipped to it. Particles
+     * are drawn where they were partway between the last two ticks.
+     *
+     * @param pixels Row-major 0xRRGGBB pixels of the target
+     * @param width  Width of the target in pixels
+     * @param height Height of the target in pixels
+     * @param scale  Target pixels per art pixel
+     * @param alpha  How far between the last two ticks to draw, 0 to 1
+     */
+    public void draw(int[] pixels, int width, int height, int scale, float alpha) {
+        float back = 1 - alpha;
+        // Read once, the game thread may be updating the pool while this draws
+        int live = count;
+        for (int i = 0; i < live; i++) {
+            int k = kind[i];
+            int ticksLeft = life[i];
+            if (k == SPARKLE && (ticksLeft & 4) == 0) {
+                continue; // Twinkling, hidden every other four ticks
+            }
+            int size = SIZE[k] * scale;
+            int left = floor(x[i] - vx[i] * back) * scale;
+            int top = floor(y[i] - vy[i] * back) * scale;
+            int right = Math.min(left + size, width);
+            int bottom = Math.min(top + size, height);
+            left = Math.max(left, 0);
+            top = Math.max(top, 0);
+            int rgb = COLOUR[k];
+            boolean fading = k == DUST && ticksLeft < FADE_TICKS;
+            for (int row = top; row < bottom; row++) {
+                int out = row * width;
+                for (int col = left; col < right; col++) {
+                    // Fading dust is averaged with what is under it
+                    pixels[out + col] = fading ? ((pixels[out + col] & 0xFEFEFE) + (rgb & 0xFEFEFE)) >>> 1 : rgb;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rounds down without the double maths of Math.floor.
+     *
+     * @param value Value to round
+     * @return The largest int not above it
+     */
+    private static int floor(float value) {
+        int whole = (int) value;
+        return value < whole ? whole - 1 : whole;
+    }
+
+    /**
+     * Removes every particle.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * @return Live particles
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return Particles dropped so far because the pool was full
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * @return The next random int
+     */
+    private int next() {
+        int s = seed;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        seed = s;
+        return s;
+    }
+
+    /**
+     * @return A random float from 0 up to 1
+     */
+    private float nextFloat() {
+        return (next() >>> 8) * 0x1p-24f;
+    }
+
+    /**
+     * @param bound Upper bound, more than 0
+     * @return A random int from 0 up to bound
+     */
+    private int nextInt(int bound) {
+        return (int) (((next() >>> 1) * (long) bound) >>> 31);
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Distance and direction to one destination from every tile, repaired in place when tiles change
+ */
+
+package path;
+
+import java.util.Arrays;
+import physics.CollisionWorld;
+
+/**
+ * A flow field towards one goal tile. Every open tile stores its distance to
+ * the goal in tile steps and the direction of the neighbour to walk to next,
+ * so an agent finds its way with one array lookup a tick, however many agents
+ * share the field. If the goal tile is solid (a trader, the crop field), the
+ * open tiles beside it count as the goal.
+ * <p>
+ * Fields are built with a breadth-first search from the goal. When a tile
+ * opens or closes only the tiles whose distance depends on it are searched
+ * again, instead of the whole map. Diagonal steps are allowed when both tiles
+ * beside the corner are open, so agents never cut through a wall's corner.
+ * Owned and kept up to date by a {@link PathService}.
+ */
+public final class FlowField {
+    // Directions, clockwise from up, then NONE for the goal or no way there
+    public static final int UP = 0, UP_RIGHT = 1, RIGHT = 2, DOWN_RIGHT = 3, DOWN = 4, DOWN_LEFT = 5, LEFT = 6,
+            UP_LEFT = 7, NONE = 8;
+    public static final int[] DX = { 0, 1, 1, 1, 0, -1, -1, -1, 0 };
+    public static final int[] DY = { -1, -1, 0, 1, 1, 1, 0, -1, 0 };
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Order directions are tried in, straight steps first so ties never go diagonal
+    private static final int[] PREFERENCE = { UP, RIGHT, DOWN, LEFT, UP_RIGHT, DOWN_RIGHT, DOWN_LEFT, UP_LEFT };
+
+    private final PathService service;
+    private final CollisionWorld grid;
+    private final int cols, rows;
+    final int goalCol, goalRow;
+    private final int[] dist; // Steps to the goal by tile, UNREACHABLE for solid or cut off tiles
+    private final byte[] dir; // Direction to walk by tile
+    private int arrival; // Distance that counts as arrived, 1 when the goal itself is solid
+
+    long lastUsed; // Service use counter at the last lookup, for evicting old fields
+    volatile boolean evicted = false; // Dropped from the service, holders should ask for a new one
+
+    /**
+     * Creates and builds a field.
+     *
+     * @param service Service the field belongs to, lends its scratch arrays
+     * @param goalCol Goal tile column
+     * @param goalRow Goal tile row
+     */
+    FlowField(PathService service, int goalCol, int goalRow) {
+        this.service = service;
+        this.grid = service.grid;
+        cols = grid.cols();
+        rows = grid.rows();
+        this.goalCol = goalCol;
+        this.goalRow = goalRow;
+        dist = new int[cols * rows];
+        dir = new byte[cols * rows];
+        build();
+    }
+
+    /**
+     * @param col Tile column
+     * @param row Tile row
+     * @return Direction to walk from the tile, or {@link #NONE}
+     */
+    public int direction(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            return NONE;
+        }
+        return dir[row * cols + col];
+    }
+
+    /**
+     * @param col Tile column
+     * @param row Tile row
+     * @return Steps to the goal, or {@link #UNREACHABLE}
+     */
+    public int distance(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            return UNREACHABLE;
+        }
+        return dist[row * cols + col];
+    }
+
+    /**
+     * @param col Tile column
+     * @param row Tile row
+     * @return True if the tile is the goal, or beside a solid goal
+     */
+    public boolean arrived(int col, int row) {
+        return distance(col, row) <= arrival;
+    }
+
+    /**
+     * @return True if the service dropped this field. It is no longer repaired,
+     *         so ask the service for the goal again
+     */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    /**
+     * Searches the whole map from the goal.
+     */
+    void build() {
+        Arrays.fill(dist, UNREACHABLE);
+        int[] queue = service.queue;
+        int head = 0, tail = 0;
+        int goal = goalRow * cols + goalCol;
+        if (!grid.isSolid(goalCol, goalRow)) {
+            arrival = 0;
+            dist[goal] = 0;
+            queue[tail++] = goal;
+        } else {
+            arrival = 1;
+            for (int d = 0; d < 8; d += 2) {
+                int col = goalCol + DX[d], row = goalRow + DY[d];
+                if (!grid.isSolid(col, row)) {
+                    int tile = row * cols + col;
+                    dist[tile] = 1;
+                    queue[tail++] = tile;
+                }
+            }
+        }
+        while (head < tail) {
+            int tile = queue[head++];
+            int col = tile % cols, row = tile / cols;
+            int next = dist[tile] + 1;
+            for (int d = 0; d < 8; d += 2) {
+                int nCol = col + DX[d], nRow = row + DY[d];
+                if (!grid.isSolid(nCol, nRow)) {
+                    int n = nRow * cols + nCol;
+                    if (dist[n] == UNREACHABLE) {
+                        dist[n] = next;
+                        queue[tail++] = n;
+                    }
+                }
+            }
+        }
+        for (int tile = 0; tile < dist.length; tile++) {
+            pointTile(tile);
+        }
+        service.builds++;
+    }
+
+    /**
+     * Updates the field after a tile opened or closed. The grid already holds
+     * the new value.
+     *
+     * @param col Tile column
+     * @param row Tile row
+     */
+    void tileChanged(int col, int row) {
+        if (Math.abs(col - goalCol) <= 1 && Math.abs(row - goalRow) <= 1) {
+            build(); // The goal tiles themselves changed
+            return;
+        }
+        int tile = row * cols + col;
+        if (grid.isSolid(col, row)) {
+            closed(tile);
+        } else {
+            opened(tile);
+        }
+        service.repairs++;
+    }
+
+    /**
+     * A tile opened, so distances can only shrink: spread the shorter ones out
+     * from it.
+     *
+     * @param tile The opened tile
+     */
+    private void opened(int tile) {
+        int[] queue = service.queue;
+        int head = 0, tail = 0;
+        int best = bestNeighbour(tile, -1);
+        if (best != UNREACHABLE) {
+            dist[tile] = best + 1;
+            queue[tail++] = tile;
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            int col = cur % cols, row = cur / cols;
+            int next = dist[cur] + 1;
+            for (int d = 0; d < 8; d += 2) {
+                int nCol = col + DX[d], nRow = row + DY[d];
+                if (!grid.isSolid(nCol, nRow)) {
+                    int n = nRow * cols + nCol;
+                    if (dist[n] > next) {
+                        dist[n] = next;
+                        queue[tail++] = n;
+                    }
+                }
+            }
+        }
+        // Every tile that changed, and the opened tile, may change its neighbours' best direction
+        pointAround(tile);
+        for (int i = 0; i < tail; i++) {
+            pointAround(queue[i]);
+        }
+        service.repairedTiles += tail;
+    }
+
+    /**
+     * A tile closed, so distances can only grow. Finds the tiles whose only
+     * shortest way ran through it, clears them and searches just those again
+     * from the tiles around them.
+     *
+     * @param tile The closed tile
+     */
+    private void closed(int tile) {
+        if (dist[tile] == UNREACHABLE) {
+            pointAround(tile); // Was cut off anyway, only corners changed
+            return;
+        }
+        // Find the affected tiles level by level, so by the time a tile is
+        // checked every tile one step closer to the goal has been sorted out
+        int[] queue = service.queue;
+        int[] mark = service.mark;
+        int epoch = ++service.epoch;
+        int head = 0, tail = 0;
+        mark[tile] = epoch;
+        queue[tail++] = tile;
+        while (head < tail) {
+            int cur = queue[head++];
+            int col = cur % cols, row = cur / cols;
+            for (int d = 0; d < 8; d += 2) {
+                int nCol = col + DX[d], nRow = row + DY[d];
+                if (grid.isSolid(nCol, nRow)) {
+                    continue;
+                }
+                int n = nRow * cols + nCol;
+                if (mark[n] != epoch && dist[n] == dist[cur] + 1 && dist[n] > arrival
+                        && bestNeighbour(n, epoch) != dist[n] - 1) {
+                    mark[n] = epoch;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            dist[queue[i]] = UNREACHABLE;
+        }
+
+        // Seed each affected tile from its unaffected neighbours, then run
+        // Dijkstra over the affected tiles only
+        long[] heap = service.heap;
+        int size = 0;
+        for (int i = 1; i < tail; i++) {
+            int a = queue[i];
+            int best = bestNeighbour(a, epoch);
+            if (best != UNREACHABLE) {
+                dist[a] = best + 1;
+                size = push(heap, size, ((long) dist[a] << 32) | a);
+            }
+        }
+        while (size > 0) {
+            long top = heap[0];
+            size = pop(heap, size);
+            int a = (int) top;
+            int d = (int) (top >>> 32);
+            if (d > dist[a]) {
+                continue;
+            }
+            int col = a % cols, row = a / cols;
+            for (int k = 0; k < 8; k += 2) {
+                int nCol = col + DX[k], nRow = row + DY[k];
+                if (grid.isSolid(nCol, nRow)) {
+                    continue;
+                }
+                int n = nRow * cols + nCol;
+                if (mark[n] == epoch && d + 1 < dist[n]) {
+                    dist[n] = d + 1;
+                    size = push(heap, size, ((long) (d + 1) << 32) | n);
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            pointAround(queue[i]);
+        }
+        service.repairedTiles += tail;
+    }
+
+    /**
+     * @param tile  Tile index
+     * @param epoch Mark of tiles to skip, or -1 to skip none
+     * @return Smallest distance among the tile's open straight neighbours
+     */
+    private int bestNeighbour(int tile, int epoch) {
+        int col = tile % cols, row = tile / cols;
+        int best = UNREACHABLE;
+        for (int d = 0; d < 8; d += 2) {
+            int nCol = col + DX[d], nRow = row + DY[d];
+            if (!grid.isSolid(nCol, nRow)) {
+                int n = nRow * cols + nCol;
+                if (epoch < 0 || service.mark[n] != epoch) {
+                    best = Math.min(best, dist[n]);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Recomputes the direction of a tile and its eight neighbours.
+     *
+     * @param tile Tile index
+     */
+    private void pointAround(int tile) {
+        int col = tile % cols, row = tile / cols;
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                pointTile(r * cols + c);
+            }
+        }
+    }
+
+    /**
+     * Points a tile at its neighbour closest to the goal.
+     *
+     * @param tile Tile index
+     */
+    private void pointTile(int tile) {
+        int here = dist[tile];
+        int best = NONE;
+        if (here != UNREACHABLE && here > arrival) {
+            int col = tile % cols, row = tile / cols;
+            int bestDist = here;
+            for (int d : PREFERENCE) {
+                int nCol = col + DX[d], nRow = row + DY[d];
+                if (grid.isSolid(nCol, nRow)) {
+                    continue;
+                }
+                // No squeezing diagonally past a corner
+                if (DX[d] != 0 && DY[d] != 0 && (grid.isSolid(col + DX[d], row) || grid.isSolid(col, row + DY[d]))) {
+                    continue;
+                }
+                int n = dist[nRow * cols + nCol];
+                if (n < bestDist) {
+                    bestDist = n;
+                    best = d;
+                }
+            }
+        }
+        dir[tile] = (byte) best;
+    }
+
+    /**
+     * Adds an entry to a binary min-heap.
+     *
+     * @return The new heap size
+     */
+    private static int push(long[] heap, int size, long value) {
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size;
+    }
+
+    /**
+     * Removes the smallest entry from a binary min-heap.
+     *
+     * @return The new heap size
+     */
+    private static int pop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+}
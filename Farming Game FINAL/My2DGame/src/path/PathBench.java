@@ -0,0 +1,160 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times shared flow fields with many agents on a changing map and checks the repairs against full rebuilds
+ */
+
+package path;
+
+import java.util.Random;
+import physics.CollisionWorld;
+
+/**
+ * Benchmark for {@link PathService}. Scatters agents over a large tile map with
+ * random walls and sends them between a few shared destinations, stepping them
+ * through a {@link CollisionWorld}. Every tick a few tiles open or close. Prints
+ * the cost of a whole-map build, of a repair after one tile change and of
+ * steering one agent, then checks that every repaired field matches one built
+ * from scratch on the final map.
+ * {@code java path.PathBench [agents] [ticks] [tile changes per tick]}
+ */
+public final class PathBench {
+    static final int DEFAULT_AGENTS = 1000;
+    static final int DEFAULT_TICKS = 1000;
+    static final int DEFAULT_CHANGES = 4;
+    static final int TILE = 16; // Tile size in pixels
+    static final int MAP_TILES = 256; // Map width and height in tiles
+    static final int BODY = 12; // Agent size in pixels
+    static final int SPEED = 2 * CollisionWorld.ONE; // Agent speed per tick
+    static final int[][] GOALS = { { 8, 8 }, { 247, 8 }, { 8, 247 }, { 247, 247 }, { 128, 128 } };
+    static final long SEED = 7;
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional agent count, tick count and tile changes per tick
+     */
+    public static void main(String[] args) {
+        int agents = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_AGENTS;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+        int changes = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CHANGES;
+        Random random = new Random(SEED);
+
+        CollisionWorld world = new CollisionWorld(MAP_TILES, MAP_TILES, TILE, TILE * 2);
+        for (int i = 0; i < MAP_TILES * MAP_TILES / 10; i++) {
+            world.setSolid(random.nextInt(MAP_TILES), random.nextInt(MAP_TILES), true);
+        }
+        for (int[] goal : GOALS) {
+            world.setSolid(goal[0], goal[1], false);
+        }
+        PathService paths = new PathService(world);
+
+        long start = System.nanoTime();
+        FlowField[] fields = new FlowField[GOALS.length];
+        for (int g = 0; g < GOALS.length; g++) {
+            fields[g] = paths.fieldTo(GOALS[g][0], GOALS[g][1]);
+        }
+        long buildNanos = (System.nanoTime() - start) / GOALS.length;
+
+        // Agents on open tiles, each heading for one of the goals
+        int[] goalOf = new int[agents];
+        for (int i = 0; i < agents; i++) {
+            int col, row;
+            do {
+                col = random.nextInt(MAP_TILES);
+                row = random.nextInt(MAP_TILES);
+            } while (world.isSolid(col, row));
+            world.addBody(col * TILE, row * TILE, BODY, BODY, false);
+            goalOf[i] = random.nextInt(GOALS.length);
+        }
+
+        long steerNanos = 0, changeNanos = 0, arrivals = 0;
+        for (int t = 0; t < ticks; t++) {
+            start = System.nanoTime();
+            for (int c = 0; c < changes; c++) {
+                int col = random.nextInt(MAP_TILES), row = random.nextInt(MAP_TILES);
+                if (!isGoal(col, row)) {
+                    paths.setSolid(col, row, !world.isSolid(col, row));
+                }
+            }
+            long mid = System.nanoTime();
+            changeNanos += mid - start;
+            for (int i = 0; i < agents; i++) {
+                if (steer(world, fields[goalOf[i]], i)) {
+                    arrivals++;
+                    goalOf[i] = (goalOf[i] + 1) % GOALS.length;
+                }
+            }
+            world.step();
+            steerNanos += System.nanoTime() - mid;
+        }
+
+        System.out.printf("Whole-map build: %.2f ms per field (%d tiles)%n", buildNanos / 1e6, MAP_TILES * MAP_TILES);
+        System.out.printf("Repair: %.1f us per tile change across %d fields%n",
+                changeNanos / 1e3 / Math.max(1, (long) ticks * changes), GOALS.length);
+        System.out.printf("%d agents, %d ticks: %d ns per agent per tick (steering and moving), %d arrivals%n", agents,
+                ticks, steerNanos / ((long) ticks * agents), arrivals);
+        System.out.println(paths.stats());
+
+        // Every repaired field has to match a fresh build on the final map
+        PathService fresh = new PathService(world);
+        boolean same = true;
+        for (int[] goal : GOALS) {
+            FlowField repaired = paths.fieldTo(goal[0], goal[1]);
+            FlowField rebuilt = fresh.fieldTo(goal[0], goal[1]);
+            for (int row = 0; row < MAP_TILES; row++) {
+                for (int col = 0; col < MAP_TILES; col++) {
+                    if (repaired.distance(col, row) != rebuilt.distance(col, row)
+                            || repaired.direction(col, row) != rebuilt.direction(col, row)) {
+                        same = false;
+                    }
+                }
+            }
+        }
+        System.out.println(same ? "Repair check: OK" : "Repair check: FAILED");
+        System.exit(same ? 0 : 1);
+    }
+
+    /**
+     * Sets an agent's velocity from the field under its centre.
+     *
+     * @param world World holding the agent
+     * @param field Field to follow
+     * @param id    Agent body ID
+     * @return True if the agent has arrived
+     */
+    private static boolean steer(CollisionWorld world, FlowField field, int id) {
+        int col = (world.pixelX(id) + BODY / 2) / TILE;
+        int row = (world.pixelY(id) + BODY / 2) / TILE;
+        int d = field.direction(col, row);
+        if (field.arrived(col, row) || d == FlowField.NONE) {
+            world.setVelocity(id, 0, 0);
+            return field.arrived(col, row);
+        }
+        // Head for the middle of the next tile
+        int targetX = ((col + FlowField.DX[d]) * TILE + (TILE - BODY) / 2) * CollisionWorld.ONE;
+        int targetY = ((row + FlowField.DY[d]) * TILE + (TILE - BODY) / 2) * CollisionWorld.ONE;
+        world.setVelocity(id, clamp(targetX - world.x(id)), clamp(targetY - world.y(id)));
+        return false;
+    }
+
+    /**
+     * @param delta Wanted movement
+     * @return The movement limited to the agent speed
+     */
+    private static int clamp(int delta) {
+        return Math.max(-SPEED, Math.min(SPEED, delta));
+    }
+
+    /**
+     * @return True if the tile is one of the goals, which are kept open
+     */
+    private static boolean isGoal(int col, int row) {
+        for (int[] goal : GOALS) {
+            if (goal[0] == col && goal[1] == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
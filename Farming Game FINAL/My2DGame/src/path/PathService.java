@@ -0,0 +1,141 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Hands out shared flow fields to any tile and keeps them up to date as the map changes
+ */
+
+package path;
+
+import physics.CollisionWorld;
+
+/**
+ * Pathfinding for every walking NPC in one world. Instead of each agent
+ * searching for its own path, the service keeps one {@link FlowField} per
+ * destination and every agent heading there follows it, so a hundred agents
+ * walking to the market cost one field build plus one lookup each per tick.
+ * <p>
+ * Fields are cached by goal tile, up to a limit, with the least recently asked
+ * for dropped first. Tile changes must go through {@link #setSolid} so each
+ * cached field can repair just the part of itself the change affects. The
+ * service, and its scratch arrays, belong to the game thread.
+ */
+public final class PathService {
+    static final int DEFAULT_MAX_FIELDS = 64;
+
+    final CollisionWorld grid;
+    private final int maxFields;
+    private final FlowField[] byGoal; // Cached field for each goal tile, or null
+    private final FlowField[] live; // The cached fields, packed
+    private int fieldCount = 0;
+    private long useClock = 0; // Counts lookups, for least recently used eviction
+
+    // Search scratch shared by every field
+    final int[] queue;
+    final int[] mark;
+    int epoch = 0;
+    final long[] heap;
+
+    // Counters
+    long builds = 0; // Whole-map searches
+    long repairs = 0; // Partial repairs after a tile change
+    long repairedTiles = 0; // Tiles searched again by repairs
+
+    /**
+     * Creates a service with the default field limit.
+     *
+     * @param grid Collision world holding the tiles
+     */
+    public PathService(CollisionWorld grid) {
+        this(grid, DEFAULT_MAX_FIELDS);
+    }
+
+    /**
+     * Creates a service.
+     *
+     * @param grid      Collision world holding the tiles
+     * @param maxFields Fields kept before the least recently used is dropped
+     */
+    public PathService(CollisionWorld grid, int maxFields) {
+        this.grid = grid;
+        this.maxFields = maxFields;
+        int tiles = grid.cols() * grid.rows();
+        byGoal = new FlowField[tiles];
+        live = new FlowField[maxFields];
+        queue = new int[tiles];
+        mark = new int[tiles];
+        heap = new long[tiles * 5];
+    }
+
+    /**
+     * Gets the field towards a tile, building it the first time. Meant to be
+     * called when an agent picks a destination, not every tick.
+     *
+     * @param col Goal tile column
+     * @param row Goal tile row
+     * @return The shared field
+     */
+    public FlowField fieldTo(int col, int row) {
+        int goal = row * grid.cols() + col;
+        FlowField field = byGoal[goal];
+        if (field == null) {
+            if (fieldCount == maxFields) {
+                evictOldest();
+            }
+            field = new FlowField(this, col, row);
+            byGoal[goal] = field;
+            live[fieldCount++] = field;
+        }
+        field.lastUsed = ++useClock;
+        return field;
+    }
+
+    /**
+     * Opens or closes a tile and repairs every cached field.
+     *
+     * @param col   Tile column
+     * @param row   Tile row
+     * @param solid True to close the tile
+     */
+    public void setSolid(int col, int row, boolean solid) {
+        if (grid.isSolid(col, row) == solid) {
+            return;
+        }
+        grid.setSolid(col, row, solid);
+        for (int i = 0; i < fieldCount; i++) {
+            live[i].tileChanged(col, row);
+        }
+    }
+
+    /**
+     * @return Fields cached
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return Counters for printing: fields cached, whole-map builds, repairs
+     *         and tiles searched by repairs
+     */
+    public String stats() {
+        return "Fields: " + fieldCount + " | Builds: " + builds + " | Repairs: " + repairs + " (" + repairedTiles
+                + " tiles)";
+    }
+
+    /**
+     * Drops the field that has gone longest without being asked for.
+     */
+    private void evictOldest() {
+        int oldest = 0;
+        for (int i = 1; i < fieldCount; i++) {
+            if (live[i].lastUsed < live[oldest].lastUsed) {
+                oldest = i;
+            }
+        }
+        FlowField field = live[oldest];
+        field.evicted = true;
+        byGoal[field.goalRow * grid.cols() + field.goalCol] = null;
+        live[oldest] = live[--fieldCount];
+        live[fieldCount] = null;
+    }
+}
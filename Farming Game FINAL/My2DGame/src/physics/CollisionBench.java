@@ -0,0 +1,138 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times the collision world with thousands of wandering bodies and checks the results are repeatable
+ */
+
+package physics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Benchmark for {@link CollisionWorld}. Scatters bodies over a large tile map
+ * with random walls, gives each a random fractional velocity and steps the
+ * world, reversing a body's direction on any axis it hits something on. Prints
+ * the time per step and per body and the bytes allocated per step, then checks
+ * that no body ends up inside a wall or another body and that two runs from
+ * the same seed end in exactly the same place.
+ * {@code java physics.CollisionBench [bodies] [steps]}
+ */
+public final class CollisionBench {
+    static final int DEFAULT_BODIES = 10000;
+    static final int DEFAULT_STEPS = 1000;
+    static final int WARMUP_STEPS = 300;
+    static final int TILE = 16; // Tile size in pixels
+    static final int MAP_TILES = 256; // Map width and height in tiles
+    static final int BODY = 12; // Body size in pixels
+    static final long SEED = 42;
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional body count and step count
+     */
+    public static void main(String[] args) {
+        int bodies = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BODIES;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEPS;
+
+        CollisionWorld world = create(bodies);
+        run(world, WARMUP_STEPS);
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        run(world, steps);
+        long elapsed = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+
+        System.out.printf("%d bodies, %d steps: %.3f ms per step, %d ns per body, %d B allocated per step%n",
+                bodies, steps, elapsed / 1e6 / steps, elapsed / ((long) steps * bodies), allocated / steps);
+
+        int overlap = world.findOverlap();
+        System.out.println(overlap < 0 ? "Overlap check: OK" : "Overlap check: FAILED, body " + overlap);
+
+        CollisionWorld again = create(bodies);
+        run(again, WARMUP_STEPS + steps);
+        boolean same = hash(world) == hash(again);
+        System.out.println(same ? "Determinism check: OK" : "Determinism check: FAILED");
+        System.exit(overlap < 0 && same ? 0 : 1);
+    }
+
+    /**
+     * Builds the map and places the bodies, each on its own open tile.
+     *
+     * @param bodies Number of bodies
+     * @return The world
+     */
+    private static CollisionWorld create(int bodies) {
+        Random random = new Random(SEED);
+        CollisionWorld world = new CollisionWorld(MAP_TILES, MAP_TILES, TILE, TILE * 2);
+        boolean[] used = new boolean[MAP_TILES * MAP_TILES];
+        for (int i = 0; i < used.length / 10; i++) {
+            int tile = random.nextInt(used.length);
+            used[tile] = true;
+            world.setSolid(tile % MAP_TILES, tile / MAP_TILES, true);
+        }
+        for (int i = 0; i < bodies; i++) {
+            int tile;
+            do {
+                tile = random.nextInt(used.length);
+            } while (used[tile]);
+            used[tile] = true;
+            int id = world.addBody(tile % MAP_TILES * TILE + 2, tile / MAP_TILES * TILE + 2, BODY, BODY, true);
+            world.setVelocity(id, velocity(random), velocity(random));
+        }
+        return world;
+    }
+
+    /**
+     * @param random Random source
+     * @return A fixed-point speed between -3.5 and 3.5 pixels per step
+     */
+    private static int velocity(Random random) {
+        return random.nextInt(7 * CollisionWorld.ONE + 1) - 7 * CollisionWorld.ONE / 2;
+    }
+
+    /**
+     * Steps the world, turning bodies around when they hit something.
+     *
+     * @param world World to step
+     * @param steps Number of steps
+     */
+    private static void run(CollisionWorld world, int steps) {
+        for (int s = 0; s < steps; s++) {
+            world.step();
+            for (int i = 0; i < world.bodyCount(); i++) {
+                int hits = world.hits(i);
+                if (hits != 0) {
+                    int vx = world.vx(i), vy = world.vy(i);
+                    world.setVelocity(i, (hits & CollisionWorld.HIT_X) != 0 ? -vx : vx,
+                            (hits & CollisionWorld.HIT_Y) != 0 ? -vy : vy);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param world World to fingerprint
+     * @return A hash of every body's position
+     */
+    private static long hash(CollisionWorld world) {
+        long hash = 17;
+        for (int i = 0; i < world.bodyCount(); i++) {
+            hash = hash * 31 + world.x(i);
+            hash = hash * 31 + world.y(i);
+        }
+        return hash;
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or 0 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
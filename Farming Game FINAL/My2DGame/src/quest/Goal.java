@@ -0,0 +1,67 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: One achievement, or one step of a quest, met when a stat reaches a target
+ */
+
+package quest;
+
+/**
+ * A condition on one of the {@link ProgressTracker}'s stats. An achievement is
+ * met once the stat reaches its target. A quest step counts from the moment
+ * it becomes active, which is when the step before it in the same quest is
+ * done, so "harvest 3 times" means three more harvests. Stats only ever go
+ * up, which is what lets the tracker keep each stat's goals sorted and look
+ * only at the next one due.
+ */
+public final class Goal {
+    public final String title; // Name shown when it is met
+    public final String description; // What to do
+    public final String quest; // Quest this is a step of, null for an achievement
+    public final int stat; // Stat from ProgressTracker
+    public final long target; // Value the stat must reach, or gain for a quest step
+
+    private Goal(String title, String description, String quest, int stat, long target) {
+        if (stat < 0 || stat >= ProgressTracker.STATS) {
+            throw new IllegalArgumentException("Unknown stat " + stat);
+        }
+        if (target < 0) {
+            throw new IllegalArgumentException("Negative target for " + title);
+        }
+        this.title = title;
+        this.description = description;
+        this.quest = quest;
+        this.stat = stat;
+        this.target = target;
+    }
+
+    /**
+     * @param title       Name of the achievement
+     * @param description What to do
+     * @param stat        Stat from {@link ProgressTracker}
+     * @param target      Value the stat must reach
+     * @return An achievement
+     */
+    public static Goal achievement(String title, String description, int stat, long target) {
+        return new Goal(title, description, null, stat, target);
+    }
+
+    /**
+     * @param quest       Name of the quest. Its steps follow each other in a
+     *                    goal table
+     * @param description What to do
+     * @param stat        Stat from {@link ProgressTracker}
+     * @param amount      How much the stat must go up once the step is active
+     * @return A quest step
+     */
+    public static Goal step(String quest, String description, int stat, long amount) {
+        return new Goal(quest, description, quest, stat, amount);
+    }
+
+    /**
+     * @return true for a quest step, false for an achievement
+     */
+    public boolean isQuestStep() {
+        return quest != null;
+    }
+}
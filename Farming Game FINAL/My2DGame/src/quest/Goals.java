@@ -0,0 +1,74 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: The game's achievements and quests
+ */
+
+package quest;
+
+/**
+ * Every achievement and quest in the game. Saves record goals by their place
+ * in this table, so new goals go at the end. A quest's steps follow each
+ * other in order.
+ */
+public final class Goals {
+    public static final Goal[] ALL = {
+            // Planting
+            Goal.achievement("First Sprout", "Plant a crop", ProgressTracker.CROPS_PLANTED, 1),
+            Goal.achievement("Green Thumb", "Plant 10 crops", ProgressTracker.CROPS_PLANTED, 10),
+            Goal.achievement("Seasoned Grower", "Plant 50 crops", ProgressTracker.CROPS_PLANTED, 50),
+            Goal.achievement("Master Gardener", "Plant 200 crops", ProgressTracker.CROPS_PLANTED, 200),
+
+            // Harvesting
+            Goal.achievement("First Harvest", "Harvest a crop", ProgressTracker.HARVESTS, 1),
+            Goal.achievement("Busy Season", "Harvest 25 times", ProgressTracker.HARVESTS, 25),
+            Goal.achievement("Harvest Moon", "Harvest 100 times", ProgressTracker.HARVESTS, 100),
+            Goal.achievement("Amber Waves", "Harvest 100 wheat", ProgressTracker.WHEAT_HARVESTED, 100),
+            Goal.achievement("Breadbasket", "Harvest 1000 wheat", ProgressTracker.WHEAT_HARVESTED, 1000),
+            Goal.achievement("Carrot Top", "Harvest 100 carrots", ProgressTracker.CARROTS_HARVESTED, 100),
+            Goal.achievement("Carrot King", "Harvest 1000 carrots", ProgressTracker.CARROTS_HARVESTED, 1000),
+            Goal.achievement("Spud Buddy", "Harvest 100 potatoes", ProgressTracker.POTATOES_HARVESTED, 100),
+            Goal.achievement("Potato Baron", "Harvest 1000 potatoes", ProgressTracker.POTATOES_HARVESTED, 1000),
+
+            // Trading
+            Goal.achievement("Seed Collector", "Buy 10 seeds", ProgressTracker.SEEDS_BOUGHT, 10),
+            Goal.achievement("Seed Hoarder", "Buy 100 seeds", ProgressTracker.SEEDS_BOUGHT, 100),
+            Goal.achievement("Market Regular", "Sell 10 lots of crops", ProgressTracker.LOTS_SOLD, 10),
+            Goal.achievement("Wholesaler", "Sell 100 lots of crops", ProgressTracker.LOTS_SOLD, 100),
+            Goal.achievement("On a Roll", "Sell 3 lots in a row without buying anything",
+                    ProgressTracker.BEST_SALE_STREAK, 3),
+            Goal.achievement("Hot Streak", "Sell 5 lots in a row without buying anything",
+                    ProgressTracker.BEST_SALE_STREAK, 5),
+            Goal.achievement("Unstoppable", "Sell 10 lots in a row without buying anything",
+                    ProgressTracker.BEST_SALE_STREAK, 10),
+            Goal.achievement("Soil Scientist", "Buy Soil Nutrients", ProgressTracker.NUTRIENTS_BOUGHT, 1),
+
+            // Gold
+            Goal.achievement("Pocket Money", "Hold 100 gold", ProgressTracker.PEAK_GOLD, 100),
+            Goal.achievement("Nest Egg", "Hold 250 gold", ProgressTracker.PEAK_GOLD, 250),
+            Goal.achievement("Well Off", "Hold 500 gold", ProgressTracker.PEAK_GOLD, 500),
+            Goal.achievement("Silver Saver", "Hold 1000 gold", ProgressTracker.PEAK_GOLD, 1000),
+            Goal.achievement("Earner", "Earn 1000 gold selling crops", ProgressTracker.GOLD_EARNED, 1000),
+            Goal.achievement("Tycoon", "Earn 10000 gold selling crops", ProgressTracker.GOLD_EARNED, 10000),
+            Goal.achievement("Big Spender", "Spend 500 gold", ProgressTracker.GOLD_SPENT, 500),
+            Goal.achievement("High Roller", "Spend 5000 gold", ProgressTracker.GOLD_SPENT, 5000),
+
+            // Finishing
+            Goal.achievement("Silver Champion", "Buy the SILVER TROPHY", ProgressTracker.TROPHIES, 1),
+            Goal.achievement("Trophy Cabinet", "Buy 3 SILVER TROPHIES", ProgressTracker.TROPHIES, 3),
+
+            // Quests
+            Goal.step("First Season", "Buy a seed from the merchant", ProgressTracker.SEEDS_BOUGHT, 1),
+            Goal.step("First Season", "Plant it in the crop plot", ProgressTracker.CROPS_PLANTED, 1),
+            Goal.step("First Season", "Harvest the crop", ProgressTracker.HARVESTS, 1),
+            Goal.step("First Season", "Sell a lot to the farmer", ProgressTracker.LOTS_SOLD, 1),
+            Goal.step("Root Vegetables", "Harvest 40 carrots", ProgressTracker.CARROTS_HARVESTED, 40),
+            Goal.step("Root Vegetables", "Harvest 40 potatoes", ProgressTracker.POTATOES_HARVESTED, 40),
+            Goal.step("Road to Silver", "Earn 500 gold selling crops", ProgressTracker.GOLD_EARNED, 500),
+            Goal.step("Road to Silver", "Sell 4 more lots of crops", ProgressTracker.LOTS_SOLD, 4),
+            Goal.step("Road to Silver", "Buy the SILVER TROPHY", ProgressTracker.TROPHIES, 1),
+    };
+
+    private Goals() {
+    }
+}
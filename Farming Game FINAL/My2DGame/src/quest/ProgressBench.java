@@ -0,0 +1,366 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times the progress tracker with thousands of goals and checks it against rechecking every goal on every change
+ */
+
+package quest;
+
+import event.EventBus;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark for {@link ProgressTracker}. Makes a large table of random
+ * achievements and quests and a stream of random harvests, plantings, trades
+ * and gold changes. Prints events per second, goals compared per event and
+ * bytes allocated per event. Then replays the start of the stream into a
+ * tracker that rechecks every goal whenever a stat changes, and checks both
+ * finished every goal on the same event. Last it saves and loads the game's
+ * own goals after the whole stream and checks nothing was lost.
+ * {@code java quest.ProgressBench [events] [goals]}
+ */
+public final class ProgressBench {
+    static final int DEFAULT_EVENTS = 5000000;
+    static final int DEFAULT_GOALS = 10000;
+    static final int WARMUP_PASSES = 3; // Passes over the stream before timing
+    static final int CHECKED_EVENTS = 20000; // Events replayed into the rechecking tracker
+    static final int QUEST_STEPS = 5;
+    static final long SEED = 42;
+    // Looked up once, since looking it up allocates
+    static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    // Event kinds
+    static final int PLANTED = 0, HARVESTED = 1, TRADE = 2, GOLD = 3;
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional event and goal counts
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        int goalCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GOALS;
+        Events events = new Events(count);
+        Goal[] goals = randomGoals(goalCount, events, count);
+
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            replay(new ProgressTracker(goals), events, count);
+        }
+        ProgressTracker tracker = new ProgressTracker(goals);
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        replay(tracker, events, count);
+        long nanos = System.nanoTime() - start;
+        long bytes = allocatedBytes() - allocated;
+        System.out.printf("Indexed tracker (%,d goals): %,.0f events/s, %d ns/event, %.2f goals compared/event, "
+                + "%d B/event, %,d goals finished%n", goalCount, count * 1e9 / nanos, nanos / count,
+                (double) tracker.checks() / count, bytes / count, tracker.doneCount());
+
+        int checked = Math.min(count, CHECKED_EVENTS);
+        Goal[] checkedGoals = randomGoals(goalCount, events, checked);
+        Rechecking slow = new Rechecking(checkedGoals);
+        start = System.nanoTime();
+        for (int i = 0; i < checked; i++) {
+            slow.apply(events, i);
+        }
+        long slowNanos = System.nanoTime() - start;
+        System.out.printf("Rechecking every goal: %,.0f events/s, %d ns/event, %.0f goals compared/event%n",
+                checked * 1e9 / slowNanos, slowNanos / checked, (double) slow.checks / checked);
+
+        boolean ok = check(checkedGoals, events, checked);
+        System.out.println(ok ? "Reference check: OK" : "Reference check: FAILED");
+
+        // The game's own goals, saved and loaded after the whole stream
+        ProgressTracker game = new ProgressTracker();
+        replay(game, events, count);
+        ByteBuffer saved = ByteBuffer.allocate(1024);
+        game.writeState(saved);
+        saved.flip();
+        int size = saved.remaining();
+        ProgressTracker loaded = new ProgressTracker();
+        loaded.readState(saved);
+        boolean same = loaded.doneCount() == game.doneCount();
+        for (int goal = 0; goal < game.goalCount(); goal++) {
+            same &= loaded.isDone(goal) == game.isDone(goal);
+        }
+        for (int stat = 0; stat < ProgressTracker.STATS; stat++) {
+            same &= loaded.stat(stat) == game.stat(stat);
+        }
+        System.out.printf("Game goals: %d of %d finished, progress saves in %d bytes%n", game.doneCount(),
+                game.goalCount(), size);
+        System.out.println(same ? "Save check: OK" : "Save check: FAILED");
+        ok &= same;
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Feeds events to a tracker the way the event bus and the game do.
+     */
+    static void replay(ProgressTracker tracker, Events events, int count) {
+        for (int i = 0; i < count; i++) {
+            deliver(tracker, events, i);
+        }
+    }
+
+    /**
+     * Feeds one event to a tracker.
+     */
+    static void deliver(ProgressTracker tracker, Events events, int i) {
+        switch (events.kind[i]) {
+            case PLANTED:
+                tracker.planted(i, events.a[i]);
+                break;
+            case HARVESTED:
+                tracker.harvested(i, events.a[i], events.b[i]);
+                break;
+            case TRADE:
+                tracker.tradeCompleted(i, events.a[i], events.b[i], events.c[i]);
+                break;
+            default:
+                tracker.goldHeld(events.a[i]);
+                break;
+        }
+    }
+
+    /**
+     * Replays the start of the stream into both trackers and compares the
+     * event each goal finished on, and the stats at the end.
+     */
+    static boolean check(Goal[] goals, Events events, int count) {
+        ProgressTracker fast = new ProgressTracker(goals);
+        Rechecking slow = new Rechecking(goals);
+        int[] fastAt = new int[goals.length];
+        Arrays.fill(fastAt, -1);
+        for (int i = 0; i < count; i++) {
+            deliver(fast, events, i);
+            slow.apply(events, i);
+            int goal;
+            while ((goal = fast.pollFinished()) >= 0) {
+                fastAt[goal] = i;
+            }
+        }
+        for (int goal = 0; goal < goals.length; goal++) {
+            if (fastAt[goal] != slow.finishedAt[goal]) {
+                System.out.println("Goal " + goal + " finished on event " + fastAt[goal] + ", expected "
+                        + slow.finishedAt[goal]);
+                return false;
+            }
+        }
+        System.out.printf("Checked %,d events, %,d goals finished%n", count, fast.doneCount());
+        for (int stat = 0; stat < ProgressTracker.STATS; stat++) {
+            if (fast.stat(stat) != slow.stats[stat]) {
+                System.out.println("Stat " + stat + " is " + fast.stat(stat) + ", expected " + slow.stats[stat]);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Random achievements and quests, with targets spread up to a little past
+     * where the first events leave each stat, so most finish along the way.
+     */
+    static Goal[] randomGoals(int count, Events events, int length) {
+        ProgressTracker dryRun = new ProgressTracker(new Goal[0]);
+        replay(dryRun, events, length);
+        Random random = new Random(SEED);
+        Goal[] goals = new Goal[count];
+        for (int i = 0; i < count; i++) {
+            int stat = random.nextInt(ProgressTracker.STATS);
+            long end = Math.max(1, dryRun.stat(stat));
+            if (random.nextInt(5) == 0) {
+                // A whole quest of steps on random stats
+                String quest = "Quest " + i;
+                for (int step = 0; step < QUEST_STEPS && i < count; step++, i++) {
+                    stat = random.nextInt(ProgressTracker.STATS);
+                    end = Math.max(1, dryRun.stat(stat));
+                    goals[i] = Goal.step(quest, "Step " + step, stat, 1 + (long) (random.nextDouble() * end / 4));
+                }
+                i--;
+            } else {
+                goals[i] = Goal.achievement("Goal " + i, "", stat, 1 + (long) (random.nextDouble() * end * 1.2));
+            }
+        }
+        return goals;
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or 0 if the JVM can't say
+     */
+    private static long allocatedBytes() {
+        return THREADS instanceof com.sun.management.ThreadMXBean
+                ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+
+    /**
+     * A stream of random events, made up front so the timing only covers the
+     * tracker.
+     */
+    static final class Events {
+        final int[] kind, a, b, c;
+
+        Events(int count) {
+            kind = new int[count];
+            a = new int[count];
+            b = new int[count];
+            c = new int[count];
+            Random random = new Random(SEED);
+            int gold = 20;
+            for (int i = 0; i < count; i++) {
+                int roll = random.nextInt(100);
+                if (roll < 30) {
+                    kind[i] = PLANTED;
+                    a[i] = random.nextInt(3);
+                } else if (roll < 55) {
+                    kind[i] = HARVESTED;
+                    a[i] = random.nextInt(3);
+                    b[i] = 20;
+                } else if (roll < 75) {
+                    // Selling a lot to the farmer
+                    kind[i] = TRADE;
+                    a[i] = EventBus.FARMER;
+                    b[i] = random.nextInt(ProgressTracker.NUTRIENTS_TRADE);
+                    c[i] = 20 + random.nextInt(131);
+                } else if (roll < 90) {
+                    kind[i] = TRADE;
+                    a[i] = EventBus.MERCHANT;
+                    b[i] = random.nextInt(3);
+                    c[i] = -(10 + random.nextInt(91));
+                } else if (roll < 93) {
+                    kind[i] = TRADE;
+                    a[i] = EventBus.FARMER;
+                    b[i] = ProgressTracker.NUTRIENTS_TRADE;
+                    c[i] = -50;
+                } else if (roll < 95) {
+                    kind[i] = TRADE;
+                    a[i] = EventBus.FARMER;
+                    b[i] = ProgressTracker.TROPHY_TRADE;
+                    c[i] = -1000;
+                } else {
+                    kind[i] = GOLD;
+                    gold = Math.max(0, gold + random.nextInt(201) - 90);
+                    a[i] = gold;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reference tracker: keeps the same stats, and whenever one changes looks
+     * at every goal that is counting.
+     */
+    static final class Rechecking {
+        final Goal[] goals;
+        final long[] stats = new long[ProgressTracker.STATS];
+        final int[] finishedAt; // Event each goal finished on, or -1
+        final long[] threshold;
+        final boolean[] counting;
+        final int[] nextStep;
+        long streak = 0;
+        long checks = 0;
+        int event = 0;
+
+        Rechecking(Goal[] goals) {
+            this.goals = goals;
+            finishedAt = new int[goals.length];
+            threshold = new long[goals.length];
+            counting = new boolean[goals.length];
+            nextStep = new int[goals.length];
+            Arrays.fill(finishedAt, -1);
+            Arrays.fill(nextStep, -1);
+            Map<String, Integer> lastStep = new HashMap<>();
+            for (int goal = 0; goal < goals.length; goal++) {
+                Integer before = goals[goal].isQuestStep() ? lastStep.put(goals[goal].quest, goal) : null;
+                if (before != null) {
+                    nextStep[before] = goal;
+                } else {
+                    counting[goal] = true;
+                    threshold[goal] = goals[goal].target;
+                }
+            }
+            recheck();
+        }
+
+        void apply(Events events, int i) {
+            event = i;
+            int a = events.a[i], b = events.b[i], c = events.c[i];
+            switch (events.kind[i]) {
+                case PLANTED:
+                    add(ProgressTracker.CROPS_PLANTED, 1);
+                    break;
+                case HARVESTED:
+                    add(ProgressTracker.HARVESTS, 1);
+                    add(ProgressTracker.WHEAT_HARVESTED + a, b);
+                    break;
+                case TRADE:
+                    if (a == EventBus.FARMER && b < ProgressTracker.NUTRIENTS_TRADE) {
+                        add(ProgressTracker.LOTS_SOLD, 1);
+                        add(ProgressTracker.GOLD_EARNED, c);
+                        streak++;
+                        raise(ProgressTracker.BEST_SALE_STREAK, streak);
+                        break;
+                    }
+                    streak = 0;
+                    add(ProgressTracker.GOLD_SPENT, -c);
+                    if (a == EventBus.MERCHANT) {
+                        add(ProgressTracker.SEEDS_BOUGHT, 1);
+                    } else if (b == ProgressTracker.NUTRIENTS_TRADE) {
+                        add(ProgressTracker.NUTRIENTS_BOUGHT, 1);
+                    } else if (b == ProgressTracker.TROPHY_TRADE) {
+                        add(ProgressTracker.TROPHIES, 1);
+                    }
+                    break;
+                default:
+                    raise(ProgressTracker.PEAK_GOLD, a);
+                    break;
+            }
+        }
+
+        void add(int stat, long amount) {
+            if (amount > 0) {
+                stats[stat] += amount;
+                recheck();
+            }
+        }
+
+        void raise(int stat, long value) {
+            if (value > stats[stat]) {
+                stats[stat] = value;
+                recheck();
+            }
+        }
+
+        /**
+         * Looks at every counting goal until none finishes.
+         */
+        void recheck() {
+            boolean any = true;
+            while (any) {
+                any = false;
+                for (int goal = 0; goal < goals.length; goal++) {
+                    if (!counting[goal]) {
+                        continue;
+                    }
+                    checks++;
+                    if (stats[goals[goal].stat] >= threshold[goal]) {
+                        counting[goal] = false;
+                        finishedAt[goal] = event;
+                        int next = nextStep[goal];
+                        if (next >= 0) {
+                            counting[next] = true;
+                            threshold[next] = stats[goals[next].stat] + goals[next].target;
+                        }
+                        any = true;
+                    }
+                }
+            }
+        }
+    }
+}
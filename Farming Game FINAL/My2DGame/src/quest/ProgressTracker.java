@@ -0,0 +1,446 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Keeps the player's stats from game events and finishes achievements and quest steps as they are met
+ */
+
+package quest;
+
+import event.EventBus;
+import event.GameEventListener;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The player's progress. Subscribed to the game's {@link EventBus}, it adds to
+ * its stats as harvests, plantings and trades arrive, and the game passes it
+ * the gold held once a tick. Goals are indexed by the stat they depend on, so
+ * a change only looks at that stat's goals. Stats only ever go up, so each
+ * stat keeps its waiting goals sorted by the value they need, and checking is
+ * one comparison against the next goal due, however many there are. Finished
+ * goals are queued until the game announces them. Nothing allocates once the
+ * tracker is built.
+ */
+public final class ProgressTracker implements GameEventListener {
+    // Stats
+    public static final int CROPS_PLANTED = 0;
+    public static final int HARVESTS = 1;
+    public static final int WHEAT_HARVESTED = 2, CARROTS_HARVESTED = 3, POTATOES_HARVESTED = 4; // Crops, not harvests
+    public static final int SEEDS_BOUGHT = 5;
+    public static final int LOTS_SOLD = 6;
+    public static final int GOLD_EARNED = 7; // Selling crops
+    public static final int GOLD_SPENT = 8;
+    public static final int PEAK_GOLD = 9; // Most gold held at once
+    public static final int BEST_SALE_STREAK = 10; // Most lots sold without buying anything in between
+    public static final int NUTRIENTS_BOUGHT = 11;
+    public static final int TROPHIES = 12;
+    public static final int STATS = 13;
+
+    // The farmer's menu, as in GamePanel.farmerItemsForSale. Crops come before the nutrients
+    static final int NUTRIENTS_TRADE = 3, TROPHY_TRADE = 4;
+
+    private final Goal[] goals;
+    private final int[] nextStep; // Quest step that follows each goal, or -1
+    private final int[] previousStep; // Quest step each goal follows, or -1
+
+    private final long[] stats = new long[STATS];
+    private long saleStreak = 0; // Lots sold since anything was last bought
+    private final boolean[] done;
+    private int doneCount = 0;
+    private final long[] threshold; // Value each active goal's stat has to reach
+
+    // Index: by stat, the active goals sorted by threshold, highest first, so the next due is last
+    private final int[][] waiting = new int[STATS][];
+    private final int[] waitingCount = new int[STATS];
+
+    // Finished goals not yet announced, a ring holding every goal at most once
+    private final int[] finished;
+    private int finishedHead = 0, finishedCount = 0;
+
+    private long checks = 0; // Goals compared with their stat
+
+    /**
+     * Creates a tracker for the game's own goals, from a new game.
+     */
+    public ProgressTracker() {
+        this(Goals.ALL);
+    }
+
+    /**
+     * Creates a tracker from a new game.
+     *
+     * @param goals Goals to track, a quest's steps following each other
+     */
+    public ProgressTracker(Goal[] goals) {
+        this.goals = goals;
+        int count = goals.length;
+        nextStep = new int[count];
+        previousStep = new int[count];
+        done = new boolean[count];
+        threshold = new long[count];
+        finished = new int[count];
+
+        // Link each quest's steps, and size each stat's part of the index
+        Map<String, Integer> lastStep = new HashMap<>();
+        int[] perStat = new int[STATS];
+        for (int goal = 0; goal < count; goal++) {
+            nextStep[goal] = -1;
+            previousStep[goal] = -1;
+            if (goals[goal].isQuestStep()) {
+                Integer before = lastStep.put(goals[goal].quest, goal);
+                if (before != null) {
+                    previousStep[goal] = before;
+                    nextStep[before] = goal;
+                }
+            }
+            perStat[goals[goal].stat]++;
+        }
+        for (int stat = 0; stat < STATS; stat++) {
+            waiting[stat] = new int[perStat[stat]];
+        }
+        long[] baselines = new long[count];
+        Arrays.fill(baselines, -1);
+        start(baselines);
+    }
+
+    @Override
+    public void planted(long tick, int crop) {
+        add(CROPS_PLANTED, 1);
+    }
+
+    @Override
+    public void harvested(long tick, int crop, int amount) {
+        add(HARVESTS, 1);
+        add(WHEAT_HARVESTED + crop, amount);
+    }
+
+    @Override
+    public void tradeCompleted(long tick, int trader, int trade, int gold) {
+        if (trader == EventBus.FARMER && trade < NUTRIENTS_TRADE) {
+            add(LOTS_SOLD, 1);
+            add(GOLD_EARNED, gold);
+            saleStreak++;
+            raise(BEST_SALE_STREAK, saleStreak);
+            return;
+        }
+        saleStreak = 0;
+        add(GOLD_SPENT, -gold);
+        if (trader == EventBus.MERCHANT) {
+            add(SEEDS_BOUGHT, 1);
+        } else if (trade == NUTRIENTS_TRADE) {
+            add(NUTRIENTS_BOUGHT, 1);
+        } else if (trade == TROPHY_TRADE) {
+            add(TROPHIES, 1);
+        }
+    }
+
+    /**
+     * Notes the gold the player holds. Called once a tick, since gold also
+     * changes in ways that are not trades.
+     *
+     * @param gold Gold held
+     */
+    public void goldHeld(long gold) {
+        raise(PEAK_GOLD, gold);
+    }
+
+    /**
+     * Adds to a stat and finishes the goals it now meets.
+     */
+    private void add(int stat, long amount) {
+        if (amount > 0) {
+            stats[stat] += amount;
+            check(stat);
+        }
+    }
+
+    /**
+     * Raises a stat to a value if it is higher, and finishes the goals it now
+     * meets.
+     */
+    private void raise(int stat, long value) {
+        if (value > stats[stat]) {
+            stats[stat] = value;
+            check(stat);
+        }
+    }
+
+    /**
+     * Finishes every goal on a stat that it meets. They are the last in the
+     * stat's list, so this stops at the first that is not met.
+     */
+    private void check(int stat) {
+        int[] list = waiting[stat];
+        long value = stats[stat];
+        checks++;
+        while (waitingCount[stat] > 0 && threshold[list[waitingCount[stat] - 1]] <= value) {
+            finish(list[--waitingCount[stat]]);
+            checks++;
+        }
+    }
+
+    /**
+     * Marks a goal done, queues it to be announced, and starts the next step
+     * of its quest.
+     */
+    private void finish(int goal) {
+        done[goal] = true;
+        doneCount++;
+        finished[(finishedHead + finishedCount++) % finished.length] = goal;
+        int next = nextStep[goal];
+        if (next >= 0) {
+            Goal step = goals[next];
+            threshold[next] = stats[step.stat] + step.target;
+            insert(next);
+            if (threshold[next] <= stats[step.stat]) {
+                check(step.stat);
+            }
+        }
+    }
+
+    /**
+     * Puts an active goal into its stat's list, keeping it sorted.
+     */
+    private void insert(int goal) {
+        int stat = goals[goal].stat;
+        int[] list = waiting[stat];
+        int i = waitingCount[stat]++;
+        while (i > 0 && threshold[list[i - 1]] < threshold[goal]) {
+            list[i] = list[i - 1];
+            i--;
+        }
+        list[i] = goal;
+    }
+
+    /**
+     * Rebuilds the index from {@link #done} and the stats. Goals become active
+     * once their quest's previous step is done.
+     *
+     * @param baselines Value each quest step's stat had when the step became
+     *                  active, or -1 to count from the current value
+     */
+    private void start(long[] baselines) {
+        Arrays.fill(waitingCount, 0);
+        for (int goal = 0; goal < goals.length; goal++) {
+            if (done[goal] || previousStep[goal] >= 0 && !done[previousStep[goal]]) {
+                continue;
+            }
+            Goal g = goals[goal];
+            long baseline = !g.isQuestStep() ? 0 : baselines[goal] >= 0 ? baselines[goal] : stats[g.stat];
+            threshold[goal] = baseline + g.target;
+            waiting[g.stat][waitingCount[g.stat]++] = goal;
+        }
+        // Sorted once here, highest threshold first
+        for (int stat = 0; stat < STATS; stat++) {
+            Integer[] order = new Integer[waitingCount[stat]];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = waiting[stat][i];
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(threshold[b], threshold[a]));
+            for (int i = 0; i < order.length; i++) {
+                waiting[stat][i] = order[i];
+            }
+        }
+        for (int stat = 0; stat < STATS; stat++) {
+            check(stat);
+        }
+    }
+
+    /**
+     * @return The next finished goal not yet announced, or -1
+     */
+    public int pollFinished() {
+        if (finishedCount == 0) {
+            return -1;
+        }
+        int goal = finished[finishedHead];
+        finishedHead = (finishedHead + 1) % finished.length;
+        finishedCount--;
+        return goal;
+    }
+
+    /**
+     * @param goal Goal to describe
+     * @return What to tell the player when the goal is finished
+     */
+    public String announcement(int goal) {
+        Goal g = goals[goal];
+        if (!g.isQuestStep()) {
+            return "Achievement unlocked: " + g.title + " - " + g.description;
+        }
+        return (nextStep[goal] < 0 ? "Quest complete: " : "Quest step done: ") + g.quest + " - " + g.description;
+    }
+
+    /**
+     * @param goal Index into the goals
+     * @return The goal
+     */
+    public Goal goal(int goal) {
+        return goals[goal];
+    }
+
+    /**
+     * @return Number of goals
+     */
+    public int goalCount() {
+        return goals.length;
+    }
+
+    /**
+     * @param goal Index into the goals
+     * @return true if it is finished
+     */
+    public boolean isDone(int goal) {
+        return done[goal];
+    }
+
+    /**
+     * @return Number of goals finished
+     */
+    public int doneCount() {
+        return doneCount;
+    }
+
+    /**
+     * @param stat Stat to read
+     * @return Its value
+     */
+    public long stat(int stat) {
+        return stats[stat];
+    }
+
+    /**
+     * @return Goals compared with their stat so far
+     */
+    public long checks() {
+        return checks;
+    }
+
+    /**
+     * Writes the stats, which goals are done and where active quest steps
+     * started counting, as variable length numbers: the stat count and each
+     * stat, the sale streak, the goal count and a bit per goal, then the
+     * number of active quest steps and each one's goal and starting value.
+     *
+     * @param out Buffer to write to
+     */
+    public void writeState(ByteBuffer out) {
+        putVarLong(out, STATS);
+        for (int stat = 0; stat < STATS; stat++) {
+            putVarLong(out, stats[stat]);
+        }
+        putVarLong(out, saleStreak);
+        putVarLong(out, goals.length);
+        for (int first = 0; first < goals.length; first += 8) {
+            int bits = 0;
+            for (int goal = first; goal < Math.min(goals.length, first + 8); goal++) {
+                bits |= done[goal] ? 1 << (goal - first) : 0;
+            }
+            out.put((byte) bits);
+        }
+        int active = 0;
+        for (int goal = 0; goal < goals.length; goal++) {
+            active += activeStep(goal) ? 1 : 0;
+        }
+        putVarLong(out, active);
+        for (int goal = 0; goal < goals.length; goal++) {
+            if (activeStep(goal)) {
+                putVarLong(out, goal);
+                putVarLong(out, threshold[goal] - goals[goal].target);
+            }
+        }
+    }
+
+    /**
+     * Replaces the progress with what {@link #writeState} wrote. Saves from
+     * before goals were added to the end of the table load with those goals
+     * not done.
+     *
+     * @param in Buffer to read from
+     * @throws IllegalArgumentException if the state is not one the game could
+     *                                  have written
+     */
+    public void readState(ByteBuffer in) {
+        // Read everything before changing anything, so a bad save changes nothing
+        long[] savedStats = new long[STATS];
+        int statCount = (int) getVarLong(in, Integer.MAX_VALUE);
+        for (int stat = 0; stat < statCount; stat++) {
+            long value = getVarLong(in, Long.MAX_VALUE);
+            if (stat < STATS) {
+                savedStats[stat] = value;
+            }
+        }
+        long savedStreak = getVarLong(in, Long.MAX_VALUE);
+        int goalCount = (int) getVarLong(in, Integer.MAX_VALUE);
+        boolean[] savedDone = new boolean[goals.length];
+        for (int first = 0; first < goalCount; first += 8) {
+            int bits = in.get();
+            for (int goal = first; goal < Math.min(goals.length, first + 8); goal++) {
+                savedDone[goal] = (bits & 1 << (goal - first)) != 0;
+            }
+        }
+        long[] baselines = new long[goals.length];
+        Arrays.fill(baselines, -1);
+        long active = getVarLong(in, Integer.MAX_VALUE);
+        for (long i = 0; i < active; i++) {
+            long goal = getVarLong(in, Integer.MAX_VALUE);
+            long baseline = getVarLong(in, Long.MAX_VALUE);
+            if (goal < goals.length) {
+                baselines[(int) goal] = baseline;
+            }
+        }
+
+        System.arraycopy(savedStats, 0, stats, 0, STATS);
+        saleStreak = savedStreak;
+        System.arraycopy(savedDone, 0, done, 0, goals.length);
+        doneCount = 0;
+        for (boolean goalDone : done) {
+            doneCount += goalDone ? 1 : 0;
+        }
+        finishedHead = 0;
+        finishedCount = 0;
+        start(baselines);
+    }
+
+    /**
+     * @return true if a goal is a quest step that is counting
+     */
+    private boolean activeStep(int goal) {
+        return goals[goal].isQuestStep() && !done[goal] && (previousStep[goal] < 0 || done[previousStep[goal]]);
+    }
+
+    /**
+     * Writes a number that is not negative in as few bytes as it needs, seven
+     * bits to a byte.
+     */
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a number written by {@link #putVarLong}.
+     *
+     * @param max Largest value allowed
+     * @throws IllegalArgumentException if the number is too long or too large
+     */
+    static long getVarLong(ByteBuffer in, long max) {
+        long value = 0;
+        for (int shift = 0; shift < 63; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0 || value > max) {
+                    throw new IllegalArgumentException("Number out of range: " + value);
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Number too long");
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Times the software renderer against Java2D with thousands of sprites a frame and checks both draw the same picture
+ */
+
+package render;
+
+import asset.AssetLoader;
+import asset.GameArt;
+import asset.SpriteRegistry;
+import asset.Sprites;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Benchmark for {@link RasterBlitter}. Loads the game's art, scatters
+ * one-tile sprites over the background and draws the same frames with Java2D
+ * and with the blitter, each frame ending with a see-through text panel like
+ * the inventory. Runs at the usual 3x screen size and at the art's own
+ * 256x192. Prints the time per sprite and the bytes allocated per frame for
+ * both, then times the panel alone over the background, as when the
+ * inventory is open, and checks the two final frames match to within one
+ * step per colour channel.
+ * {@code java render.BlitBench [sprites per frame] [frames]}
+ */
+public final class BlitBench {
+    static final int DEFAULT_SPRITES = 5000;
+    static final int DEFAULT_FRAMES = 200;
+    static final int WARMUP_FRAMES = 100;
+    static final int PANEL_FRAMES = 2000; // Panels drawn when timing the panel alone
+    static final int SCALE = 3;
+    static final int TILE = 16 * SCALE, WIDTH = 256 * SCALE, HEIGHT = 192 * SCALE;
+    static final long SEED = 42;
+
+    /**
+     * Entry point of the benchmark
+     *
+     * @param args optional sprites per frame and frame count
+     * @throws IOException if the art cannot be loaded
+     */
+    public static void main(String[] args) throws IOException {
+        int sprites = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SPRITES;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        AssetLoader assets = new AssetLoader();
+        assets.preloadStartupAssets();
+        GameArt art = GameArt.load(assets, TILE, WIDTH, HEIGHT, SCALE);
+
+        boolean ok = run("3x", art.sprites, art.background, panel(art.font, 1), sprites, frames);
+        ok &= run("native", art.nativeSprites, art.nativeBackground, panel(art.font.deriveFont(8f), SCALE),
+                sprites, frames);
+        System.out.println(ok ? "Match check: OK" : "Match check: FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Times one resolution with both renderers.
+     *
+     * @param name       Label for the printout
+     * @param registry   Sprites at the size they are drawn
+     * @param background Opaque background the size of the frame
+     * @param panel      See-through panel drawn last
+     * @param sprites    Sprites per frame
+     * @param frames     Frames timed
+     * @return true if both renderers drew the same frame
+     */
+    private static boolean run(String name, SpriteRegistry registry, BufferedImage background, BufferedImage panel,
+            int sprites, int frames) {
+        int width = background.getWidth(), height = background.getHeight();
+        Scene scene = new Scene(registry, width, height, sprites);
+
+        BufferedImage java2dFrame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = java2dFrame.createGraphics();
+        drawJava2D(g2, scene, background, panel, WARMUP_FRAMES);
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        drawJava2D(g2, scene, background, panel, frames);
+        long java2dNanos = System.nanoTime() - start;
+        long java2dBytes = allocatedBytes() - allocated;
+
+        BufferedImage rasterFrame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        RasterBlitter blitter = new RasterBlitter(rasterFrame);
+        RasterSprite rasterBackground = RasterSprite.of(background);
+        RasterSprite rasterPanel = RasterSprite.of(panel);
+        drawRaster(blitter, scene, rasterBackground, rasterPanel, WARMUP_FRAMES);
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        drawRaster(blitter, scene, rasterBackground, rasterPanel, frames);
+        long rasterNanos = System.nanoTime() - start;
+        long rasterBytes = allocatedBytes() - allocated;
+
+        long drawn = (long) frames * sprites;
+        System.out.printf("%s (%dx%d, %d px sprites, %d a frame): Java2D %d ns/sprite %d B/frame, "
+                + "raster %d ns/sprite %d B/frame, %.1fx faster%n", name, width, height, scene.size, sprites,
+                java2dNanos / drawn, java2dBytes / frames, rasterNanos / drawn, rasterBytes / frames,
+                (double) java2dNanos / rasterNanos);
+        boolean ok = sameImage(java2dFrame, rasterFrame);
+
+        // The panel alone, each time over a fresh background
+        drawPanelJava2D(g2, background, panel, PANEL_FRAMES);
+        long java2dPanel = drawPanelJava2D(g2, background, panel, PANEL_FRAMES);
+        drawPanelRaster(blitter, rasterBackground, rasterPanel, PANEL_FRAMES);
+        long rasterPanelNanos = drawPanelRaster(blitter, rasterBackground, rasterPanel, PANEL_FRAMES);
+        System.out.printf("%s panel (%dx%d): Java2D %d us, raster %d us, %.1fx faster%n", name, panel.getWidth(),
+                panel.getHeight(), java2dPanel / PANEL_FRAMES / 1000, rasterPanelNanos / PANEL_FRAMES / 1000,
+                (double) java2dPanel / rasterPanelNanos);
+        return ok & sameImage(java2dFrame, rasterFrame);
+    }
+
+    /**
+     * Draws frames with Java2D.
+     */
+    private static void drawJava2D(Graphics2D g2, Scene scene, BufferedImage background, BufferedImage panel,
+            int frames) {
+        for (int f = 0; f < frames; f++) {
+            g2.drawImage(background, 0, 0, null);
+            for (int i = 0; i < scene.x.length; i++) {
+                g2.drawImage(scene.images[i], scene.x[i], scene.y[i], null);
+            }
+            g2.drawImage(panel, scene.panelX, scene.panelY, null);
+        }
+    }
+
+    /**
+     * Draws the background and the panel over it with Java2D.
+     *
+     * @return Time spent drawing the panels, in nanoseconds
+     */
+    private static long drawPanelJava2D(Graphics2D g2, BufferedImage background, BufferedImage panel, int frames) {
+        long nanos = 0;
+        for (int f = 0; f < frames; f++) {
+            g2.drawImage(background, 0, 0, null);
+            long start = System.nanoTime();
+            g2.drawImage(panel, background.getWidth() - panel.getWidth(), 0, null);
+            nanos += System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    /**
+     * Draws the background and the panel over it with the software renderer.
+     *
+     * @return Time spent drawing the panels, in nanoseconds
+     */
+    private static long drawPanelRaster(RasterBlitter blitter, RasterSprite background, RasterSprite panel,
+            int frames) {
+        long nanos = 0;
+        for (int f = 0; f < frames; f++) {
+            blitter.draw(background, 0, 0);
+            long start = System.nanoTime();
+            blitter.draw(panel, blitter.width - panel.width, 0);
+            nanos += System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    /**
+     * Draws frames with the software renderer.
+     */
+    private static void drawRaster(RasterBlitter blitter, Scene scene, RasterSprite background, RasterSprite panel,
+            int frames) {
+        for (int f = 0; f < frames; f++) {
+            blitter.draw(background, 0, 0);
+            for (int i = 0; i < scene.x.length; i++) {
+                blitter.draw(scene.rasters[i], scene.x[i], scene.y[i]);
+            }
+            blitter.draw(panel, scene.panelX, scene.panelY);
+        }
+    }
+
+    /**
+     * Renders a window like the inventory: a translucent box with a border and
+     * a few lines of text.
+     *
+     * @param font    Font for the text
+     * @param divisor How much smaller than the game's panel to make it
+     * @return The panel image
+     */
+    private static BufferedImage panel(Font font, int divisor) {
+        int width = TILE * 6 / divisor, height = TILE * 10 / divisor;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(new Color(0, 0, 0, 220));
+        g2.fillRoundRect(0, 0, width, height, 35 / divisor, 35 / divisor);
+        g2.setColor(Color.white);
+        g2.drawRoundRect(2, 2, width - 5, height - 5, 25 / divisor, 25 / divisor);
+        g2.setFont(font);
+        for (int line = 1; line < 9; line++) {
+            g2.drawString("Wheat Seeds: " + line, TILE / divisor, line * TILE / divisor);
+        }
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Checks two frames match to within one step per colour channel, which is
+     * how far the blitter's blending may round differently from Java2D's.
+     *
+     * @return true if they match
+     */
+    private static boolean sameImage(BufferedImage a, BufferedImage b) {
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                int p = a.getRGB(x, y), q = b.getRGB(x, y);
+                for (int shift = 0; shift < 24; shift += 8) {
+                    if (Math.abs(((p >> shift) & 0xFF) - ((q >> shift) & 0xFF)) > 1) {
+                        System.out.println("Frames differ at " + x + "," + y + ": "
+                                + Integer.toHexString(p) + " vs " + Integer.toHexString(q));
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or 0 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * The same randomly placed sprites for both renderers, some hanging off
+     * the edges of the frame.
+     */
+    private static final class Scene {
+        final int size; // Sprite size in pixels
+        final int[] x, y;
+        final BufferedImage[] images;
+        final RasterSprite[] rasters;
+        final int panelX, panelY;
+
+        Scene(SpriteRegistry registry, int width, int height, int count) {
+            Random random = new Random(SEED);
+            // One-tile sprites, like the characters
+            int[] ids = new int[Sprites.COUNT];
+            int n = 0;
+            for (int id = 0; id < Sprites.COUNT; id++) {
+                if (Sprites.TILES[id] == 1 && registry.get(id) != null) {
+                    ids[n++] = id;
+                }
+            }
+            size = registry.get(ids[0]).getWidth();
+            x = new int[count];
+            y = new int[count];
+            images = new BufferedImage[count];
+            rasters = new RasterSprite[count];
+            for (int i = 0; i < count; i++) {
+                int id = ids[random.nextInt(n)];
+                x[i] = random.nextInt(width + size) - size;
+                y[i] = random.nextInt(height + size) - size;
+                images[i] = registry.get(id);
+                rasters[i] = registry.raster(id);
+            }
+            panelX = width - width / 3;
+            panelY = height / 12;
+        }
+    }
+}
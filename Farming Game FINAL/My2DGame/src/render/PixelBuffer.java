@@ -0,0 +1,117 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Back buffer at the art's native resolution, blown up to the window with whole-pixel scaling
+ */
+
+package render;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * A frame at the art's own resolution (256x192 for this game). The scene is
+ * drawn into it unscaled, then {@link #upscale} copies it to the window buffer
+ * once, each pixel becoming a square block. That is a ninth of the pixels to
+ * fill at the usual 3x, and no scaled draws at all, which Java2D allocates for.
+ * The pixels are kept in an int array shared with the image, so both Java2D
+ * and plain array code can draw into it.
+ */
+public final class PixelBuffer {
+    public final int width, height; // Size in native pixels
+    public final BufferedImage image; // RGB image over the pixel array
+    public final Graphics2D graphics; // Long-lived graphics for drawing into the image
+    final int[] pixels; // Row-major 0xRRGGBB pixels
+
+    /**
+     * Creates a black buffer.
+     *
+     * @param width  Width in native pixels
+     * @param height Height in native pixels
+     */
+    public PixelBuffer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        pixels = intData(image);
+    }
+
+    /**
+     * Copies the buffer into a larger RGB image, each pixel drawn as a
+     * scale x scale block. Rows are expanded once and then copied down, so the
+     * cost is close to a plain copy of the target.
+     *
+     * @param target RGB image at least width * scale by height * scale
+     * @param scale  Whole number of target pixels per native pixel
+     */
+    public void upscale(BufferedImage target, int scale) {
+        int[] dst = intData(target);
+        int stride = target.getWidth();
+        int rowLength = width * scale;
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * scale * stride;
+            expandRow(y * width, dst, rowStart, scale);
+            for (int k = 1; k < scale; k++) {
+                System.arraycopy(dst, rowStart, dst, rowStart + k * stride, rowLength);
+            }
+        }
+    }
+
+    /**
+     * Writes one row with every pixel repeated. The common scales get their own
+     * loops so the JIT sees a fixed number of stores per pixel.
+     *
+     * @param s     Index of the first source pixel
+     * @param dst   Target pixels
+     * @param d     Index of the first target pixel
+     * @param scale Times each pixel is repeated
+     */
+    private void expandRow(int s, int[] dst, int d, int scale) {
+        int[] src = pixels;
+        int end = s + width;
+        switch (scale) {
+            case 2:
+                for (; s < end; s++, d += 2) {
+                    int rgb = src[s];
+                    dst[d] = rgb;
+                    dst[d + 1] = rgb;
+                }
+                break;
+            case 3:
+                for (; s < end; s++, d += 3) {
+                    int rgb = src[s];
+                    dst[d] = rgb;
+                    dst[d + 1] = rgb;
+                    dst[d + 2] = rgb;
+                }
+                break;
+            case 4:
+                for (; s < end; s++, d += 4) {
+                    int rgb = src[s];
+                    dst[d] = rgb;
+                    dst[d + 1] = rgb;
+                    dst[d + 2] = rgb;
+                    dst[d + 3] = rgb;
+                }
+                break;
+            default:
+                for (; s < end; s++) {
+                    int rgb = src[s];
+                    for (int k = 0; k < scale; k++) {
+                        dst[d++] = rgb;
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * @param image An image of type INT_RGB or INT_ARGB
+     * @return The array holding its pixels
+     */
+    public static int[] intData(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Software renderer that copies sprites straight into the pixel array of an RGB frame
+ */
+
+package render;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Draws {@link RasterSprite}s into the int array behind a TYPE_INT_RGB image,
+ * skipping Java2D's per-call pipeline lookups. Solid spans are array copies,
+ * partly transparent spans are blended one pixel at a time, and everything is
+ * clipped to the image. Blending works on red and blue together in one int
+ * and divides by 255 with shifts, giving exactly what dividing would. Nothing
+ * is allocated while drawing.
+ */
+public final class RasterBlitter {
+    public final int width, height;
+    private final int[] dst; // Pixels of the target image
+
+    /**
+     * Creates a blitter drawing into an image.
+     *
+     * @param target Image of type INT_RGB
+     */
+    public RasterBlitter(BufferedImage target) {
+        if (target.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("The blitter draws into INT_RGB images only");
+        }
+        width = target.getWidth();
+        height = target.getHeight();
+        dst = PixelBuffer.intData(target);
+    }
+
+    /**
+     * Fills the whole target with one colour.
+     *
+     * @param rgb Colour as 0xRRGGBB
+     */
+    public void fill(int rgb) {
+        Arrays.fill(dst, rgb & 0xFFFFFF);
+    }
+
+    /**
+     * Draws a sprite with its top left corner at a position. Any part outside
+     * the target is clipped.
+     *
+     * @param sprite Sprite to draw
+     * @param x      Left edge in target pixels
+     * @param y      Top edge in target pixels
+     */
+    public void draw(RasterSprite sprite, int x, int y) {
+        int rowStart = Math.max(0, -y);
+        int rowEnd = Math.min(sprite.height, height - y);
+        // Visible columns, in sprite coordinates
+        int clipLeft = Math.max(0, -x);
+        int clipRight = Math.min(sprite.width, width - x);
+        if (rowStart >= rowEnd || clipLeft >= clipRight) {
+            return;
+        }
+
+        int[] spans = sprite.spans;
+        int[] rowSpans = sprite.rowSpans;
+        for (int row = rowStart; row < rowEnd; row++) {
+            int src = row * sprite.width;
+            int out = (y + row) * width + x;
+            for (int k = rowSpans[row], end = rowSpans[row + 1]; k < end; k += 3) {
+                int from = Math.max(spans[k], clipLeft);
+                int to = Math.min(spans[k] + spans[k + 1], clipRight);
+                if (from >= to) {
+                    continue;
+                }
+                int kind = spans[k + 2];
+                if (kind == RasterSprite.SOLID) {
+                    System.arraycopy(sprite.rgb, src + from, dst, out + from, to - from);
+                } else if (kind == RasterSprite.UNIFORM) {
+                    blendUniform(sprite.rgb[src + from], sprite.alpha[src + from] & 0xFF, out + from, to - from);
+                } else {
+                    blend(sprite, src + from, out + from, to - from);
+                }
+            }
+        }
+    }
+
+    /**
+     * Blends a run of partly transparent pixels over the target, rounding the
+     * same way as Java2D's source-over to within one step per channel.
+     *
+     * @param sprite Sprite being drawn
+     * @param src    Index of the first sprite pixel
+     * @param out    Index of the first target pixel
+     * @param length Number of pixels
+     */
+    private void blend(RasterSprite sprite, int src, int out, int length) {
+        int[] rgb = sprite.rgb;
+        byte[] alpha = sprite.alpha;
+        for (int i = 0; i < length; i++) {
+            int a = alpha[src + i] & 0xFF;
+            int ia = 255 - a;
+            int s = rgb[src + i];
+            int d = dst[out + i];
+            int rb = (s & 0xFF00FF) * a + (d & 0xFF00FF) * ia + 0x7F007F;
+            int g = (s & 0xFF00) * a + (d & 0xFF00) * ia + 0x7F00;
+            dst[out + i] = divideRedBlue(rb) | divideGreen(g);
+        }
+    }
+
+    /**
+     * Blends a run of one colour and alpha over the target, like
+     * {@link #blend} but with the colour's share worked out once.
+     *
+     * @param rgb    Colour as 0xRRGGBB
+     * @param a      Alpha, 1 to 254
+     * @param out    Index of the first target pixel
+     * @param length Number of pixels
+     */
+    private void blendUniform(int rgb, int a, int out, int length) {
+        int ia = 255 - a;
+        int sourceRb = (rgb & 0xFF00FF) * a + 0x7F007F;
+        int sourceG = (rgb & 0xFF00) * a + 0x7F00;
+        for (int i = out, end = out + length; i < end; i++) {
+            int d = dst[i];
+            dst[i] = divideRedBlue(sourceRb + (d & 0xFF00FF) * ia) | divideGreen(sourceG + (d & 0xFF00) * ia);
+        }
+    }
+
+    /**
+     * Divides red and blue sums by 255 at once. Each is at most
+     * 255 * 255 + 127 in its own 16 bits, where (t + 1 + (t >> 8)) >> 8 is
+     * exactly t / 255 and never carries into the other.
+     *
+     * @param rb Red sum in the top 16 bits, blue sum in the bottom 16
+     * @return 0xRR00BB
+     */
+    private static int divideRedBlue(int rb) {
+        return ((rb + 0x10001 + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+    }
+
+    /**
+     * Divides a green sum by 255, the same way as {@link #divideRedBlue}.
+     *
+     * @param g Green sum shifted up 8 bits
+     * @return 0x00GG00
+     */
+    private static int divideGreen(int g) {
+        return ((g + 0x100 + ((g >>> 8) & 0xFF00)) >>> 8) & 0xFF00;
+    }
+}
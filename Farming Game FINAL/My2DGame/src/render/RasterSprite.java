@@ -0,0 +1,141 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: An image pre-cut into runs of solid and see-through pixels so it can be copied straight into a frame's pixel array
+ */
+
+package render;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * A sprite, panel or background ready for {@link RasterBlitter}. Each row is
+ * stored as spans: runs of fully opaque pixels, which are copied with
+ * {@link System#arraycopy}, and runs of partly transparent pixels, which are
+ * blended. A long run of one see-through colour, like the body of a
+ * translucent panel, is its own kind of span, blended from that one colour.
+ * Fully transparent pixels are not stored at all, so an alpha-tested 16x16
+ * sprite costs a few array copies and no per-pixel tests. Immutable once
+ * built.
+ */
+public final class RasterSprite {
+    // Kinds of span
+    static final int BLENDED = 0; // Partly transparent pixels, each blended with its own colour and alpha
+    static final int SOLID = 1; // Opaque pixels, copied
+    static final int UNIFORM = 2; // Partly transparent pixels all of one colour and alpha
+    static final int UNIFORM_MIN = 8; // Shortest run of one colour given a uniform span
+
+    public final int width, height;
+    final int[] rgb; // Row-major 0xRRGGBB pixels
+    final byte[] alpha; // Row-major alpha, only read for blended spans. Null when there are none
+    final int[] rowSpans; // Index into spans of each row's first span, plus the end
+    final int[] spans; // Start column, length and kind, for every span
+
+    private RasterSprite(int width, int height, int[] rgb, byte[] alpha, int[] rowSpans, int[] spans) {
+        this.width = width;
+        this.height = height;
+        this.rgb = rgb;
+        this.alpha = alpha;
+        this.rowSpans = rowSpans;
+        this.spans = spans;
+    }
+
+    /**
+     * Cuts an image into spans.
+     *
+     * @param image Any image, opaque types are treated as fully solid
+     * @return The sprite
+     */
+    public static RasterSprite of(BufferedImage image) {
+        int width = image.getWidth(), height = image.getHeight();
+        int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+        int[] rowSpans = new int[height + 1];
+        SpanList spans = new SpanList(height * 3 + 3); // Most rows have a span or two
+        boolean blended = false;
+        for (int y = 0; y < height; y++) {
+            rowSpans[y] = spans.size;
+            int row = y * width;
+            int x = 0;
+            while (x < width) {
+                int a = argb[row + x] >>> 24;
+                if (a == 0) {
+                    x++;
+                    continue;
+                }
+                // Extend the run while pixels stay of the same kind
+                boolean solid = a == 255;
+                int start = x;
+                while (x < width) {
+                    int next = argb[row + x] >>> 24;
+                    if (next == 0 || (next == 255) != solid) {
+                        break;
+                    }
+                    x++;
+                }
+                if (solid) {
+                    spans.add(start, x - start, SOLID);
+                    continue;
+                }
+                blended = true;
+                // Split out long runs of one colour, the rest is blended pixel by pixel
+                int from = start;
+                for (int k = start, same; k < x; k = same) {
+                    same = k + 1;
+                    while (same < x && argb[row + same] == argb[row + k]) {
+                        same++;
+                    }
+                    if (same - k >= UNIFORM_MIN) {
+                        if (from < k) {
+                            spans.add(from, k - from, BLENDED);
+                        }
+                        spans.add(k, same - k, UNIFORM);
+                        from = same;
+                    }
+                }
+                if (from < x) {
+                    spans.add(from, x - from, BLENDED);
+                }
+            }
+        }
+        rowSpans[height] = spans.size;
+
+        // Split the pixels into colour and alpha, reusing the read array for colour
+        byte[] alpha = blended ? new byte[argb.length] : null;
+        for (int i = 0; i < argb.length; i++) {
+            if (blended) {
+                alpha[i] = (byte) (argb[i] >>> 24);
+            }
+            argb[i] &= 0xFFFFFF;
+        }
+        return new RasterSprite(width, height, argb, alpha, rowSpans, Arrays.copyOf(spans.data, spans.size));
+    }
+
+    /**
+     * @return Number of spans, a rough measure of the work to draw the sprite
+     */
+    public int spanCount() {
+        return spans.length / 3;
+    }
+
+    /**
+     * Growable list of spans, only used while cutting.
+     */
+    private static final class SpanList {
+        int[] data;
+        int size = 0;
+
+        SpanList(int capacity) {
+            data = new int[capacity];
+        }
+
+        void add(int start, int length, int kind) {
+            if (size + 3 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = start;
+            data[size++] = length;
+            data[size++] = kind;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Monte Carlo balance simulator that plays the economy millions of times in parallel and reports time to trophy and gold curves
+ */
+
+package sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch balance simulator for designers. Plays the game's economy, by the
+ * rules in {@link Rules}, from a new save to the SILVER TROPHY a million times
+ * per strategy, spread over every core. Prints how long the trophy takes as
+ * percentiles and a histogram, and the gold held over time.
+ * <p>
+ * {@code java sim.BalanceSim [playthroughs] [rule=value ...]}. Rules are those
+ * of {@link Rules#set}, plus {@code strategy=bot|greedy|random|all},
+ * {@code threads=<n>} and {@code seed=<n>}. One numeric rule can be swept
+ * with {@code rule=from:to:step}, printing one line per value, for example
+ * {@code growth=6000:14000:2000} or {@code trophy=500:2000:250}. The same
+ * seed gives the same results on any number of threads.
+ */
+public final class BalanceSim {
+    static final int DEFAULT_PLAYTHROUGHS = 1000000;
+    static final int CHUNKS = 64; // Work split into this many pieces, each with its own random seed
+    static final int HISTOGRAM_ROWS = 16;
+    static final int CURVE_ROWS = 12;
+    static final int BAR_WIDTH = 50;
+
+    /**
+     * Entry point of the simulator
+     *
+     * @param args optional playthroughs per strategy, then rules
+     * @throws Exception if a simulation thread fails
+     */
+    public static void main(String[] args) throws Exception {
+        int playthroughs = DEFAULT_PLAYTHROUGHS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        int[] strategies = { Playthrough.BOT, Playthrough.GREEDY, Playthrough.RANDOM };
+        Rules rules = Rules.current();
+        String sweepKey = null;
+        long from = 0, to = 0, step = 1;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                playthroughs = Integer.parseInt(arg);
+                continue;
+            }
+            String key = arg.substring(0, equals);
+            String value = arg.substring(equals + 1);
+            if (key.equals("threads")) {
+                threads = Integer.parseInt(value);
+            } else if (key.equals("seed")) {
+                seed = Long.parseLong(value);
+            } else if (key.equals("strategy")) {
+                strategies = parseStrategies(value);
+            } else if (value.indexOf(':') >= 0) {
+                String[] range = value.split(":");
+                sweepKey = key;
+                from = Long.parseLong(range[0]);
+                to = Long.parseLong(range[1]);
+                step = range.length > 2 ? Long.parseLong(range[2]) : 1;
+                rules.set(key, range[0]); // Checks the key before anything runs
+            } else {
+                rules.set(key, value);
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            if (sweepKey == null) {
+                for (int strategy : strategies) {
+                    report(run(rules, strategy, playthroughs, seed, pool), threads);
+                }
+            } else {
+                System.out.printf("Sweeping %s from %d to %d, %,d playthroughs each%n", sweepKey, from, to,
+                        playthroughs);
+                for (long value = from; step > 0 ? value <= to : value >= to; value += step) {
+                    Rules swept = rules.copy();
+                    swept.set(sweepKey, Long.toString(value));
+                    for (int strategy : strategies) {
+                        Result result = run(swept, strategy, playthroughs, seed, pool);
+                        System.out.printf("%s=%-6d %-7s finished %5.1f%%  p10 %5.1f  p50 %5.1f  p90 %5.1f  "
+                                + "p99 %5.1f min  gold at 10 min %d%n", sweepKey, value,
+                                Playthrough.STRATEGIES[strategy], 100.0 * result.finished / playthroughs,
+                                result.percentileMinutes(10), result.percentileMinutes(50),
+                                result.percentileMinutes(90), result.percentileMinutes(99),
+                                result.curve.percentile(Math.min(10, result.curve.minutes() - 1), 50));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays many games with one strategy, split across the pool.
+     *
+     * @return The merged results
+     */
+    static Result run(Rules rules, int strategy, int playthroughs, long seed, ExecutorService pool)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Future<Result>> parts = new ArrayList<>();
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            int count = playthroughs / CHUNKS + (chunk < playthroughs % CHUNKS ? 1 : 0);
+            long chunkSeed = seed * 1000003 + chunk;
+            parts.add(pool.submit(() -> {
+                Result result = new Result(rules, strategy);
+                Playthrough game = new Playthrough(rules, strategy, new SplittableRandom(chunkSeed));
+                for (int i = 0; i < count; i++) {
+                    result.add(game.play(result.curve));
+                }
+                return result;
+            }));
+        }
+        Result total = new Result(rules, strategy);
+        for (Future<Result> part : parts) {
+            total.merge(part.get());
+        }
+        total.nanos = System.nanoTime() - start;
+        return total;
+    }
+
+    /**
+     * Prints the full report for one strategy.
+     */
+    static void report(Result result, int threads) {
+        long count = result.finished + result.broke + result.outOfTime;
+        System.out.printf("%s: %,d playthroughs in %.2f s (%,.0f a second on %d threads)%n",
+                Playthrough.STRATEGIES[result.strategy], count, result.nanos / 1e9, count * 1e9 / result.nanos,
+                threads);
+        System.out.printf("  Finished %.1f%%, went broke %.1f%%, still playing after %d minutes %.1f%%%n",
+                100.0 * result.finished / count, 100.0 * result.broke / count, result.rules.maxMinutes,
+                100.0 * result.outOfTime / count);
+        if (result.finished == 0) {
+            return;
+        }
+        System.out.printf("  Time to trophy (game minutes): mean %.1f, p1 %.1f, p10 %.1f, p50 %.1f, p90 %.1f, "
+                + "p99 %.1f%n", result.meanMinutes(), result.percentileMinutes(1), result.percentileMinutes(10),
+                result.percentileMinutes(50), result.percentileMinutes(90), result.percentileMinutes(99));
+
+        // Histogram between the 1st and 99th percentiles
+        int low = (int) result.percentileSeconds(1);
+        int high = (int) result.percentileSeconds(99) + 1;
+        int width = Math.max(1, (high - low + HISTOGRAM_ROWS - 1) / HISTOGRAM_ROWS);
+        long[] rows = new long[HISTOGRAM_ROWS];
+        long most = 1;
+        for (int row = 0; row < HISTOGRAM_ROWS; row++) {
+            for (int second = low + row * width; second < low + (row + 1) * width && second < result.seconds.length;
+                    second++) {
+                rows[row] += result.seconds[second];
+            }
+            most = Math.max(most, rows[row]);
+        }
+        for (int row = 0; row < HISTOGRAM_ROWS; row++) {
+            System.out.printf("  %5.1f-%5.1f min |%-" + BAR_WIDTH + "s| %.1f%%%n", (low + row * width) / 60.0,
+                    (low + (row + 1) * width) / 60.0, "#".repeat((int) (rows[row] * BAR_WIDTH / most)),
+                    100.0 * rows[row] / count);
+        }
+
+        // Gold over time, finished games count as holding the trophy price
+        int last = Math.min(result.curve.minutes() - 1, (int) Math.ceil(result.percentileMinutes(90)));
+        int every = Math.max(1, (last + CURVE_ROWS - 1) / CURVE_ROWS);
+        System.out.println("  Gold held (finished games count as the trophy price):");
+        for (int minute = 0; minute <= last; minute += every) {
+            System.out.printf("  %4d min: p10 %5d  p50 %5d  p90 %5d%n", minute, result.curve.percentile(minute, 10),
+                    result.curve.percentile(minute, 50), result.curve.percentile(minute, 90));
+        }
+    }
+
+    /**
+     * @param value bot, greedy, random or all
+     * @return The strategies
+     */
+    static int[] parseStrategies(String value) {
+        if (value.equals("all")) {
+            return new int[] { Playthrough.BOT, Playthrough.GREEDY, Playthrough.RANDOM };
+        }
+        for (int strategy = 0; strategy < Playthrough.STRATEGIES.length; strategy++) {
+            if (Playthrough.STRATEGIES[strategy].equals(value)) {
+                return new int[] { strategy };
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy " + value + ", use bot, greedy, random or all");
+    }
+
+    /**
+     * Outcomes of many playthroughs: a histogram of seconds to the trophy,
+     * the gold curve and how many failed.
+     */
+    static final class Result {
+        final Rules rules;
+        final int strategy;
+        final long[] seconds; // Finished games by whole game seconds to the trophy
+        final GoldCurve curve;
+        long finished, broke, outOfTime;
+        long totalTicks; // Summed over finished games
+        long nanos; // Wall time of the run
+
+        Result(Rules rules, int strategy) {
+            this.rules = rules;
+            this.strategy = strategy;
+            seconds = new long[rules.maxMinutes * 60 + 1];
+            curve = new GoldCurve(rules.maxMinutes, rules.trophyPrice);
+        }
+
+        void add(long ticks) {
+            if (ticks == Playthrough.BROKE) {
+                broke++;
+            } else if (ticks < 0) {
+                outOfTime++;
+            } else {
+                finished++;
+                totalTicks += ticks;
+                seconds[(int) Math.min(seconds.length - 1, ticks / rules.tickRate)]++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < seconds.length; i++) {
+                seconds[i] += other.seconds[i];
+            }
+            curve.merge(other.curve);
+            finished += other.finished;
+            broke += other.broke;
+            outOfTime += other.outOfTime;
+            totalTicks += other.totalTicks;
+        }
+
+        double meanMinutes() {
+            return finished == 0 ? 0 : totalTicks / (double) finished / rules.tickRate / 60;
+        }
+
+        /**
+         * @return Seconds by which a percentage of the finished games had the trophy
+         */
+        long percentileSeconds(double percent) {
+            long rank = Math.max(1, (long) Math.ceil(finished * percent / 100));
+            long seen = 0;
+            for (int second = 0; second < seconds.length; second++) {
+                seen += seconds[second];
+                if (seen >= rank) {
+                    return second;
+                }
+            }
+            return seconds.length - 1;
+        }
+
+        double percentileMinutes(double percent) {
+            return finished == 0 ? Double.NaN : percentileSeconds(percent) / 60.0;
+        }
+    }
+}
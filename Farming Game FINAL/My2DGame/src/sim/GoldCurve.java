@@ -0,0 +1,105 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: Histograms of the gold held at each game minute across many simulated playthroughs
+ */
+
+package sim;
+
+/**
+ * For every game minute, how many playthroughs held how much gold, in
+ * buckets of a hundredth of the trophy price. Each thread fills its own curve
+ * and they are merged at the end, so adding a sample is one array increment.
+ * A playthrough that stops changing (finished or broke) is recorded once, at
+ * the minute it stopped, and counted for every later minute when read.
+ */
+final class GoldCurve {
+    static final int BUCKETS = 101; // The last holds the trophy price and above
+
+    private final long[][] counts; // By minute, then by bucket
+    private final long[][] held; // Playthroughs that stopped, by the minute they stopped, then by bucket
+    private final int bucketGold; // Gold per bucket
+
+    /**
+     * @param minutes     Minutes a playthrough can last
+     * @param trophyPrice Gold needed to finish
+     */
+    GoldCurve(int minutes, int trophyPrice) {
+        counts = new long[minutes + 1][BUCKETS];
+        held = new long[minutes + 1][BUCKETS];
+        bucketGold = Math.max(1, trophyPrice / (BUCKETS - 1));
+    }
+
+    /**
+     * Records the gold held at one minute.
+     *
+     * @param minute Game minute
+     * @param gold   Gold held
+     */
+    void add(int minute, int gold) {
+        if (minute < counts.length) {
+            counts[minute][Math.min(BUCKETS - 1, gold / bucketGold)]++;
+        }
+    }
+
+    /**
+     * Records the same gold for every minute from one to the end.
+     *
+     * @param fromMinute First minute to record
+     * @param gold       Gold held
+     */
+    void hold(int fromMinute, int gold) {
+        if (fromMinute < held.length) {
+            held[fromMinute][Math.min(BUCKETS - 1, gold / bucketGold)]++;
+        }
+    }
+
+    /**
+     * Adds another curve's samples to this one.
+     *
+     * @param other Curve with the same minutes and trophy price
+     */
+    void merge(GoldCurve other) {
+        for (int minute = 0; minute < counts.length; minute++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[minute][bucket] += other.counts[minute][bucket];
+                held[minute][bucket] += other.held[minute][bucket];
+            }
+        }
+    }
+
+    /**
+     * @return Minutes recorded, counting minute 0
+     */
+    int minutes() {
+        return counts.length;
+    }
+
+    /**
+     * @param minute  Game minute
+     * @param percent Percentile, 0 to 100
+     * @return Gold held by that percentile of playthroughs at that minute,
+     *         rounded down to its bucket
+     */
+    int percentile(int minute, double percent) {
+        long[] row = counts[minute].clone();
+        for (int stopped = 0; stopped <= minute; stopped++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                row[bucket] += held[stopped][bucket];
+            }
+        }
+        long total = 0;
+        for (long count : row) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percent / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += row[bucket];
+            if (seen >= Math.max(1, rank)) {
+                return bucket * bucketGold;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: One simulated game from a new save to the trophy, played by a strategy under a set of rules
+ */
+
+package sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays the farming loop the way {@link main.Bot} does: sell whatever full lots
+ * there are, buy a seed when out of them, plant, wait for the crop and harvest
+ * it, and buy the trophy once there is enough gold. Instead of ticking the
+ * game it jumps from one action to the next, adding the walk, the pause before
+ * acting and the crop's growth to the clock, so a playthrough costs
+ * microseconds. Every trade's price is drawn around the usual price within
+ * the market's spread. Where the player walks is where the bot stands, and
+ * walks are straight lines. Soil Nutrients are left out, since buying them
+ * does not change growth in the game.
+ * <p>
+ * Reused for many playthroughs, one per thread.
+ */
+final class Playthrough {
+    // Strategies
+    static final int BOT = 0; // Buys carrot seeds when it can afford them, otherwise wheat, like main.Bot
+    static final int GREEDY = 1; // Buys and plants the affordable seed with the best profit
+    static final int RANDOM = 2; // Buys and plants any affordable seed
+    static final String[] STRATEGIES = { "bot", "greedy", "random" };
+
+    // Places, in tiles: where the bot stands for the merchant, the farmer and the crop plot
+    static final int MERCHANT = 0, FARMER = 1, PLOT = 2, START = 3;
+    static final int[][] SPOTS = { { 1, 2 }, { 11, 3 }, { 7, 7 }, { 8, 6 } };
+    static final int CLICKS_PER_TRADE = 4; // Three lines of dialogue, then the menu
+
+    // Results of a playthrough that did not get the trophy
+    static final long OUT_OF_TIME = -1, BROKE = -2;
+
+    private final Rules rules;
+    private final int strategy;
+    private final SplittableRandom random;
+    private final long[][] walkTicks = new long[SPOTS.length][SPOTS.length];
+    private final long growthTicks;
+    private final long maxTicks;
+    private final int[] seeds = new int[Rules.CROPS];
+    private final int[] crops = new int[Rules.CROPS];
+
+    private long tick; // Game time so far
+    private int gold;
+    private int place; // Where the player is
+    private int planted; // Crop in the plot, or -1
+    private long readyAt; // Tick the planted crop is fully grown
+
+    /**
+     * @param rules    Rules to play by
+     * @param strategy {@link #BOT}, {@link #GREEDY} or {@link #RANDOM}
+     * @param random   Source of prices, pauses and random choices
+     */
+    Playthrough(Rules rules, int strategy, SplittableRandom random) {
+        this.rules = rules;
+        this.strategy = strategy;
+        this.random = random;
+        for (int from = 0; from < SPOTS.length; from++) {
+            for (int to = 0; to < SPOTS.length; to++) {
+                int tiles = Math.max(Math.abs(SPOTS[from][0] - SPOTS[to][0]), Math.abs(SPOTS[from][1] - SPOTS[to][1]));
+                walkTicks[from][to] = ((long) tiles * rules.tileSize + rules.walkSpeed - 1) / rules.walkSpeed;
+            }
+        }
+        growthTicks = rules.growthTicks();
+        maxTicks = (long) rules.maxMinutes * 60 * rules.tickRate;
+    }
+
+    /**
+     * Plays a new game.
+     *
+     * @param curve Gold held is added to this at every game minute. Once the
+     *              trophy is bought the player counts as holding its price
+     * @return Ticks until the trophy was bought, or {@link #OUT_OF_TIME} or
+     *         {@link #BROKE}
+     */
+    long play(GoldCurve curve) {
+        tick = 0;
+        gold = rules.startingGold;
+        place = START;
+        planted = -1;
+        for (int crop = 0; crop < Rules.CROPS; crop++) {
+            seeds[crop] = 0;
+            crops[crop] = 0;
+        }
+        long minuteTicks = 60L * rules.tickRate;
+        long nextMinute = 0;
+
+        while (tick < maxTicks) {
+            while (nextMinute <= tick) {
+                curve.add((int) (nextMinute / minuteTicks), gold);
+                nextMinute += minuteTicks;
+            }
+            if (gold >= rules.trophyPrice) {
+                trade(FARMER);
+                curve.hold((int) (nextMinute / minuteTicks), rules.trophyPrice);
+                return tick;
+            }
+            int lot = sellable();
+            if (lot >= 0) {
+                trade(FARMER);
+                crops[lot] -= rules.lots[lot];
+                gold += price(rules.cropPrices[lot]);
+            } else if (!hasSeeds() && gold >= cheapestSeed()) {
+                trade(MERCHANT);
+                int seed = pick(true);
+                int price = price(rules.seedPrices[seed]);
+                // The price may have moved since the menu opened
+                if (gold >= price) {
+                    gold -= price;
+                    seeds[seed]++;
+                }
+            } else if (planted < 0 && hasSeeds()) {
+                go(PLOT);
+                planted = pick(false);
+                seeds[planted]--;
+                readyAt = tick + growthTicks;
+            } else if (planted >= 0) {
+                go(PLOT);
+                tick = Math.max(tick, readyAt);
+                crops[planted] += rules.harvestYield;
+                planted = -1;
+            } else {
+                // Nothing growing, nothing to sell and no gold for seeds
+                curve.hold((int) (nextMinute / minuteTicks), gold);
+                return BROKE;
+            }
+        }
+        return OUT_OF_TIME;
+    }
+
+    /**
+     * Walks somewhere and acts once there.
+     */
+    private void go(int to) {
+        tick += walkTicks[place][to] + pause();
+        place = to;
+    }
+
+    /**
+     * Walks to a trader and clicks through to its menu.
+     */
+    private void trade(int trader) {
+        go(trader);
+        for (int click = 1; click < CLICKS_PER_TRADE; click++) {
+            tick += pause();
+        }
+    }
+
+    /**
+     * @return Ticks a player waits before acting, up to twice the average
+     */
+    private long pause() {
+        long average = (long) rules.reactionMillis * rules.tickRate / 1000;
+        return average > 0 ? random.nextLong(2 * average + 1) : 0;
+    }
+
+    /**
+     * @param usual Usual price
+     * @return The price a trade happens at, within the market's spread of it
+     */
+    private int price(int usual) {
+        int spread = usual * rules.spreadPercent / 100;
+        return spread > 0 ? Math.max(1, usual + random.nextInt(2 * spread + 1) - spread) : usual;
+    }
+
+    /**
+     * @return A crop with a full lot to sell, or -1
+     */
+    private int sellable() {
+        for (int crop = 0; crop < Rules.CROPS; crop++) {
+            if (crops[crop] >= rules.lots[crop]) {
+                return crop;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hasSeeds() {
+        return seeds[0] > 0 || seeds[1] > 0 || seeds[2] > 0;
+    }
+
+    private int cheapestSeed() {
+        return Math.min(rules.seedPrices[0], Math.min(rules.seedPrices[1], rules.seedPrices[2]));
+    }
+
+    /**
+     * Chooses a seed by the strategy.
+     *
+     * @param buying true to choose among seeds the player can afford, false
+     *               among seeds held
+     * @return The crop
+     */
+    private int pick(boolean buying) {
+        if (strategy == BOT) {
+            // The bot plants carrots first, then potatoes, and never buys potato seeds
+            if (!buying) {
+                return seeds[1] > 0 ? 1 : seeds[2] > 0 ? 2 : 0;
+            }
+            if (gold >= rules.seedPrices[1]) {
+                return 1;
+            }
+            if (gold >= rules.seedPrices[0]) {
+                return 0;
+            }
+            // Wheat costs more than carrots under these rules, fall back to the best buy
+        }
+        int best = -1, choices = 0;
+        for (int crop = 0; crop < Rules.CROPS; crop++) {
+            if (buying ? gold < rules.seedPrices[crop] : seeds[crop] == 0) {
+                continue;
+            }
+            if (strategy == RANDOM) {
+                // Reservoir sampling over the possible crops
+                if (random.nextInt(++choices) == 0) {
+                    best = crop;
+                }
+            } else if (best < 0 || profit(crop) > profit(best)) {
+                best = crop;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return Gold made by growing one crop of a kind, at usual prices
+     */
+    private int profit(int crop) {
+        return rules.harvestValue(crop) - rules.seedPrices[crop];
+    }
+}
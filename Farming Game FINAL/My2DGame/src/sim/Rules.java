@@ -0,0 +1,169 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: The economy's tunable numbers for the balance simulator, starting from the game's own values
+ */
+
+package sim;
+
+import entity.CropPlot;
+import entity.Player;
+import main.GamePanel;
+import market.Market;
+
+/**
+ * Prices, growth and timings a simulated playthrough follows. {@link #current()}
+ * reads them from the game's constants, so the simulator plays by the rules
+ * the game ships with, and {@link #set} changes one for a sweep. Seeds and
+ * crops are indexed wheat, carrot, potato.
+ */
+public final class Rules {
+    public static final int CROPS = 3;
+
+    public int[] seedPrices = new int[CROPS]; // Gold per seed
+    public int[] cropPrices = new int[CROPS]; // Gold per lot sold to the farmer
+    public int[] lots = new int[CROPS]; // Crops per lot
+    public int harvestYield; // Crops from one harvest
+    public long growthMillis; // Game time per growth stage
+    public int growthStages; // Stages from planted to fully grown
+    public int trophyPrice; // Gold to finish
+    public int startingGold;
+    public int spreadPercent; // How far a trade's price strays from the usual one
+    public int reactionMillis; // Average pause before each walk or menu click
+    public int walkSpeed; // Pixels walked per tick
+    public int tileSize; // Pixels per tile
+    public int tickRate; // Ticks per game second
+    public int maxMinutes; // Game time after which a playthrough counts as unfinished
+
+    /**
+     * @return The rules the game is played by now
+     */
+    public static Rules current() {
+        Rules rules = new Rules();
+        for (int crop = 0; crop < CROPS; crop++) {
+            rules.seedPrices[crop] = Market.BASE_PRICES[Market.WHEAT_SEED + crop];
+            rules.cropPrices[crop] = Market.BASE_PRICES[Market.WHEAT + crop];
+            rules.lots[crop] = Market.LOTS[Market.WHEAT + crop];
+        }
+        rules.harvestYield = CropPlot.HARVEST_YIELD;
+        rules.growthMillis = CropPlot.GROWTH_MILLIS;
+        rules.growthStages = CropPlot.GROWTH_STAGES;
+        rules.trophyPrice = GamePanel.TROPHY_PRICE;
+        rules.startingGold = GamePanel.STARTING_GOLD;
+        rules.spreadPercent = Market.SPREAD_PERCENT;
+        rules.reactionMillis = 500;
+        rules.walkSpeed = Player.WALK_SPEED;
+        rules.tileSize = GamePanel.ORIGINAL_TILE_SIZE * GamePanel.SCALE;
+        rules.tickRate = GamePanel.TICK_RATE;
+        rules.maxMinutes = 120;
+        return rules;
+    }
+
+    /**
+     * Changes one rule.
+     *
+     * @param key   seeds, crops or lots (three comma separated numbers), or
+     *              yield, growth, stages, trophy, gold, spread, reaction, speed
+     *              or minutes
+     * @param value New value
+     * @throws IllegalArgumentException if the key is unknown or the value is
+     *                                  not a number
+     */
+    public void set(String key, String value) {
+        switch (key) {
+            case "seeds":
+                seedPrices = triple(key, value);
+                break;
+            case "crops":
+                cropPrices = triple(key, value);
+                break;
+            case "lots":
+                lots = triple(key, value);
+                break;
+            case "yield":
+                harvestYield = Integer.parseInt(value);
+                break;
+            case "growth":
+                growthMillis = Long.parseLong(value);
+                break;
+            case "stages":
+                growthStages = Integer.parseInt(value);
+                break;
+            case "trophy":
+                trophyPrice = Integer.parseInt(value);
+                break;
+            case "gold":
+                startingGold = Integer.parseInt(value);
+                break;
+            case "spread":
+                spreadPercent = Integer.parseInt(value);
+                break;
+            case "reaction":
+                reactionMillis = Integer.parseInt(value);
+                break;
+            case "speed":
+                walkSpeed = Integer.parseInt(value);
+                break;
+            case "minutes":
+                maxMinutes = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown rule " + key);
+        }
+    }
+
+    /**
+     * Parses three comma separated numbers.
+     */
+    private static int[] triple(String key, String value) {
+        String[] parts = value.split(",");
+        if (parts.length != CROPS) {
+            throw new IllegalArgumentException(key + " needs " + CROPS + " numbers, wheat,carrot,potato");
+        }
+        int[] numbers = new int[CROPS];
+        for (int i = 0; i < CROPS; i++) {
+            numbers[i] = Integer.parseInt(parts[i].trim());
+        }
+        return numbers;
+    }
+
+    /**
+     * Ticks from planting to fully grown. A stage ends on the first tick more
+     * than {@link #growthMillis} after the last one, as in {@link CropPlot}.
+     *
+     * @return Ticks to grow a crop
+     */
+    public long growthTicks() {
+        return growthStages * (growthMillis * tickRate / 1000 + 1);
+    }
+
+    /**
+     * @param crop Crop to price
+     * @return Gold made by selling a whole harvest of it, at usual prices
+     */
+    public int harvestValue(int crop) {
+        return harvestYield / lots[crop] * cropPrices[crop];
+    }
+
+    /**
+     * @return A copy that can be changed without changing these rules
+     */
+    public Rules copy() {
+        Rules copy = new Rules();
+        copy.seedPrices = seedPrices.clone();
+        copy.cropPrices = cropPrices.clone();
+        copy.lots = lots.clone();
+        copy.harvestYield = harvestYield;
+        copy.growthMillis = growthMillis;
+        copy.growthStages = growthStages;
+        copy.trophyPrice = trophyPrice;
+        copy.startingGold = startingGold;
+        copy.spreadPercent = spreadPercent;
+        copy.reactionMillis = reactionMillis;
+        copy.walkSpeed = walkSpeed;
+        copy.tileSize = tileSize;
+        copy.tickRate = tickRate;
+        copy.maxMinutes = maxMinutes;
+        return copy;
+    }
+}
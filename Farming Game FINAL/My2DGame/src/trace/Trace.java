@@ -0,0 +1,342 @@
+/**
+ * @author Liam Shelston
+ * Date: Oct 18 2026
+ * Description: JDK Flight Recorder events for ticks, frames, stalls, saves, trades and asset loads
+ */
+
+package trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder instrumentation for the game. Turned on with the
+ * {@code game.jfr} system property:
+ * <ul>
+ * <li>{@code -Dgame.jfr=true} creates the events, for a recording started some
+ * other way ({@code -XX:StartFlightRecording}, {@code jcmd JFR.start} or
+ * Mission Control)</li>
+ * <li>{@code -Dgame.jfr=<file>.jfr} also starts a recording with the JDK's
+ * default settings plus these events, written to the file on exit</li>
+ * </ul>
+ * When the property is not set, {@link #ENABLED} is a false constant and every
+ * factory below returns null before creating an event, so the instrumented code
+ * costs one folded branch and allocates nothing. Each factory begins the
+ * event's timer; the caller fills in the context and commits it through
+ * {@code end}. Ticks and frames are recorded without stack traces, since
+ * there are dozens of them a second and they always come from the game loop.
+ */
+public final class Trace {
+    public static final boolean ENABLED = System.getProperty("game.jfr") != null;
+    private static final Recording RECORDING = startRecording(System.getProperty("game.jfr"));
+
+    private Trace() {
+    }
+
+    /**
+     * @return A started tick event, or null when tracing is off
+     */
+    public static Tick tick() {
+        if (!ENABLED) {
+            return null;
+        }
+        Tick event = new Tick();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return A started frame event, or null when tracing is off
+     */
+    public static Frame frame() {
+        if (!ENABLED) {
+            return null;
+        }
+        Frame event = new Frame();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records that the game loop fell so far behind it dropped the missed ticks.
+     *
+     * @param behindNanos How far behind the loop was
+     * @param gameState   Game state at the time
+     */
+    public static void stall(long behindNanos, int gameState) {
+        if (!ENABLED) {
+            return;
+        }
+        Stall event = new Stall();
+        event.behind = behindNanos;
+        event.gameState = gameState;
+        event.commit();
+    }
+
+    /**
+     * @return A started save event, or null when tracing is off
+     */
+    public static Save save() {
+        if (!ENABLED) {
+            return null;
+        }
+        Save event = new Save();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return A started trade event, or null when tracing is off
+     */
+    public static Trade trade() {
+        if (!ENABLED) {
+            return null;
+        }
+        Trade event = new Trade();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return A started asset load event, or null when tracing is off
+     */
+    public static AssetLoad assetLoad() {
+        if (!ENABLED) {
+            return null;
+        }
+        AssetLoad event = new AssetLoad();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts a recording to a file if the property names one.
+     *
+     * @param setting Value of the game.jfr property
+     * @return The recording, or null if none was started
+     */
+    private static Recording startRecording(String setting) {
+        if (setting == null || setting.isEmpty() || setting.equals("true")) {
+            return null;
+        }
+        Path file = Paths.get(setting);
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("Farm Frenzy");
+            recording.enable(Tick.class);
+            recording.enable(Frame.class);
+            recording.enable(Stall.class);
+            recording.enable(Save.class);
+            recording.enable(Trade.class);
+            recording.enable(AssetLoad.class);
+            recording.setDestination(file);
+            recording.setDumpOnExit(true);
+            recording.start();
+            System.out.println("Recording game events to " + file.toAbsolutePath());
+            return recording;
+        } catch (IOException | ParseException e) {
+            System.err.println("Could not start the flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return The recording started by the game.jfr property, or null
+     */
+    public static Recording recording() {
+        return RECORDING;
+    }
+
+    /**
+     * One simulation tick.
+     */
+    @Name("farm.Tick")
+    @Label("Tick")
+    @Category({ "Farm Frenzy", "Game Loop" })
+    @Description("One simulation tick, including the dispatch of its events")
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Game State")
+        int gameState;
+
+        @Label("Entities")
+        int entities;
+
+        /**
+         * Commits the event.
+         *
+         * @param tick      Tick number
+         * @param gameState Game state after the tick
+         * @param entities  Entities updated
+         */
+        public void end(long tick, int gameState, int entities) {
+            this.tick = tick;
+            this.gameState = gameState;
+            this.entities = entities;
+            commit();
+        }
+    }
+
+    /**
+     * One frame drawn.
+     */
+    @Name("farm.Frame")
+    @Label("Frame")
+    @Category({ "Farm Frenzy", "Rendering" })
+    @Description("One frame drawn by GamePanel.paintComponent")
+    @StackTrace(false)
+    public static final class Frame extends Event {
+        @Label("Game State")
+        int gameState;
+
+        @Label("Entities")
+        int entities;
+
+        @Label("Interpolation")
+        @Description("How far between the last two ticks the frame was drawn")
+        float alpha;
+
+        /**
+         * Commits the event.
+         *
+         * @param gameState Game state drawn
+         * @param entities  Entities drawn
+         * @param alpha     Interpolation between ticks
+         */
+        public void end(int gameState, int entities, float alpha) {
+            this.gameState = gameState;
+            this.entities = entities;
+            this.alpha = alpha;
+            commit();
+        }
+    }
+
+    /**
+     * The game loop fell behind by more than it will catch up.
+     */
+    @Name("farm.Stall")
+    @Label("Game Loop Stall")
+    @Category({ "Farm Frenzy", "Game Loop" })
+    @Description("The game loop fell behind by more than it catches up on, the missed ticks were dropped")
+    public static final class Stall extends Event {
+        @Label("Behind")
+        @Timespan(Timespan.NANOSECONDS)
+        long behind;
+
+        @Label("Game State")
+        int gameState;
+    }
+
+    /**
+     * A save file written or read.
+     */
+    @Name("farm.Save")
+    @Label("Save File")
+    @Category({ "Farm Frenzy", "Saving" })
+    @Description("A save file written or read")
+    public static final class Save extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Loading")
+        @Description("True when the save was read, false when it was written")
+        boolean loading;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        /**
+         * Commits the event.
+         *
+         * @param path    Save file
+         * @param loading True when reading
+         * @param bytes   Bytes written or read
+         */
+        public void end(Path path, boolean loading, long bytes) {
+            this.path = path.toString();
+            this.loading = loading;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    /**
+     * A trade menu, from opening to the player's answer.
+     */
+    @Name("farm.Trade")
+    @Label("Trade")
+    @Category({ "Farm Frenzy", "Trading" })
+    @Description("A trade menu, from opening it to the trade going through or being cancelled")
+    public static final class Trade extends Event {
+        @Label("Trader")
+        String trader;
+
+        @Label("Item")
+        String item;
+
+        @Label("Gold Before")
+        int goldBefore;
+
+        @Label("Gold After")
+        int goldAfter;
+
+        /**
+         * Commits the event.
+         *
+         * @param trader     Who the player traded with
+         * @param item       Item picked, or null if none
+         * @param goldBefore Gold when the menu opened
+         * @param goldAfter  Gold when it closed
+         */
+        public void end(String trader, String item, int goldBefore, int goldAfter) {
+            this.trader = trader;
+            this.item = item;
+            this.goldBefore = goldBefore;
+            this.goldAfter = goldAfter;
+            commit();
+        }
+    }
+
+    /**
+     * An image or font decoded or read from the asset pack.
+     */
+    @Name("farm.AssetLoad")
+    @Label("Asset Load")
+    @Category({ "Farm Frenzy", "Assets" })
+    @Description("An image or font decoded from its file or read from the asset pack")
+    public static final class AssetLoad extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("From Pack")
+        boolean fromPack;
+
+        /**
+         * Commits the event.
+         *
+         * @param path     Asset path
+         * @param fromPack True if it came from the asset pack
+         */
+        public void end(String path, boolean fromPack) {
+            this.path = path;
+            this.fromPack = fromPack;
+            commit();
+        }
+    }
+}